@@ -21,6 +21,9 @@
 
 package org.gstreamer;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.gstreamer.lowlevel.GstAPI.GErrorStruct;
 import org.gstreamer.lowlevel.GstAPI.GstCallback;
@@ -72,6 +75,9 @@ public class Bin extends Element {
     public static final int DEBUG_GRAPH_SHOW_NON_DEFAULT_PARAMS = (1<<2);
     public static final int DEBUG_GRAPH_SHOW_STATES             = (1<<3);
     public static final int DEBUG_GRAPH_SHOW_ALL                = ((1<<4)-1);
+
+    /** The name index, once enabled by {@link #enableElementIndex} */
+    private volatile ElementIndex index;
     
     public Bin(Initializer init) {
         super(init);
@@ -194,6 +200,29 @@ public class Bin extends Element {
     public List<Element> getElementsRecursive() {
         return elementList(gst.gst_bin_iterate_recurse(this));
     }
+
+    /**
+     * Calls a {@link Visitor} for each {@link Element} contained in the Bin,
+     * without building a list of them.
+     *
+     * @param visitor the visitor to call; it can stop the walk by returning false.
+     * @return false if the visitor stopped the walk, true otherwise.
+     */
+    public boolean forEachElement(Visitor<? super Element> visitor) {
+        return new GstIterator<Element>(gst.gst_bin_iterate_elements(this), Element.class).forEach(visitor);
+    }
+
+    /**
+     * Calls a {@link Visitor} for each {@link Element} contained in the Bin
+     * and its Bin children, without building a list of them.
+     *
+     * @param visitor the visitor to call; it can stop the walk by returning false.
+     * @return false if the visitor stopped the walk, true otherwise.
+     * @see #getElementsRecursive()
+     */
+    public boolean forEachElementRecursive(Visitor<? super Element> visitor) {
+        return new GstIterator<Element>(gst.gst_bin_iterate_recurse(this), Element.class).forEach(visitor);
+    }
     
     /**
      * Retrieve a list of the sink {@link Element}s contained in the Bin.
@@ -219,8 +248,116 @@ public class Bin extends Element {
      * @return The {@link Element} if found, else null.
      */
     public Element getElementByName(String name) {
+        ElementIndex idx = index;
+        if (idx != null) {
+            Element element = idx.lookup(name);
+            if (element != null) {
+                return element;
+            }
+        }
         return gst.gst_bin_get_by_name(this, name);
     }
+
+    /**
+     * Keeps an index of the elements in this bin by name, so that
+     * {@link #getElementByName} finds them without a native lookup.
+     * <p>
+     * The index is kept up to date with the <code>element-added</code> and
+     * <code>element-removed</code> signals, and is also enabled on any child
+     * bins, so lookups recurse through the index the same way the native
+     * lookup does.  Names that are not in the index still fall back to the
+     * native lookup.
+     * <p>
+     * Calling this method more than once has no further effect.
+     */
+    public void enableElementIndex() {
+        if (index != null) {
+            return;
+        }
+        synchronized (this) {
+            if (index == null) {
+                index = new ElementIndex();
+            }
+        }
+    }
+
+    /**
+     * Checks whether the name index of this bin has been enabled.
+     *
+     * @return true if {@link #enableElementIndex} has been called.
+     */
+    public boolean isElementIndexEnabled() {
+        return index != null;
+    }
+
+    /**
+     * Takes a snapshot of the elements in this bin and its child bins, with
+     * their pads, links, negotiated caps and states.
+     * <p>
+     * The snapshot is built in a single walk over the bin and does not change
+     * afterwards; it is safe to keep and compare with later snapshots.
+     *
+     * @return the snapshot.
+     */
+    public BinTopology snapshotTopology() {
+        return BinTopology.of(this);
+    }
+
+    /**
+     * The name to element index of a bin.
+     */
+    private final class ElementIndex implements ELEMENT_ADDED, ELEMENT_REMOVED {
+        private final ConcurrentMap<String, Element> elements = new ConcurrentHashMap<String, Element>();
+        private final List<Bin> children = new CopyOnWriteArrayList<Bin>();
+
+        ElementIndex() {
+            // Connect first, so nothing added while filling the index is missed
+            connect((ELEMENT_ADDED) this);
+            connect((ELEMENT_REMOVED) this);
+            forEachElement(new Visitor<Element>() {
+                public boolean visit(Element element) {
+                    add(element);
+                    return true;
+                }
+            });
+        }
+
+        Element lookup(String name) {
+            Element element = elements.get(name);
+            if (element != null) {
+                return element;
+            }
+            for (Bin child : children) {
+                ElementIndex idx = child.index;
+                if (idx != null && (element = idx.lookup(name)) != null) {
+                    return element;
+                }
+            }
+            return null;
+        }
+
+        private void add(Element element) {
+            elements.put(element.getName(), element);
+            if (element instanceof Bin) {
+                Bin bin = (Bin) element;
+                bin.enableElementIndex();
+                if (!children.contains(bin)) {
+                    children.add(bin);
+                }
+            }
+        }
+
+        public void elementAdded(Bin bin, Element element) {
+            add(element);
+        }
+
+        public void elementRemoved(Bin bin, Element element) {
+            elements.remove(element.getName(), element);
+            if (element instanceof Bin) {
+                children.remove(element);
+            }
+        }
+    }
     
     /**
      * Gets the element with the given name from this bin. If the
@@ -0,0 +1,377 @@
+/*
+ * Copyright (c) 2026 agent
+ *
+ * This file is part of gstreamer-java.
+ *
+ * This code is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * version 3 along with this work.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.gstreamer;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable snapshot of the elements, pads and links inside a {@link Bin},
+ * taken with {@link Bin#snapshotTopology}.
+ * <p>
+ * The snapshot holds no references to the native objects, so it can be
+ * kept, compared with later snapshots, or handed to other threads freely.
+ * Elements are identified by their path relative to the bin: the names of
+ * the bins leading to the element and its own name, separated by '/'.
+ * <p>
+ * Links across bin boundaries go through ghost pads.  They are followed, so
+ * links and peers are always between the pads of the elements that handle
+ * the data; the ghost pads of bins are listed with their pads, but are not
+ * the source of any link.
+ */
+public final class BinTopology {
+    /** The most ghost pads followed to resolve a peer, against loops */
+    private static final int MAX_GHOST_DEPTH = 32;
+
+    private final String name;
+    private final long timestamp;
+    private final Map<String, ElementInfo> elements;
+    private final List<LinkInfo> links;
+
+    /**
+     * An element in a {@link BinTopology}.
+     */
+    public static final class ElementInfo {
+        private final String path;
+        private final String name;
+        private final String factoryName;
+        private final State state;
+        private final boolean bin;
+        private final List<PadInfo> pads;
+
+        ElementInfo(String path, String name, String factoryName, State state, boolean bin, List<PadInfo> pads) {
+            this.path = path;
+            this.name = name;
+            this.factoryName = factoryName;
+            this.state = state;
+            this.bin = bin;
+            this.pads = pads;
+        }
+
+        /** Gets the path of the element, relative to the snapshot bin. */
+        public String getPath() {
+            return path;
+        }
+
+        /** Gets the name of the element. */
+        public String getName() {
+            return name;
+        }
+
+        /** Gets the name of the factory of the element, or null if it has none. */
+        public String getFactoryName() {
+            return factoryName;
+        }
+
+        /** Gets the current state of the element when the snapshot was taken. */
+        public State getState() {
+            return state;
+        }
+
+        /** Checks whether the element is itself a {@link Bin}. */
+        public boolean isBin() {
+            return bin;
+        }
+
+        /** Gets the pads of the element. */
+        public List<PadInfo> getPads() {
+            return pads;
+        }
+
+        @Override
+        public String toString() {
+            return path + " (" + factoryName + ", " + state + ")";
+        }
+    }
+
+    /**
+     * A pad in a {@link BinTopology}.
+     */
+    public static final class PadInfo {
+        private final String element;
+        private final String name;
+        private final PadDirection direction;
+        private final String caps;
+        private final String peerElement;
+        private final String peerName;
+
+        PadInfo(String element, String name, PadDirection direction, String caps,
+                String peerElement, String peerName) {
+            this.element = element;
+            this.name = name;
+            this.direction = direction;
+            this.caps = caps;
+            this.peerElement = peerElement;
+            this.peerName = peerName;
+        }
+
+        /** Gets the path of the element the pad belongs to. */
+        public String getElementPath() {
+            return element;
+        }
+
+        /** Gets the name of the pad. */
+        public String getName() {
+            return name;
+        }
+
+        /** Gets the direction of the pad. */
+        public PadDirection getDirection() {
+            return direction;
+        }
+
+        /** Gets the negotiated caps of the pad, or null if it is not negotiated. */
+        public String getCaps() {
+            return caps;
+        }
+
+        /** Checks whether the pad was linked. */
+        public boolean isLinked() {
+            return peerName != null;
+        }
+
+        /**
+         * Gets the path of the element of the peer pad, or just its name if the
+         * peer is outside the snapshot bin, or null if the pad is not linked.
+         */
+        public String getPeerElementPath() {
+            return peerElement;
+        }
+
+        /** Gets the name of the peer pad, or null if the pad is not linked. */
+        public String getPeerName() {
+            return peerName;
+        }
+
+        @Override
+        public String toString() {
+            return element + "." + name;
+        }
+    }
+
+    /**
+     * A link between a source pad and a sink pad in a {@link BinTopology}.
+     */
+    public static final class LinkInfo {
+        private final PadInfo src;
+        private final String sinkElement;
+        private final String sinkPad;
+
+        LinkInfo(PadInfo src) {
+            this.src = src;
+            this.sinkElement = src.peerElement;
+            this.sinkPad = src.peerName;
+        }
+
+        /** Gets the path of the upstream element. */
+        public String getSrcElementPath() {
+            return src.element;
+        }
+
+        /** Gets the name of the source pad. */
+        public String getSrcPadName() {
+            return src.name;
+        }
+
+        /** Gets the path of the downstream element. */
+        public String getSinkElementPath() {
+            return sinkElement;
+        }
+
+        /** Gets the name of the sink pad. */
+        public String getSinkPadName() {
+            return sinkPad;
+        }
+
+        /** Gets the caps negotiated on the link, or null if it is not negotiated. */
+        public String getCaps() {
+            return src.caps;
+        }
+
+        @Override
+        public String toString() {
+            return src.element + "." + src.name + " -> " + sinkElement + "." + sinkPad;
+        }
+    }
+
+    private BinTopology(String name, Map<String, ElementInfo> elements, List<LinkInfo> links) {
+        this.name = name;
+        this.timestamp = System.currentTimeMillis();
+        this.elements = Collections.unmodifiableMap(elements);
+        this.links = Collections.unmodifiableList(links);
+    }
+
+    /**
+     * Takes a snapshot of a bin, walking its elements and their pads once.
+     */
+    static BinTopology of(Bin bin) {
+        final Map<String, ElementInfo> elements = new LinkedHashMap<String, ElementInfo>();
+        // Peers are only known as pads while walking; resolve them to paths at the end
+        final Map<Element, String> paths = new HashMap<Element, String>();
+        final Map<PadInfo, Pad> peers = new HashMap<PadInfo, Pad>();
+        final Map<PadInfo, Boolean> ghosts = new IdentityHashMap<PadInfo, Boolean>();
+        walk(bin, "", elements, paths, peers, ghosts);
+
+        List<LinkInfo> links = new ArrayList<LinkInfo>();
+        for (ElementInfo element : elements.values()) {
+            List<PadInfo> pads = element.pads;
+            for (int i = 0; i < pads.size(); ++i) {
+                PadInfo pad = pads.get(i);
+                Pad peer = resolvePeer(peers.get(pad));
+                if (peer == null) {
+                    continue;
+                }
+                boolean ghost = ghosts.containsKey(pad);
+                Element peerElement = peer.getParentElement();
+                String peerPath = peerElement != null ? paths.get(peerElement) : null;
+                if (peerPath == null && peerElement != null) {
+                    peerPath = peerElement.getName();
+                }
+                pad = new PadInfo(pad.element, pad.name, pad.direction, pad.caps, peerPath, peer.getName());
+                pads.set(i, pad);
+                // The link of a ghost pad is that of the pad inside the bin
+                if (pad.direction == PadDirection.SRC && !ghost) {
+                    links.add(new LinkInfo(pad));
+                }
+            }
+        }
+        for (Map.Entry<String, ElementInfo> entry : elements.entrySet()) {
+            ElementInfo e = entry.getValue();
+            entry.setValue(new ElementInfo(e.path, e.name, e.factoryName, e.state, e.bin,
+                    Collections.unmodifiableList(e.pads)));
+        }
+        return new BinTopology(bin.getName(), elements, links);
+    }
+
+    /**
+     * Follows a peer through ghost pads to the pad of the element that
+     * handles the data.  A link into a bin has a ghost pad of the bin as its
+     * peer, and a link out of a bin has the internal pad of a ghost pad.
+     *
+     * @return the pad, or null if a ghost pad on the way is not linked.
+     */
+    private static Pad resolvePeer(Pad peer) {
+        for (int depth = 0; peer != null && depth < MAX_GHOST_DEPTH; ++depth) {
+            if (peer instanceof GhostPad) {
+                peer = ((GhostPad) peer).getTarget();
+                continue;
+            }
+            GstObject parent = peer.getParent();
+            if (parent instanceof GhostPad) {
+                peer = ((GhostPad) parent).getPeer();
+                continue;
+            }
+            return peer;
+        }
+        return null;
+    }
+
+    private static void walk(Bin bin, final String prefix, final Map<String, ElementInfo> elements,
+            final Map<Element, String> paths, final Map<PadInfo, Pad> peers,
+            final Map<PadInfo, Boolean> ghosts) {
+        final List<Bin> children = new ArrayList<Bin>();
+        bin.forEachElement(new Visitor<Element>() {
+            public boolean visit(Element element) {
+                String name = element.getName();
+                final String path = prefix + name;
+                final List<PadInfo> pads = new ArrayList<PadInfo>();
+                element.forEachPad(new Visitor<Pad>() {
+                    public boolean visit(Pad pad) {
+                        Caps caps = pad.getNegotiatedCaps();
+                        PadInfo info = new PadInfo(path, pad.getName(), pad.getDirection(),
+                                caps != null ? caps.toString() : null, null, null);
+                        pads.add(info);
+                        if (pad instanceof GhostPad) {
+                            ghosts.put(info, Boolean.TRUE);
+                        }
+                        Pad peer = pad.getPeer();
+                        if (peer != null) {
+                            peers.put(info, peer);
+                        }
+                        return true;
+                    }
+                });
+                ElementFactory factory = element.getFactory();
+                boolean isBin = element instanceof Bin;
+                elements.put(path, new ElementInfo(path, name, factory != null ? factory.getName() : null,
+                        element.getState(0), isBin, pads));
+                paths.put(element, path);
+                if (isBin) {
+                    children.add((Bin) element);
+                }
+                return true;
+            }
+        });
+        for (Bin child : children) {
+            walk(child, prefix + child.getName() + "/", elements, paths, peers, ghosts);
+        }
+    }
+
+    /**
+     * Gets the name of the bin the snapshot was taken of.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the time the snapshot was taken, in milliseconds since the epoch.
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Gets all the elements in the snapshot, including those inside child
+     * bins, in the order they were walked.
+     */
+    public Collection<ElementInfo> getElements() {
+        return elements.values();
+    }
+
+    /**
+     * Gets an element by its path.
+     *
+     * @param path the path of the element, e.g. <tt>"rtpbin/rtpsession0"</tt>.
+     * @return the element, or null if there is no element with that path.
+     */
+    public ElementInfo getElement(String path) {
+        return elements.get(path);
+    }
+
+    /**
+     * Gets the links between pads in the snapshot, once per link, from the
+     * source pad side.
+     */
+    public List<LinkInfo> getLinks() {
+        return links;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: [%s, %d elements, %d links]", getClass().getSimpleName(),
+                name, elements.size(), links.size());
+    }
+}
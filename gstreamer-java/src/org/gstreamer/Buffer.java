@@ -20,14 +20,21 @@
 
 package org.gstreamer;
 
+import static org.gstreamer.lowlevel.GlibAPI.GLIB_API;
+
 import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.gstreamer.lowlevel.GstBufferAPI;
 import org.gstreamer.lowlevel.GstBufferAPI.BufferStruct;
+import org.gstreamer.lowlevel.GstBufferAPI.FreeFunc;
 import org.gstreamer.lowlevel.GstMiniObjectAPI;
 import org.gstreamer.lowlevel.GstNative;
 import org.gstreamer.lowlevel.annotations.CallerOwnsReturn;
 
+import com.sun.jna.Native;
 import com.sun.jna.Pointer;
 
 /**
@@ -42,6 +49,8 @@ import com.sun.jna.Pointer;
  * <p>
  * Non-plugins will usually not need to allocate buffers, but they can be allocated
  * using new {@link #Buffer(int)} to create a buffer with preallocated data of a given size.
+ * Data already in a direct {@link ByteBuffer} can be passed on without a copy
+ * by wrapping it with {@link #wrap}.
  * <p>
  * The data pointed to by the buffer can be accessed with the {@link #getByteBuffer}
  * method.  For buffers of size 0, the data pointer is undefined (usually NULL) 
@@ -83,8 +92,8 @@ import com.sun.jna.Pointer;
  * has sole ownership, and not copy the buffer data.
  * <p>
  * Buffers can be efficiently merged into a larger buffer with
- * gst_buffer_merge() and gst_buffer_span() if the gst_buffer_is_span_fast()
- * function returns TRUE.
+ * {@link #merge} and {@link #span} if {@link #isSpanFast} returns true.
+ * To split a buffer into many sub-buffers, use a {@link BufferSpan}.
  * <p>
  */
 public class Buffer extends MiniObject {
@@ -95,6 +104,35 @@ public class Buffer extends MiniObject {
         @CallerOwnsReturn Pointer ptr_gst_buffer_new_and_alloc(int size);
     }
     private static final API gst = GstNative.load(API.class);
+
+    /**
+     * The memory of the wrapped ByteBuffers, by the token stored as the
+     * malloc_data of their Buffer.  GStreamer only hands malloc_data to the
+     * free_func, so it need not be an address.
+     */
+    private static final Map<Long, Wrapped> wrapped = new ConcurrentHashMap<Long, Wrapped>();
+    private static final AtomicLong wrappedTokens = new AtomicLong();
+    private static final FreeFunc freeWrapped = new FreeFunc() {
+        public void callback(Pointer data) {
+            Wrapped w = wrapped.remove(Pointer.nativeValue(data));
+            if (w != null && w.release != null) {
+                w.release.run();
+            }
+        }
+    };
+
+    private static final class Wrapped {
+        /** Keeps the memory from being collected while GStreamer uses it */
+        @SuppressWarnings("unused")
+        final ByteBuffer data;
+        final Runnable release;
+
+        Wrapped(ByteBuffer data, Runnable release) {
+            this.data = data;
+            this.release = release;
+        }
+    }
+
     public Buffer(Initializer init) {
         super(init);
         struct = new BufferStruct(handle());
@@ -128,6 +166,40 @@ public class Buffer extends MiniObject {
         return ptr;
     }
     
+    /**
+     * Creates a buffer pointing at the memory of a direct ByteBuffer, from its
+     * position to its limit, without copying it.
+     * <p>
+     * The ByteBuffer is kept from being garbage collected until GStreamer
+     * frees the buffer, and all the buffers sharing its memory, such as
+     * sub-buffers.  Then release is run, on whichever thread dropped the last
+     * reference; it should only hand the memory back to its producer.
+     * <p>
+     * The memory must not be modified while GStreamer may be reading it, that
+     * is until release is run.
+     *
+     * @param data the direct ByteBuffer holding the data.
+     * @param release run once GStreamer no longer uses the memory, or null.
+     * @return a new Buffer.
+     * @throws IllegalArgumentException if data is not a direct ByteBuffer.
+     */
+    public static Buffer wrap(ByteBuffer data, Runnable release) {
+        if (!data.isDirect()) {
+            throw new IllegalArgumentException("Not a direct ByteBuffer");
+        }
+        Pointer ptr = gst.ptr_gst_buffer_new();
+        if (ptr == null) {
+            throw new OutOfMemoryError("Could not allocate Buffer");
+        }
+        long token = wrappedTokens.incrementAndGet();
+        wrapped.put(token, new Wrapped(data, release));
+        ptr.setPointer(BufferStruct.DATA_OFFSET, Native.getDirectBufferPointer(data).share(data.position()));
+        ptr.setInt(BufferStruct.SIZE_OFFSET, data.remaining());
+        ptr.setPointer(BufferStruct.MALLOC_DATA_OFFSET, Pointer.createConstant(token));
+        GLIB_API.g_atomic_pointer_set(ptr.share(BufferStruct.FREE_FUNC_OFFSET), freeWrapped);
+        return new Buffer(initializer(ptr));
+    }
+
     /** 
      * Create a copy of the given buffer. This will also make a newly allocated 
      * copy of the data the source buffer contains.
@@ -171,6 +243,43 @@ public class Buffer extends MiniObject {
         return gst.gst_buffer_create_sub(this, offset, size);
     }
     
+    /**
+     * Checks whether {@link #span} can join this buffer and another without
+     * copying their data, which is the case when both are adjacent
+     * sub-buffers of the same parent.
+     *
+     * @param other the buffer following this one.
+     * @return true if the buffers can be spanned without a copy.
+     */
+    public boolean isSpanFast(Buffer other) {
+        return gst.gst_buffer_is_span_fast(this, other);
+    }
+
+    /**
+     * Creates a buffer spanning this buffer and the following one, from offset
+     * in this buffer for len bytes.  If {@link #isSpanFast} is true, the new
+     * buffer shares the memory of their parent; else the data is copied.
+     *
+     * @param offset the offset in this buffer at which the new buffer begins.
+     * @param other the buffer following this one.
+     * @param len the size of the new buffer.
+     * @return a new buffer.
+     */
+    public Buffer span(int offset, Buffer other, int len) {
+        return gst.gst_buffer_span(this, offset, other, len);
+    }
+
+    /**
+     * Creates a buffer with the data of this buffer followed by that of
+     * another, without copying if {@link #isSpanFast} is true.
+     *
+     * @param other the buffer following this one.
+     * @return a new buffer.
+     */
+    public Buffer merge(Buffer other) {
+        return gst.gst_buffer_merge(this, other);
+    }
+
     /**
      * Tests if you can safely write data into a buffer's data array or validly
      * modify the caps and timestamp metadata. Metadata in a GstBuffer is always
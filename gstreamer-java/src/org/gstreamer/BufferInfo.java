@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2026 agent
+ *
+ * This file is part of gstreamer-java.
+ *
+ * This code is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * version 3 along with this work.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.gstreamer;
+
+import org.gstreamer.lowlevel.GstBufferAPI.BufferStruct;
+
+import com.sun.jna.Pointer;
+
+/**
+ * A reusable holder for the metadata of a {@link Buffer}.
+ * <p>
+ * This is filled straight from the native buffer memory, without creating a
+ * {@link Buffer} wrapper, so a single instance can be reused for every buffer
+ * of a stream.  Times are in nanoseconds, and are -1 if not known
+ * (the same as {@link ClockTime#NONE}).
+ */
+public final class BufferInfo {
+    private int size;
+    private long timestamp = -1;
+    private long duration = -1;
+    private long offset = -1;
+    private long lastOffset = -1;
+    private int flags;
+
+    /**
+     * Creates a new, empty BufferInfo.
+     */
+    public BufferInfo() {
+    }
+
+    /**
+     * Fills this BufferInfo from a native GstBuffer.
+     * <p> This is used internally, and is not recommended for other uses.
+     *
+     * @param buffer the address of the native GstBuffer.
+     * @return this BufferInfo.
+     */
+    public BufferInfo read(Pointer buffer) {
+        size = buffer.getInt(BufferStruct.SIZE_OFFSET);
+        timestamp = buffer.getLong(BufferStruct.TIMESTAMP_OFFSET);
+        duration = buffer.getLong(BufferStruct.DURATION_OFFSET);
+        offset = buffer.getLong(BufferStruct.OFFSET_OFFSET);
+        lastOffset = buffer.getLong(BufferStruct.OFFSET_END_OFFSET);
+        flags = buffer.getInt(BufferStruct.FLAGS_OFFSET);
+        return this;
+    }
+
+    /**
+     * Gets the size of the buffer data.
+     *
+     * @return the size of the buffer data in bytes.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Gets the timestamp of the buffer data.
+     *
+     * @return the timestamp in nanoseconds, or -1 if not known.
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Gets the duration of the buffer data.
+     *
+     * @return the duration in nanoseconds, or -1 if not known.
+     */
+    public long getDuration() {
+        return duration;
+    }
+
+    /**
+     * Gets the media specific offset of the buffer data in the stream.
+     *
+     * @return the offset
+     * @see Buffer#getOffset
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    /**
+     * Gets the last media specific offset contained in the buffer.
+     *
+     * @return the last offset
+     * @see Buffer#getLastOffset
+     */
+    public long getLastOffset() {
+        return lastOffset;
+    }
+
+    /**
+     * Gets the GstBuffer flags.
+     *
+     * @return an integer value containing flags
+     * @see BufferFlag
+     */
+    public int getFlags() {
+        return flags;
+    }
+
+    /**
+     * Tests if a flag is set on the buffer.
+     *
+     * @param flag the flag to test.
+     * @return true if the flag is set.
+     */
+    public boolean hasFlag(BufferFlag flag) {
+        return (flags & flag.intValue()) != 0;
+    }
+
+    @Override
+    public String toString() {
+        return "BufferInfo[size=" + size + ", timestamp=" + timestamp
+                + ", duration=" + duration + ", flags=0x" + Integer.toHexString(flags) + "]";
+    }
+}
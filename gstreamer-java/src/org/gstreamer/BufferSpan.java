@@ -0,0 +1,270 @@
+/*
+ * Copyright (c) 2026 agent
+ *
+ * This file is part of gstreamer-java.
+ *
+ * This code is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * version 3 along with this work.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.gstreamer;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import org.gstreamer.lowlevel.GstMiniObjectAPI;
+import org.gstreamer.lowlevel.GstNative;
+import org.gstreamer.lowlevel.NativeObject;
+import org.gstreamer.lowlevel.annotations.CallerOwnsReturn;
+
+import com.sun.jna.Pointer;
+
+/**
+ * Slices of a parent {@link Buffer}, as native sub-buffers sharing its memory.
+ * <p>
+ * {@link Buffer#createSubBuffer} creates a {@link Buffer} wrapper for each
+ * slice.  A span holds the native sub-buffers of many slices in one object,
+ * for Java code that splits buffers into many small ones, such as a demuxer
+ * splitting MPEG-TS buffers into packets.  The data of a slice can be read
+ * with {@link #getByteBuffer}, without a native call, and the slices pushed
+ * with {@link #pushAll} without creating any wrapper.  A wrapper is only
+ * created for the slices handed out with {@link #take}.
+ * <p>
+ * A span owns the sub-buffers that were not pushed or taken, until
+ * {@link #dispose} releases them; it does not wait for garbage collection.
+ * A span is not thread-safe.
+ * <pre>
+ * BufferSpan packets = BufferSpan.split(buffer, 188);
+ * try {
+ *     FlowReturn ret = packets.pushAll(srcPad);
+ * } finally {
+ *     packets.dispose();
+ * }
+ * </pre>
+ */
+public class BufferSpan {
+    private static interface API extends GstMiniObjectAPI {
+        @CallerOwnsReturn Pointer ptr_gst_buffer_create_sub(Buffer parent, int offset, int size);
+        FlowReturn ptr_gst_pad_push(Pad pad, Pointer buffer);
+    }
+    private static final API gst = GstNative.load(API.class);
+
+    private final Buffer parent;
+    private final int parentSize;
+    private ByteBuffer data;
+    private Pointer[] slices = new Pointer[16];
+    private int[] offsets = new int[16];
+    private int[] sizes = new int[16];
+    private int count;
+
+    /**
+     * Creates an empty span of a buffer.
+     *
+     * @param parent the buffer to slice.
+     */
+    public BufferSpan(Buffer parent) {
+        this.parent = parent;
+        this.parentSize = parent.getSize();
+    }
+
+    /**
+     * Splits a buffer into slices of the same size.  The last slice is
+     * shorter if the size of the buffer is not a multiple of size.
+     *
+     * @param parent the buffer to split.
+     * @param size the size of the slices.
+     * @return a span with the slices, in order.
+     */
+    public static BufferSpan split(Buffer parent, int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Invalid slice size: " + size);
+        }
+        BufferSpan span = new BufferSpan(parent);
+        for (int offset = 0; offset < span.parentSize; offset += size) {
+            span.slice(offset, Math.min(size, span.parentSize - offset));
+        }
+        return span;
+    }
+
+    /**
+     * Adds a slice of the parent buffer.
+     *
+     * @param offset the offset of the slice in the parent buffer.
+     * @param size the size of the slice.
+     * @return this span.
+     */
+    public BufferSpan slice(int offset, int size) {
+        if (offset < 0 || size < 0 || offset + size > parentSize) {
+            throw new IndexOutOfBoundsException("Slice " + offset + "+" + size
+                    + " out of buffer of size " + parentSize);
+        }
+        Pointer slice = gst.ptr_gst_buffer_create_sub(parent, offset, size);
+        if (slice == null) {
+            throw new OutOfMemoryError("Could not create sub-buffer");
+        }
+        if (count == slices.length) {
+            slices = Arrays.copyOf(slices, count * 2);
+            offsets = Arrays.copyOf(offsets, count * 2);
+            sizes = Arrays.copyOf(sizes, count * 2);
+        }
+        slices[count] = slice;
+        offsets[count] = offset;
+        sizes[count] = size;
+        ++count;
+        return this;
+    }
+
+    /**
+     * Gets the buffer this span slices.
+     */
+    public Buffer getParent() {
+        return parent;
+    }
+
+    /**
+     * Gets the number of slices, including those pushed or taken.
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Gets the offset of a slice in the parent buffer.
+     */
+    public int getOffset(int index) {
+        checkIndex(index);
+        return offsets[index];
+    }
+
+    /**
+     * Gets the size of a slice.
+     */
+    public int getSize(int index) {
+        checkIndex(index);
+        return sizes[index];
+    }
+
+    /**
+     * Checks whether a slice was neither pushed nor taken.
+     */
+    public boolean isAvailable(int index) {
+        checkIndex(index);
+        return slices[index] != null;
+    }
+
+    /**
+     * Gets a {@link ByteBuffer} that reads the data of a slice, from the
+     * memory of the parent buffer.
+     *
+     * @param index the index of the slice.
+     * @return the data of the slice, or null if the slice is empty.
+     */
+    public ByteBuffer getByteBuffer(int index) {
+        checkIndex(index);
+        if (data == null) {
+            data = parent.getByteBuffer();
+            if (data == null) {
+                return null;
+            }
+        }
+        ByteBuffer bb = data.duplicate();
+        bb.limit(offsets[index] + sizes[index]).position(offsets[index]);
+        return bb.slice();
+    }
+
+    /**
+     * Takes a slice out of the span, as a {@link Buffer}, for instance to
+     * set its metadata before pushing it.  The span no longer owns it.
+     *
+     * @param index the index of the slice.
+     * @return the slice.
+     * @throws IllegalStateException if the slice was already pushed or taken.
+     */
+    public Buffer take(int index) {
+        checkIndex(index);
+        Pointer slice = slices[index];
+        if (slice == null) {
+            throw new IllegalStateException("Slice " + index + " was already pushed or taken");
+        }
+        slices[index] = null;
+        return NativeObject.objectFor(slice, Buffer.class, false, true);
+    }
+
+    /**
+     * Joins adjacent slices into one buffer, sharing the memory of the parent
+     * buffer like the slices.  The slices themselves are left in the span.
+     *
+     * @param from the index of the first slice.
+     * @param to the index of the last slice.
+     * @return a new buffer with the data of the slices from <tt>from</tt> to
+     * <tt>to</tt> inclusive.
+     * @throws IndexOutOfBoundsException if an index is out of range, or
+     * <tt>from</tt> is greater than <tt>to</tt>.
+     * @throws IllegalArgumentException if the slices are not adjacent.
+     */
+    public Buffer join(int from, int to) {
+        checkIndex(from);
+        checkIndex(to);
+        if (from > to) {
+            throw new IndexOutOfBoundsException("From: " + from + " > To: " + to);
+        }
+        for (int i = from; i < to; ++i) {
+            if (offsets[i] + sizes[i] != offsets[i + 1]) {
+                throw new IllegalArgumentException("Slices " + i + " and " + (i + 1) + " are not adjacent");
+            }
+        }
+        return parent.createSubBuffer(offsets[from], offsets[to] + sizes[to] - offsets[from]);
+    }
+
+    /**
+     * Pushes the available slices out of a pad, in order, until one push
+     * fails.  The pushed slices, including the failed one, are no longer
+     * owned by the span.
+     *
+     * @param pad the source pad to push the slices out of.
+     * @return {@link FlowReturn#OK}, or the result of the failed push.
+     */
+    public FlowReturn pushAll(Pad pad) {
+        for (int i = 0; i < count; ++i) {
+            if (slices[i] == null) {
+                continue;
+            }
+            Pointer slice = slices[i];
+            slices[i] = null;
+            // gst_pad_push takes the reference of the span
+            FlowReturn ret = gst.ptr_gst_pad_push(pad, slice);
+            if (ret != FlowReturn.OK) {
+                return ret;
+            }
+        }
+        return FlowReturn.OK;
+    }
+
+    /**
+     * Releases the slices that were neither pushed nor taken.  The span
+     * must not be used afterwards.
+     */
+    public void dispose() {
+        for (int i = 0; i < count; ++i) {
+            if (slices[i] != null) {
+                gst.gst_mini_object_unref(slices[i]);
+                slices[i] = null;
+            }
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + count);
+        }
+    }
+}
@@ -26,6 +26,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -80,6 +82,14 @@ public class Bus extends GstObject {
     // Create an API with just the subset needed.
     private static interface API extends GstBusAPI, GstMessageAPI, GstMiniObjectAPI {}
     private static final API gst = GstNative.load(API.class);
+    
+    // Resolve the dispatch executor on each use, so a Bus outlives Gst.deinit()/init()
+    private static final SerialExecutor.ExecutorSource dispatchExecutor = new SerialExecutor.ExecutorSource() {
+        public Executor getExecutor() {
+            return Gst.getDispatchExecutor();
+        }
+    };
+    private final SerialExecutor dispatcher = new SerialExecutor(dispatchExecutor);
 
     /**
      * This constructor is used internally by gstreamer-java
@@ -673,6 +683,55 @@ public class Bus extends GstObject {
         return gst.gst_bus_post(this, message);
     }
     
+    /**
+     * Gets the number of messages waiting to be delivered to the listeners
+     * of this bus.
+     * 
+     * @return the dispatch queue depth.
+     * @see Gst#setDispatchThreads
+     */
+    public int getPendingMessageCount() {
+        return dispatcher.getQueueDepth();
+    }
+    
+    /**
+     * Gets the number of messages delivered to the listeners of this bus.
+     * 
+     * @return the number of dispatched messages.
+     */
+    public long getDispatchedMessageCount() {
+        return dispatcher.getDispatchedCount();
+    }
+    
+    /**
+     * Gets the average time a message waited between being posted and being
+     * delivered to the listeners of this bus.
+     * 
+     * @param unit the time unit of the returned value.
+     * @return the average dispatch latency.
+     */
+    public long getAverageDispatchLatency(TimeUnit unit) {
+        return dispatcher.getAverageLatency(unit);
+    }
+    
+    /**
+     * Gets the longest time a message waited between being posted and being
+     * delivered to the listeners of this bus.
+     * 
+     * @param unit the time unit of the returned value.
+     * @return the maximum dispatch latency.
+     */
+    public long getMaxDispatchLatency(TimeUnit unit) {
+        return dispatcher.getMaxLatency(unit);
+    }
+    
+    /**
+     * Resets the dispatch counters and latencies of this bus.
+     */
+    public void resetDispatchStatistics() {
+        dispatcher.resetStatistics();
+    }
+    
     private BusSyncHandler syncHandler = new BusSyncHandler() {
         public BusSyncReply syncMessage(Message msg) {
             return BusSyncReply.PASS;
@@ -691,7 +750,7 @@ public class Bus extends GstObject {
 	            BusSyncReply reply = bus.syncHandler.syncMessage(msg);
 	            
 	            if (reply != BusSyncReply.DROP) {
-	                Gst.getExecutor().execute(new Runnable() {
+	                bus.dispatcher.execute(new Runnable() {
 	                    public void run() {
 	                        bus.dispatchMessage(msg);
 	                    }
@@ -397,6 +397,17 @@ public class Caps extends RefCountedObject {
         return gst.gst_caps_is_subset(this, superset);
     }
     
+    /**
+     * Tries intersecting this caps with another and reports whether the
+     * result would not be empty, without computing the intersection.
+     *
+     * @param other The caps to intersect with.
+     * @return true if the intersection of the two caps is not empty.
+     */
+    public boolean canIntersect(Caps other) {
+        return gst.gst_caps_can_intersect(this, other);
+    }
+    
     /**
      * Check if this caps is always compatible with another caps.
      * <p>
@@ -0,0 +1,246 @@
+/*
+ * Copyright (c) 2026 agent
+ *
+ * This file is part of gstreamer-java.
+ *
+ * This code is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * version 3 along with this work.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.gstreamer;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds {@link Caps} from typed fields, setting the fields of each
+ * {@link Structure} directly instead of parsing a caps string.
+ * <pre>
+ * Caps caps = new CapsBuilder("video/x-raw-rgb")
+ *         .setInteger("bpp", 32).setInteger("depth", 24)
+ *         .setInteger("width", width).setInteger("height", height)
+ *         .setFraction("framerate", 25, 1)
+ *         .build();
+ * </pre>
+ * Caps used over and over, such as the fixed caps of a converter in front of
+ * a sink, can be shared with {@link #intern}, which only builds them the
+ * first time.
+ */
+public class CapsBuilder {
+    /** The number of caps kept by {@link #intern} */
+    private static final int INTERN_SIZE = 64;
+
+    private static final Map<String, Caps> interned = new LinkedHashMap<String, Caps>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Caps> eldest) {
+            return size() > INTERN_SIZE;
+        }
+    };
+
+    static {
+        // The caps are no longer valid once GStreamer is deinitialized
+        Gst.addStaticShutdownTask(new Runnable() {
+            public void run() {
+                synchronized (interned) {
+                    interned.clear();
+                }
+            }
+        });
+    }
+
+    private static enum Type { INT, INT_RANGE, FRACTION, FOURCC, DOUBLE, BOOLEAN, STRING }
+
+    private static final class Field {
+        final String name;
+        final Type type;
+        final Object[] values;
+
+        Field(String name, Type type, Object... values) {
+            this.name = name;
+            this.type = type;
+            this.values = values;
+        }
+
+        void applyTo(Structure.Builder structure) {
+            switch (type) {
+            case INT:
+                structure.setInteger(name, (Integer) values[0]);
+                break;
+            case INT_RANGE:
+                structure.setIntegerRange(name, (Integer) values[0], (Integer) values[1]);
+                break;
+            case FRACTION:
+                structure.setFraction(name, (Integer) values[0], (Integer) values[1]);
+                break;
+            case FOURCC:
+                structure.setFourcc(name, (String) values[0]);
+                break;
+            case DOUBLE:
+                structure.setDouble(name, (Double) values[0]);
+                break;
+            case BOOLEAN:
+                structure.setBoolean(name, (Boolean) values[0]);
+                break;
+            case STRING:
+                structure.setString(name, (String) values[0]);
+                break;
+            }
+        }
+
+        void appendTo(StringBuilder sb) {
+            sb.append(", ").append(name).append('=');
+            switch (type) {
+            case INT_RANGE:
+                sb.append("(int)[ ").append(values[0]).append(", ").append(values[1]).append(" ]");
+                break;
+            case FRACTION:
+                sb.append("(fraction)").append(values[0]).append('/').append(values[1]);
+                break;
+            default:
+                sb.append('(').append(type.name().toLowerCase()).append(')').append(values[0]);
+            }
+        }
+    }
+
+    private final List<String> names = new ArrayList<String>();
+    private final List<List<Field>> structures = new ArrayList<List<Field>>();
+
+    /**
+     * Starts building caps with one structure.
+     *
+     * @param mediaType the name of the structure, e.g. <tt>video/x-raw-rgb</tt>.
+     */
+    public CapsBuilder(String mediaType) {
+        next(mediaType);
+    }
+
+    /**
+     * Starts a new structure; the fields set afterwards go in it.
+     *
+     * @param mediaType the name of the structure.
+     * @return this builder.
+     */
+    public CapsBuilder next(String mediaType) {
+        names.add(mediaType);
+        structures.add(new ArrayList<Field>());
+        return this;
+    }
+
+    private CapsBuilder add(Field field) {
+        List<Field> fields = structures.get(structures.size() - 1);
+        for (int i = 0; i < fields.size(); ++i) {
+            if (fields.get(i).name.equals(field.name)) {
+                fields.set(i, field);
+                return this;
+            }
+        }
+        fields.add(field);
+        return this;
+    }
+
+    /** Sets an integer field. */
+    public CapsBuilder setInteger(String field, int value) {
+        return add(new Field(field, Type.INT, value));
+    }
+
+    /** Sets an integer range field, from min to max inclusive. */
+    public CapsBuilder setIntegerRange(String field, int min, int max) {
+        return add(new Field(field, Type.INT_RANGE, min, max));
+    }
+
+    /** Sets a fraction field, such as a framerate. */
+    public CapsBuilder setFraction(String field, int numerator, int denominator) {
+        return add(new Field(field, Type.FRACTION, numerator, denominator));
+    }
+
+    /** Sets a FOURCC field, such as the format of raw YUV video. */
+    public CapsBuilder setFourcc(String field, String fourcc) {
+        Structure.makeFourcc(fourcc); // Fail here rather than in build()
+        return add(new Field(field, Type.FOURCC, fourcc));
+    }
+
+    /** Sets a double field. */
+    public CapsBuilder setDouble(String field, double value) {
+        return add(new Field(field, Type.DOUBLE, value));
+    }
+
+    /** Sets a boolean field. */
+    public CapsBuilder setBoolean(String field, boolean value) {
+        return add(new Field(field, Type.BOOLEAN, value));
+    }
+
+    /** Sets a string field. */
+    public CapsBuilder setString(String field, String value) {
+        return add(new Field(field, Type.STRING, value));
+    }
+
+    /**
+     * Builds new caps.
+     *
+     * @return new caps, owned by the caller.
+     */
+    public Caps build() {
+        Caps caps = new Caps();
+        for (int i = 0; i < names.size(); ++i) {
+            // Each structure is created with all its fields in one native call
+            Structure.Builder structure = new Structure.Builder(names.get(i));
+            for (Field field : structures.get(i)) {
+                field.applyTo(structure);
+            }
+            caps.append(structure.build());
+        }
+        return caps;
+    }
+
+    /**
+     * Gets caps shared by all the builders with the same structures and
+     * fields, building them the first time.
+     * <p>
+     * The caps must not be modified; use {@link Caps#copy} to get caps to
+     * modify.  Only the most recently used caps are kept.
+     *
+     * @return the shared caps.
+     */
+    public Caps intern() {
+        String key = toString();
+        synchronized (interned) {
+            Caps caps = interned.get(key);
+            if (caps == null) {
+                interned.put(key, caps = build());
+            }
+            return caps;
+        }
+    }
+
+    /**
+     * Gets a description of the caps being built.  It is close to, but not
+     * always the same as, the string GStreamer gives the built caps.
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < names.size(); ++i) {
+            if (i > 0) {
+                sb.append("; ");
+            }
+            sb.append(names.get(i));
+            for (Field field : structures.get(i)) {
+                field.appendTo(sb);
+            }
+        }
+        return sb.toString();
+    }
+}
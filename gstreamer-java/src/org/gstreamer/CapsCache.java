@@ -0,0 +1,258 @@
+/*
+ * Copyright (c) 2026 agent
+ *
+ * This file is part of gstreamer-java.
+ *
+ * This code is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * version 3 along with this work.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.gstreamer;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded cache of the results of caps operations, for negotiation code
+ * that compares the same few caps over and over.
+ * <p>
+ * Results are keyed by the {@link CapsKey} of the operands and the least
+ * recently used are dropped once the cache is full.  Callers that keep the
+ * keys of their caps, for instance of their pad templates, save converting
+ * the caps to strings on each call.
+ * <p>
+ * The cache is safe to use from several threads, such as the streaming
+ * threads calling the setcaps or getcaps functions of custom elements.
+ */
+public class CapsCache {
+    /** The number of results kept by the {@link #getDefault default} cache */
+    public static final int DEFAULT_CAPACITY = 512;
+
+    private static final CapsCache defaultCache = new CapsCache(DEFAULT_CAPACITY);
+
+    private static final int INTERSECT = 0, SUBSET = 1, CAN_INTERSECT = 2;
+
+    private final int capacity;
+    private final Map<Operation, Object> results;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    private static final class Operation {
+        final int op;
+        final CapsKey a, b;
+
+        Operation(int op, CapsKey a, CapsKey b) {
+            this.op = op;
+            this.a = a;
+            this.b = b;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Operation)) {
+                return false;
+            }
+            Operation o = (Operation) other;
+            return o.op == op && o.a.equals(a) && o.b.equals(b);
+        }
+
+        @Override
+        public int hashCode() {
+            return (a.hashCode() * 31 + b.hashCode()) * 31 + op;
+        }
+    }
+
+    /** The result of an intersection; never handed out, only copies */
+    private static final class Intersection {
+        final Caps caps;
+        private volatile CapsKey key;
+
+        Intersection(Caps caps) {
+            this.caps = caps;
+        }
+
+        CapsKey getKey() {
+            CapsKey k = key;
+            if (k == null) {
+                key = k = CapsKey.of(caps);
+            }
+            return k;
+        }
+    }
+
+    /**
+     * Creates a cache.
+     *
+     * @param capacity the number of results to keep.
+     */
+    public CapsCache(int capacity) {
+        this.capacity = capacity;
+        this.results = new LinkedHashMap<Operation, Object>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Operation, Object> eldest) {
+                return size() > CapsCache.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * Gets a cache shared by the whole application.
+     */
+    public static CapsCache getDefault() {
+        return defaultCache;
+    }
+
+    /**
+     * Intersects two caps.
+     *
+     * @param a the first caps.
+     * @param b the second caps.
+     * @return a new caps, owned by the caller, with the formats in both.
+     * @see Caps#intersect
+     */
+    public Caps intersect(Caps a, Caps b) {
+        return new Caps(intersection(CapsKey.of(a), a, CapsKey.of(b), b).caps);
+    }
+
+    /**
+     * Intersects two caps.
+     *
+     * @param a the key of the first caps.
+     * @param b the key of the second caps.
+     * @return the key of the caps with the formats in both.
+     */
+    public CapsKey intersect(CapsKey a, CapsKey b) {
+        return intersection(a, null, b, null).getKey();
+    }
+
+    private Intersection intersection(CapsKey a, Caps capsA, CapsKey b, Caps capsB) {
+        Operation key = new Operation(INTERSECT, a, b);
+        Object result = get(key);
+        if (result != null) {
+            return (Intersection) result;
+        }
+        Caps ca = capsA != null ? capsA : a.toCaps();
+        Caps cb = capsB != null ? capsB : b.toCaps();
+        Intersection intersection = new Intersection(ca.intersect(cb));
+        put(key, intersection);
+        return intersection;
+    }
+
+    /**
+     * Checks whether all the formats of a caps are also in another.
+     *
+     * @param subset the caps that may be a subset.
+     * @param superset the caps that may be a superset.
+     * @return true if subset is a subset of superset.
+     * @see Caps#isSubset
+     */
+    public boolean isSubset(Caps subset, Caps superset) {
+        return check(SUBSET, CapsKey.of(subset), subset, CapsKey.of(superset), superset);
+    }
+
+    /**
+     * Checks whether all the formats of a caps are also in another.
+     *
+     * @param subset the key of the caps that may be a subset.
+     * @param superset the key of the caps that may be a superset.
+     * @return true if subset is a subset of superset.
+     */
+    public boolean isSubset(CapsKey subset, CapsKey superset) {
+        return check(SUBSET, subset, null, superset, null);
+    }
+
+    /**
+     * Checks whether two caps have formats in common.
+     *
+     * @param a the first caps.
+     * @param b the second caps.
+     * @return true if the intersection of the caps is not empty.
+     * @see Caps#canIntersect
+     */
+    public boolean canIntersect(Caps a, Caps b) {
+        return check(CAN_INTERSECT, CapsKey.of(a), a, CapsKey.of(b), b);
+    }
+
+    /**
+     * Checks whether two caps have formats in common.
+     *
+     * @param a the key of the first caps.
+     * @param b the key of the second caps.
+     * @return true if the intersection of the caps is not empty.
+     */
+    public boolean canIntersect(CapsKey a, CapsKey b) {
+        return check(CAN_INTERSECT, a, null, b, null);
+    }
+
+    private boolean check(int op, CapsKey a, Caps capsA, CapsKey b, Caps capsB) {
+        Operation key = new Operation(op, a, b);
+        Object result = get(key);
+        if (result != null) {
+            return (Boolean) result;
+        }
+        Caps ca = capsA != null ? capsA : a.toCaps();
+        Caps cb = capsB != null ? capsB : b.toCaps();
+        boolean value = op == SUBSET ? ca.isSubset(cb) : ca.canIntersect(cb);
+        put(key, value);
+        return value;
+    }
+
+    private Object get(Operation key) {
+        Object result;
+        synchronized (results) {
+            result = results.get(key);
+        }
+        (result != null ? hits : misses).incrementAndGet();
+        return result;
+    }
+
+    private void put(Operation key, Object result) {
+        synchronized (results) {
+            results.put(key, result);
+        }
+    }
+
+    /**
+     * Forgets all the results.
+     */
+    public void clear() {
+        synchronized (results) {
+            results.clear();
+        }
+    }
+
+    /**
+     * Gets the number of results kept.
+     */
+    public int size() {
+        synchronized (results) {
+            return results.size();
+        }
+    }
+
+    /**
+     * Gets the number of calls answered from the cache.
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Gets the number of calls that had to compute their result.
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2026 agent
+ *
+ * This file is part of gstreamer-java.
+ *
+ * This code is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * version 3 along with this work.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.gstreamer;
+
+/**
+ * An immutable value standing for the content of a {@link Caps}, to use as
+ * a key in maps.
+ * <p>
+ * {@link Caps#equals} compares caps natively and {@link Caps#hashCode} is
+ * that of the native handle, so caps themselves do not work as map keys.  A
+ * key holds the string form GStreamer gives the caps, and its hash code,
+ * computed once.  Two caps with the same key are equal; equal caps written
+ * with their fields in a different order have different keys.
+ *
+ * @see CapsCache
+ */
+public final class CapsKey {
+    private final String caps;
+    private final int hash;
+
+    CapsKey(String caps) {
+        this.caps = caps;
+        this.hash = caps.hashCode();
+    }
+
+    /**
+     * Gets the key of a caps.
+     *
+     * @param caps the caps.
+     * @return the key.
+     */
+    public static CapsKey of(Caps caps) {
+        return new CapsKey(caps.toString());
+    }
+
+    /**
+     * Gets the key of the caps described by a string.  The string is parsed,
+     * so that differences in spacing or in the type annotations of fields do
+     * not make different keys.
+     *
+     * @param caps the string representation of the caps.
+     * @return the key.
+     */
+    public static CapsKey of(String caps) {
+        return of(Caps.fromString(caps));
+    }
+
+    /**
+     * Creates a new caps from this key.
+     *
+     * @return a new caps, owned by the caller.
+     */
+    public Caps toCaps() {
+        return Caps.fromString(caps);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other == this || other instanceof CapsKey
+                && ((CapsKey) other).hash == hash && ((CapsKey) other).caps.equals(caps);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    /**
+     * Gets the string representation of the caps.
+     */
+    @Override
+    public String toString() {
+        return caps;
+    }
+}
@@ -0,0 +1,440 @@
+/*
+ * Copyright (c) 2026 agent
+ *
+ * This file is part of gstreamer-java.
+ *
+ * This code is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * version 3 along with this work.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.gstreamer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RunnableScheduledFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.gstreamer.lowlevel.GstClockAPI;
+import org.gstreamer.lowlevel.GstNative;
+
+import com.sun.jna.Callback;
+import com.sun.jna.Pointer;
+
+/**
+ * A {@link ScheduledExecutorService} whose delays are measured on a
+ * GStreamer {@link Clock}, usually the clock of a playing pipeline, rather
+ * than on the wall clock.
+ * <p>
+ * Tasks tied to media time, such as overlays or cue points, then stay in
+ * step with the media even when the pipeline clock is slaved to a network
+ * or audio device clock that drifts from the system time.
+ * <p>
+ * All the pending tasks are kept in a heap, and only the earliest of them is
+ * waited for, with a single <code>gst_clock_id_wait_async</code>, so any
+ * number of tasks can be scheduled without a thread or a native wait each.
+ * When the wait fires, the due tasks are handed, in order, to the executor
+ * given at construction.
+ * <p>
+ * Besides the relative delays of {@link ScheduledExecutorService}, tasks
+ * can be scheduled at an absolute clock time with {@link #scheduleAt}; to
+ * schedule at a running time of a pipeline, add its base time:
+ * <pre>
+ * ClockScheduler cues = new ClockScheduler(pipeline.getClock());
+ * long base = pipeline.getBaseTime().toNanos();
+ * cues.scheduleAt(showTitle, base + TimeUnit.SECONDS.toNanos(10));
+ * </pre>
+ */
+public class ClockScheduler extends AbstractExecutorService implements ScheduledExecutorService {
+    private static final Logger logger = Logger.getLogger(ClockScheduler.class.getName());
+
+    private static interface API extends GstClockAPI {
+        interface AsyncCallback extends Callback {
+            boolean callback(Pointer clock, long time, Pointer id, Pointer user_data);
+        }
+        Pointer ptr_gst_clock_new_single_shot_id(Clock clock, long time);
+        ClockReturn ptr_gst_clock_id_wait_async(Pointer id, AsyncCallback func, Pointer user_data);
+        void ptr_gst_clock_id_unschedule(Pointer id);
+        void ptr_gst_clock_id_unref(Pointer id);
+    }
+    private static final API gst = GstNative.load(API.class);
+
+    /**
+     * The schedulers with a native wait in progress, by clock id.  The clock
+     * thread only holds the id, so this keeps the scheduler, and its tasks,
+     * reachable until the wait fires or is unscheduled.
+     */
+    private static final Map<Pointer, ClockScheduler> armed = new ConcurrentHashMap<Pointer, ClockScheduler>();
+    private static final API.AsyncCallback callback = new API.AsyncCallback() {
+        public boolean callback(Pointer clock, long time, Pointer id, Pointer user_data) {
+            ClockScheduler scheduler = armed.get(id);
+            if (scheduler != null) {
+                scheduler.fired(id);
+            }
+            return true;
+        }
+    };
+
+    private static final AtomicLong sequencer = new AtomicLong();
+
+    private final Clock clock;
+    private final Executor executor;
+    private final PriorityQueue<ClockTask<?>> queue = new PriorityQueue<ClockTask<?>>();
+    /** The native wait in progress, and the time it is for */
+    private Pointer armedId;
+    private long armedTime;
+    private boolean shutdown = false;
+
+    /**
+     * A task waiting for its clock time.
+     */
+    private final class ClockTask<V> extends FutureTask<V> implements RunnableScheduledFuture<V> {
+        private final long sequence = sequencer.getAndIncrement();
+        private long time;
+        /** 0 for one shot, &gt; 0 for fixed rate, &lt; 0 for fixed delay */
+        private final long period;
+
+        ClockTask(Runnable runnable, V result, long time, long period) {
+            super(runnable, result);
+            this.time = time;
+            this.period = period;
+        }
+
+        ClockTask(Callable<V> callable, long time) {
+            super(callable);
+            this.time = time;
+            this.period = 0;
+        }
+
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(time - now(), TimeUnit.NANOSECONDS);
+        }
+
+        public int compareTo(Delayed other) {
+            if (other == this) {
+                return 0;
+            }
+            if (other instanceof ClockTask) {
+                ClockTask<?> task = (ClockTask<?>) other;
+                if (time != task.time) {
+                    return time < task.time ? -1 : 1;
+                }
+                return sequence < task.sequence ? -1 : 1;
+            }
+            long d = getDelay(TimeUnit.NANOSECONDS) - other.getDelay(TimeUnit.NANOSECONDS);
+            return d < 0 ? -1 : d > 0 ? 1 : 0;
+        }
+
+        public boolean isPeriodic() {
+            return period != 0;
+        }
+
+        @Override
+        public void run() {
+            if (!isPeriodic()) {
+                super.run();
+            } else if (runAndReset()) {
+                time = period > 0 ? time + period : now() - period;
+                if (!reschedule(this)) {
+                    cancel(false);
+                }
+            }
+        }
+
+        /**
+         * Completes the task with an error, without running it.
+         */
+        void fail(Throwable cause) {
+            setException(cause);
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            if (cancelled) {
+                remove(this);
+            }
+            return cancelled;
+        }
+    }
+
+    /**
+     * Creates a scheduler running its tasks one at a time, in time order, on
+     * the shared GStreamer executor.
+     *
+     * @param clock the clock to measure time on.
+     */
+    public ClockScheduler(Clock clock) {
+        this(clock, new SerialExecutor(Gst.getExecutor()));
+    }
+
+    /**
+     * Creates a scheduler running its tasks on the given executor.
+     * <p>
+     * An executor that runs tasks in the calling thread runs them on the
+     * clock's own thread, with the least delay; such tasks must be short and
+     * must not wait on the pipeline.
+     *
+     * @param clock the clock to measure time on.
+     * @param executor the executor to run the tasks on.
+     */
+    public ClockScheduler(Clock clock, Executor executor) {
+        this.clock = clock;
+        this.executor = executor;
+    }
+
+    /**
+     * Gets the clock this scheduler measures time on.
+     */
+    public Clock getClock() {
+        return clock;
+    }
+
+    /**
+     * Gets the current time of the clock, in nanoseconds.
+     */
+    public long now() {
+        return GstClockAPI.GSTCLOCK_API.ptr_gst_clock_get_time(clock);
+    }
+
+    /**
+     * Runs a task when the clock reaches a time.
+     *
+     * @param command the task to run.
+     * @param clockTime the time of the clock, in nanoseconds.
+     * @return a future to cancel the task with.
+     */
+    public ScheduledFuture<?> scheduleAt(Runnable command, long clockTime) {
+        if (command == null) {
+            throw new NullPointerException();
+        }
+        return schedule(new ClockTask<Object>(command, null, clockTime, 0));
+    }
+
+    /**
+     * Calls a task when the clock reaches a time.
+     *
+     * @param callable the task to call.
+     * @param clockTime the time of the clock, in nanoseconds.
+     * @return a future to get the result of the task with.
+     */
+    public <V> ScheduledFuture<V> scheduleAt(Callable<V> callable, long clockTime) {
+        if (callable == null) {
+            throw new NullPointerException();
+        }
+        return schedule(new ClockTask<V>(callable, clockTime));
+    }
+
+    public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+        return scheduleAt(command, now() + unit.toNanos(Math.max(0, delay)));
+    }
+
+    public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+        return scheduleAt(callable, now() + unit.toNanos(Math.max(0, delay)));
+    }
+
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+        if (command == null) {
+            throw new NullPointerException();
+        }
+        if (period <= 0) {
+            throw new IllegalArgumentException("period must be positive");
+        }
+        return schedule(new ClockTask<Object>(command, null,
+                now() + unit.toNanos(Math.max(0, initialDelay)), unit.toNanos(period)));
+    }
+
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+        if (command == null) {
+            throw new NullPointerException();
+        }
+        if (delay <= 0) {
+            throw new IllegalArgumentException("delay must be positive");
+        }
+        return schedule(new ClockTask<Object>(command, null,
+                now() + unit.toNanos(Math.max(0, initialDelay)), -unit.toNanos(delay)));
+    }
+
+    public void execute(Runnable command) {
+        schedule(command, 0, TimeUnit.NANOSECONDS);
+    }
+
+    private <V> ClockTask<V> schedule(ClockTask<V> task) {
+        if (!reschedule(task)) {
+            throw new RejectedExecutionException("ClockScheduler has been shut down");
+        }
+        return task;
+    }
+
+    private synchronized boolean reschedule(ClockTask<?> task) {
+        if (shutdown) {
+            return false;
+        }
+        queue.add(task);
+        arm();
+        return true;
+    }
+
+    private synchronized void remove(ClockTask<?> task) {
+        if (queue.remove(task)) {
+            arm();
+        }
+        if (shutdown && queue.isEmpty()) {
+            notifyAll();
+        }
+    }
+
+    /**
+     * Makes sure the native wait is for the earliest task.  Called with the
+     * lock held.
+     */
+    private void arm() {
+        ClockTask<?> first = queue.peek();
+        if (armedId != null) {
+            if (first != null && first.time >= armedTime) {
+                return;
+            }
+            // The earliest task changed; start over
+            Pointer id = armedId;
+            armedId = null;
+            armed.remove(id);
+            gst.ptr_gst_clock_id_unschedule(id);
+            gst.ptr_gst_clock_id_unref(id);
+        }
+        while ((first = queue.peek()) != null) {
+            Pointer id = gst.ptr_gst_clock_new_single_shot_id(clock, first.time);
+            armedId = id;
+            armedTime = first.time;
+            armed.put(id, this);
+            ClockReturn ret = gst.ptr_gst_clock_id_wait_async(id, callback, null);
+            if (ret == ClockReturn.OK) {
+                return;
+            }
+            // A time in the past fires at once, so this is a bad time or a
+            // clock that cannot wait; retrying would fail the same way.
+            armedId = null;
+            armed.remove(id);
+            gst.ptr_gst_clock_id_unref(id);
+            queue.poll();
+            first.fail(new IllegalStateException("Could not wait for clock time "
+                    + first.time + ": " + ret));
+            if (shutdown && queue.isEmpty()) {
+                notifyAll();
+            }
+        }
+    }
+
+    private void fired(Pointer id) {
+        List<ClockTask<?>> due = new ArrayList<ClockTask<?>>();
+        synchronized (this) {
+            if (!id.equals(armedId)) {
+                // An unscheduled wait, already replaced
+                return;
+            }
+            armedId = null;
+            armed.remove(id);
+            gst.ptr_gst_clock_id_unref(id);
+            long now = now();
+            ClockTask<?> task;
+            while ((task = queue.peek()) != null && task.time <= now) {
+                due.add(queue.poll());
+            }
+            arm();
+            if (shutdown && queue.isEmpty()) {
+                notifyAll();
+            }
+        }
+        for (ClockTask<?> task : due) {
+            try {
+                executor.execute(task);
+            } catch (RejectedExecutionException ex) {
+                logger.log(Level.WARNING, "Could not run scheduled task", ex);
+                task.cancel(false);
+            }
+        }
+    }
+
+    /**
+     * Gets the number of tasks waiting for their time.
+     */
+    public synchronized int getQueueSize() {
+        return queue.size();
+    }
+
+    /**
+     * Stops accepting tasks and cancels the periodic ones; one shot tasks
+     * still run at their time.
+     */
+    public synchronized void shutdown() {
+        shutdown = true;
+        for (ClockTask<?> task : queue.toArray(new ClockTask<?>[0])) {
+            if (task.isPeriodic()) {
+                queue.remove(task);
+                task.cancel(false);
+            }
+        }
+        arm();
+        if (queue.isEmpty()) {
+            notifyAll();
+        }
+    }
+
+    /**
+     * Stops accepting tasks and cancels all those waiting.
+     *
+     * @return the tasks that were waiting.
+     */
+    public synchronized List<Runnable> shutdownNow() {
+        shutdown = true;
+        List<Runnable> pending = new ArrayList<Runnable>(queue);
+        queue.clear();
+        arm();
+        for (Runnable task : pending) {
+            ((ClockTask<?>) task).cancel(false);
+        }
+        notifyAll();
+        return pending;
+    }
+
+    public synchronized boolean isShutdown() {
+        return shutdown;
+    }
+
+    public synchronized boolean isTerminated() {
+        return shutdown && queue.isEmpty();
+    }
+
+    public synchronized boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (!isTerminated()) {
+            long left = deadline - System.nanoTime();
+            if (left <= 0) {
+                return false;
+            }
+            TimeUnit.NANOSECONDS.timedWait(this, left);
+        }
+        return true;
+    }
+}
@@ -334,6 +334,17 @@ public class Element extends GstObject {
     public List<Pad> getSinkPads() {
         return new GstIterator<Pad>(gst.gst_element_iterate_sink_pads(this), Pad.class).asList();
     }
+
+    /**
+     * Calls a {@link Visitor} for each of the element's pads, without
+     * building a list of them.
+     *
+     * @param visitor the visitor to call; it can stop the walk by returning false.
+     * @return false if the visitor stopped the walk, true otherwise.
+     */
+    public boolean forEachPad(Visitor<? super Pad> visitor) {
+        return new GstIterator<Pad>(gst.gst_element_iterate_pads(this), Pad.class).forEach(visitor);
+    }
     /**
      * Adds a {@link Pad} (link point) to the Element. 
      * The Pad's parent will be set to this element.
@@ -18,9 +18,10 @@
 
 package org.gstreamer;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -49,7 +50,22 @@ public class ElementFactory extends PluginFeature {
     private static Level DEBUG = Level.FINE;
 
     private static final Map<String, Class<? extends Element>> typeMap
-        = new HashMap<String, Class<? extends Element>>();
+        = new ConcurrentHashMap<String, Class<? extends Element>>();
+    /** Classes registered by name, loaded the first time such an element is made */
+    private static final Map<String, String> lazyTypeMap
+        = new ConcurrentHashMap<String, String>();
+    /** Factories already looked up, until the registry changes */
+    private static final ConcurrentMap<String, ElementFactory> factories
+        = new ConcurrentHashMap<String, ElementFactory>();
+    private static Registry watchedRegistry;
+    private static final Registry.FEATURE_ADDED featureAdded = new Registry.FEATURE_ADDED() {
+        public void featureAdded(Registry registry, PluginFeature feature) {
+            invalidateCache();
+        }
+    };
+
+    /** The class of the elements this factory creates, once known */
+    private volatile Class<? extends Element> elementClass;
 
     public static final String GTYPE_NAME = "GstElementFactory";
     
@@ -62,6 +78,40 @@ public class ElementFactory extends PluginFeature {
      */    
     public static void registerElement(Class<? extends Element> klass, String name) {
    		typeMap.put(name, klass);
+   		lazyTypeMap.remove(name);
+   		ElementFactory factory = factories.get(name);
+   		if (factory != null) {
+   		    factory.elementClass = null;
+   		}
+    }
+
+    /**
+     * Register a class by name into the typeMap, without loading it.
+     */
+    static void registerElement(String className, String name) {
+        if (!typeMap.containsKey(name)) {
+            lazyTypeMap.put(name, className);
+        }
+    }
+
+    private static Class<? extends Element> elementClassFor(String factoryName) {
+        Class<? extends Element> cls = typeMap.get(factoryName);
+        if (cls != null) {
+            return cls;
+        }
+        String className = lazyTypeMap.get(factoryName);
+        if (className == null) {
+            return null;
+        }
+        try {
+            cls = Class.forName(className, true, ElementFactory.class.getClassLoader())
+                    .asSubclass(Element.class);
+            registerElement(cls, factoryName);
+        } catch (ClassNotFoundException ex) {
+            logger.warning("Could not load " + className + " for " + factoryName);
+            lazyTypeMap.remove(factoryName);
+        }
+        return cls;
     }
     
     /**
@@ -73,11 +123,50 @@ public class ElementFactory extends PluginFeature {
      */
     public static ElementFactory find(String name) {
         logger.entering("ElementFactory", "find", name);
-        ElementFactory factory = gst.gst_element_factory_find(name);
+        ElementFactory factory = factories.get(name);
+        if (factory != null) {
+            return factory;
+        }
+        factory = gst.gst_element_factory_find(name);
         if (factory == null) {
             throw new IllegalArgumentException("No such Gstreamer factory: " + name);
         }        
-        return factory;
+        watchRegistry();
+        ElementFactory existing = factories.putIfAbsent(name, factory);
+        return existing != null ? existing : factory;
+    }
+
+    /**
+     * Forgets the factories found so far, so they are looked up again.
+     * <p>
+     * This is done when a feature is added to, or a plugin removed from, the
+     * default registry.
+     */
+    static void invalidateCache() {
+        for (ElementFactory factory : factories.values()) {
+            factory.elementClass = null;
+        }
+        factories.clear();
+    }
+
+    private static synchronized void watchRegistry() {
+        if (watchedRegistry != null) {
+            return;
+        }
+        // Keep the registry proxy, so the signal stays connected
+        watchedRegistry = Registry.getDefault();
+        watchedRegistry.connect(featureAdded);
+        Gst.addStaticShutdownTask(new Runnable() {
+            public void run() {
+                synchronized (ElementFactory.class) {
+                    if (watchedRegistry != null) {
+                        watchedRegistry.disconnect(featureAdded);
+                        watchedRegistry = null;
+                    }
+                }
+                invalidateCache();
+            }
+        });
     }
     
     /**
@@ -89,7 +178,7 @@ public class ElementFactory extends PluginFeature {
      */
     public static Element make(String factoryName, String name) {        
         logger.entering("ElementFactory", "make", new Object[] { factoryName, name});
-        return elementFor(makeRawElement(factoryName, name), factoryName);
+        return find(factoryName).create(name);
     }
 
     /**
@@ -209,11 +298,10 @@ public class ElementFactory extends PluginFeature {
     }
     
     @SuppressWarnings("unchecked")
-    private static Element elementFor(Pointer ptr, String factoryName) {
-        Class<? extends Element> cls = typeMap.get(factoryName);
+    private static Class<? extends Element> elementClassFor(Pointer ptr, String factoryName) {
+        Class<? extends Element> cls = elementClassFor(factoryName);
         cls = (cls == null) ? (Class<Element>)GstTypes.classFor(ptr) : cls;
-        cls = (cls == null || !Element.class.isAssignableFrom(cls)) ? Element.class : cls;
-        return NativeObject.objectFor(ptr, cls);
+        return (cls == null || !Element.class.isAssignableFrom(cls)) ? Element.class : cls;
     }
 
 	/**
@@ -238,7 +326,39 @@ public class ElementFactory extends PluginFeature {
         if (elem == null) {
             throw new IllegalArgumentException("Cannot create GstElement");
         }
-        return elementFor(elem, getName());
+        // All the elements of a factory have the same class, so find it once
+        Class<? extends Element> cls = elementClass;
+        if (cls == null) {
+            elementClass = cls = elementClassFor(elem, getName());
+        }
+        return NativeObject.objectFor(elem, cls);
+    }
+
+    /**
+     * Creates new elements from the factory, with names chosen by GStreamer.
+     *
+     * @param count the number of elements to create.
+     * @return the new elements.
+     */
+    public List<Element> createMany(int count) {
+        return createMany(null, count);
+    }
+
+    /**
+     * Creates new elements from the factory, named <tt>prefix0</tt>,
+     * <tt>prefix1</tt> and so on.
+     *
+     * @param prefix the prefix of the names, or null to let GStreamer choose
+     * the names.
+     * @param count the number of elements to create.
+     * @return the new elements.
+     */
+    public List<Element> createMany(String prefix, int count) {
+        List<Element> elements = new ArrayList<Element>(count);
+        for (int i = 0; i < count; ++i) {
+            elements.add(create(prefix != null ? prefix + i : null));
+        }
+        return elements;
     }
     /**
      * Returns the name of the person who wrote the factory.
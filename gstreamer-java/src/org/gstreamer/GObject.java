@@ -44,6 +44,7 @@ import org.gstreamer.lowlevel.GObjectAPI.GParamSpec;
 import org.gstreamer.lowlevel.GSignalAPI;
 import org.gstreamer.lowlevel.GType;
 import org.gstreamer.lowlevel.GValueAPI.GValue;
+import org.gstreamer.lowlevel.GValueArena;
 import org.gstreamer.lowlevel.GstAPI.GstCallback;
 import org.gstreamer.lowlevel.GstTypes;
 import org.gstreamer.lowlevel.IntPtr;
@@ -111,66 +112,68 @@ public abstract class GObject extends RefCountedObject {
         }
         final GType propType = propertySpec.value_type;
         
-        GValue propValue = new GValue();
-        GVALUE_API.g_value_init(propValue, propType);
-        if (propType.equals(GType.INT)) {
-            GVALUE_API.g_value_set_int(propValue, intValue(data));
-        } else if (propType.equals(GType.UINT)) {
-            GVALUE_API.g_value_set_uint(propValue, intValue(data));
-        } else if (propType.equals(GType.CHAR)) {
-            GVALUE_API.g_value_set_char(propValue, (byte) intValue(data));
-        } else if (propType.equals(GType.UCHAR)) {
-            GVALUE_API.g_value_set_uchar(propValue, (byte) intValue(data));
-        } else if (propType.equals(GType.LONG)) {
-            GVALUE_API.g_value_set_long(propValue, new NativeLong(longValue(data)));
-        } else if (propType.equals(GType.ULONG)) {
-            GVALUE_API.g_value_set_ulong(propValue, new NativeLong(longValue(data)));
-        } else if (propType.equals(GType.INT64)) {
-            GVALUE_API.g_value_set_int64(propValue, longValue(data));
-        } else if (propType.equals(GType.UINT64)) {
-            GVALUE_API.g_value_set_uint64(propValue, longValue(data));
-        } else if (propType.equals(GType.BOOLEAN)) {
-            GVALUE_API.g_value_set_boolean(propValue, booleanValue(data));
-        } else if (propType.equals(GType.FLOAT)) {
-            GVALUE_API.g_value_set_float(propValue, floatValue(data));
-        } else if (propType.equals(GType.DOUBLE)) {
-            GVALUE_API.g_value_set_double(propValue, doubleValue(data));
-        } else if (propType.equals(GType.STRING)) {
-            //
-            // Special conversion of java URI to gstreamer compatible uri
-            //
-            if (data instanceof URI) {
-                URI uri = (URI) data;
-                String uriString = uri.toString();
-                // Need to fixup file:/ to be file:/// for gstreamer
-                if ("file".equals(uri.getScheme()) && uri.getHost() == null) {
-                    final String path = uri.getRawPath();
-                    uriString = "file://" + path;
+        GValue propValue = GValueArena.acquire(propType);
+        try {
+            if (propType.equals(GType.INT)) {
+                GVALUE_API.g_value_set_int(propValue, intValue(data));
+            } else if (propType.equals(GType.UINT)) {
+                GVALUE_API.g_value_set_uint(propValue, intValue(data));
+            } else if (propType.equals(GType.CHAR)) {
+                GVALUE_API.g_value_set_char(propValue, (byte) intValue(data));
+            } else if (propType.equals(GType.UCHAR)) {
+                GVALUE_API.g_value_set_uchar(propValue, (byte) intValue(data));
+            } else if (propType.equals(GType.LONG)) {
+                GVALUE_API.g_value_set_long(propValue, new NativeLong(longValue(data)));
+            } else if (propType.equals(GType.ULONG)) {
+                GVALUE_API.g_value_set_ulong(propValue, new NativeLong(longValue(data)));
+            } else if (propType.equals(GType.INT64)) {
+                GVALUE_API.g_value_set_int64(propValue, longValue(data));
+            } else if (propType.equals(GType.UINT64)) {
+                GVALUE_API.g_value_set_uint64(propValue, longValue(data));
+            } else if (propType.equals(GType.BOOLEAN)) {
+                GVALUE_API.g_value_set_boolean(propValue, booleanValue(data));
+            } else if (propType.equals(GType.FLOAT)) {
+                GVALUE_API.g_value_set_float(propValue, floatValue(data));
+            } else if (propType.equals(GType.DOUBLE)) {
+                GVALUE_API.g_value_set_double(propValue, doubleValue(data));
+            } else if (propType.equals(GType.STRING)) {
+                //
+                // Special conversion of java URI to gstreamer compatible uri
+                //
+                if (data instanceof URI) {
+                    URI uri = (URI) data;
+                    String uriString = uri.toString();
+                    // Need to fixup file:/ to be file:/// for gstreamer
+                    if ("file".equals(uri.getScheme()) && uri.getHost() == null) {
+                        final String path = uri.getRawPath();
+                        uriString = "file://" + path;
+                    }
+                    GVALUE_API.g_value_set_string(propValue, uriString);
+                } else {
+                    GVALUE_API.g_value_set_string(propValue, data.toString());
                 }
-                GVALUE_API.g_value_set_string(propValue, uriString);
+            } else if (propType.equals(GType.OBJECT)) {
+                GVALUE_API.g_value_set_object(propValue, (GObject) data);
+            } else if (GVALUE_API.g_value_type_transformable(GType.INT64, propType)) {
+                transform(data, GType.INT64, propValue);
+            } else if (GVALUE_API.g_value_type_transformable(GType.LONG, propType)) {
+                transform(data, GType.LONG, propValue);
+            } else if (GVALUE_API.g_value_type_transformable(GType.INT, propType)) {
+                transform(data, GType.INT, propValue);
+            } else if (GVALUE_API.g_value_type_transformable(GType.DOUBLE, propType)) {
+                transform(data, GType.DOUBLE, propValue);
+            } else if (GVALUE_API.g_value_type_transformable(GType.FLOAT, propType)) {
+                transform(data, GType.FLOAT, propValue);
             } else {
-                GVALUE_API.g_value_set_string(propValue, data.toString());
+                // Old behaviour
+                GOBJECT_API.g_object_set(this, property, data);
+                return;
             }
-        } else if (propType.equals(GType.OBJECT)) {
-            GVALUE_API.g_value_set_object(propValue, (GObject) data);
-        } else if (GVALUE_API.g_value_type_transformable(GType.INT64, propType)) {
-            transform(data, GType.INT64, propValue);
-        } else if (GVALUE_API.g_value_type_transformable(GType.LONG, propType)) {
-            transform(data, GType.LONG, propValue);
-        } else if (GVALUE_API.g_value_type_transformable(GType.INT, propType)) {
-            transform(data, GType.INT, propValue);
-        } else if (GVALUE_API.g_value_type_transformable(GType.DOUBLE, propType)) {
-            transform(data, GType.DOUBLE, propValue);
-        } else if (GVALUE_API.g_value_type_transformable(GType.FLOAT, propType)) {
-            transform(data, GType.FLOAT, propValue);
-        } else {
-            // Old behaviour
-            GOBJECT_API.g_object_set(this, property, data);
-            return;
+            GOBJECT_API.g_param_value_validate(propertySpec, propValue); 
+            GOBJECT_API.g_object_set_property(this, property, propValue);
+        } finally {
+            GValueArena.release(propValue);
         }
-        GOBJECT_API.g_param_value_validate(propertySpec, propValue); 
-        GOBJECT_API.g_object_set_property(this, property, propValue);
-        GVALUE_API.g_value_unset(propValue); // Release any memory
     }
 
     /**
@@ -229,48 +232,69 @@ public abstract class GObject extends RefCountedObject {
             throw new IllegalArgumentException("Unknown property: " + property);
         }
         final GType propType = propertySpec.value_type;
-        GValue propValue = new GValue();
-        GVALUE_API.g_value_init(propValue, propType);
-        GOBJECT_API.g_object_get_property(this, property, propValue);
-        if (propType.equals(GType.INT)) {
-            return GVALUE_API.g_value_get_int(propValue);
-        } else if (propType.equals(GType.UINT)) {
-            return GVALUE_API.g_value_get_uint(propValue);
-        } else if (propType.equals(GType.CHAR)) {
-            return Integer.valueOf(GVALUE_API.g_value_get_char(propValue));
-        } else if (propType.equals(GType.UCHAR)) {
-            return Integer.valueOf(GVALUE_API.g_value_get_uchar(propValue));
-        } else if (propType.equals(GType.LONG)) {
-            return GVALUE_API.g_value_get_long(propValue).longValue();
-        } else if (propType.equals(GType.ULONG)) {
-            return GVALUE_API.g_value_get_ulong(propValue).longValue();
-        } else if (propType.equals(GType.INT64)) {
-            return GVALUE_API.g_value_get_int64(propValue);
-        } else if (propType.equals(GType.UINT64)) {
-            return GVALUE_API.g_value_get_uint64(propValue);
-        } else if (propType.equals(GType.BOOLEAN)) {
-            return GVALUE_API.g_value_get_boolean(propValue);
-        } else if (propType.equals(GType.FLOAT)) {
-            return GVALUE_API.g_value_get_float(propValue);
-        } else if (propType.equals(GType.DOUBLE)) {
-            return GVALUE_API.g_value_get_double(propValue);
-        } else if (propType.equals(GType.STRING)) {
-            return GVALUE_API.g_value_get_string(propValue);
-        } else if (propType.equals(GType.OBJECT)) {
-            return GVALUE_API.g_value_dup_object(propValue);
-        } else if (GVALUE_API.g_value_type_transformable(propType, GType.OBJECT)) {
-            return GVALUE_API.g_value_dup_object(transform(propValue, GType.OBJECT));
-        } else if (GVALUE_API.g_value_type_transformable(propType, GType.INT)) {
-            return GVALUE_API.g_value_get_int(transform(propValue, GType.INT));
-        } else if (GVALUE_API.g_value_type_transformable(propType, GType.INT64)) {
-            return GVALUE_API.g_value_get_int64(transform(propValue, GType.INT64));
-        } else if (propValue.checkHolds(GType.BOXED)) {
+        GValue propValue = GValueArena.acquire(propType);
+        try {
+            GOBJECT_API.g_object_get_property(this, property, propValue);
+            if (propType.equals(GType.INT)) {
+                return GVALUE_API.g_value_get_int(propValue);
+            } else if (propType.equals(GType.UINT)) {
+                return GVALUE_API.g_value_get_uint(propValue);
+            } else if (propType.equals(GType.CHAR)) {
+                return Integer.valueOf(GVALUE_API.g_value_get_char(propValue));
+            } else if (propType.equals(GType.UCHAR)) {
+                return Integer.valueOf(GVALUE_API.g_value_get_uchar(propValue));
+            } else if (propType.equals(GType.LONG)) {
+                return GVALUE_API.g_value_get_long(propValue).longValue();
+            } else if (propType.equals(GType.ULONG)) {
+                return GVALUE_API.g_value_get_ulong(propValue).longValue();
+            } else if (propType.equals(GType.INT64)) {
+                return GVALUE_API.g_value_get_int64(propValue);
+            } else if (propType.equals(GType.UINT64)) {
+                return GVALUE_API.g_value_get_uint64(propValue);
+            } else if (propType.equals(GType.BOOLEAN)) {
+                return GVALUE_API.g_value_get_boolean(propValue);
+            } else if (propType.equals(GType.FLOAT)) {
+                return GVALUE_API.g_value_get_float(propValue);
+            } else if (propType.equals(GType.DOUBLE)) {
+                return GVALUE_API.g_value_get_double(propValue);
+            } else if (propType.equals(GType.STRING)) {
+                return GVALUE_API.g_value_get_string(propValue);
+            } else if (propType.equals(GType.OBJECT)) {
+                return GVALUE_API.g_value_dup_object(propValue);
+            } else if (GVALUE_API.g_value_type_transformable(propType, GType.OBJECT)) {
+                GValue value = transform(propValue, GType.OBJECT);
+                try {
+                    return GVALUE_API.g_value_dup_object(value);
+                } finally {
+                    GValueArena.release(value);
+                }
+            } else if (GVALUE_API.g_value_type_transformable(propType, GType.INT)) {
+                GValue value = transform(propValue, GType.INT);
+                try {
+                    return GVALUE_API.g_value_get_int(value);
+                } finally {
+                    GValueArena.release(value);
+                }
+            } else if (GVALUE_API.g_value_type_transformable(propType, GType.INT64)) {
+                GValue value = transform(propValue, GType.INT64);
+                try {
+                    return GVALUE_API.g_value_get_int64(value);
+                } finally {
+                    GValueArena.release(value);
+                }
+            } else if (propValue.checkHolds(GType.BOXED)) {
                 Class<? extends NativeObject> cls = GstTypes.classFor(propType);
                 if (cls != null) {
                     Pointer ptr = GVALUE_API.g_value_get_boxed(propValue);
-                    return objectFor(ptr, cls, -1, true);
+                    Object result = objectFor(ptr, cls, -1, true);
+                    // The returned object has taken over the boxed value
+                    GValueArena.forget(propValue);
+                    return result;
                 }
-        }      
+            }
+        } finally {
+            GValueArena.release(propValue);
+        }
         throw new IllegalArgumentException("Unknown conversion from GType=" + propType);
     }
     
@@ -327,17 +351,20 @@ public abstract class GObject extends RefCountedObject {
         return ptr;
     }
     
+    /** The returned value must be released with {@link GValueArena#release} */
     private static GValue transform(GValue src, GType dstType) {
-        GValue dst = new GValue();
-        GVALUE_API.g_value_init(dst, dstType);
+        GValue dst = GValueArena.acquire(dstType);
         GVALUE_API.g_value_transform(src, dst);
         return dst;
     }
     private static void transform(Object data, GType type, GValue dst) {
-        GValue src = new GValue();
-        GVALUE_API.g_value_init(src, type);
-        setGValue(src, type, data);
-        GVALUE_API.g_value_transform(src, dst);
+        GValue src = GValueArena.acquire(type);
+        try {
+            setGValue(src, type, data);
+            GVALUE_API.g_value_transform(src, dst);
+        } finally {
+            GValueArena.release(src);
+        }
     }
     // TODO: set code merge
     private static boolean setGValue(GValue value, GType type, Object data) {
@@ -534,9 +561,18 @@ public abstract class GObject extends RefCountedObject {
         removeCallback(listenerClass, listener);
     }
     private final class ClosureProxy implements GSignalAPI.GSignalCallbackProxy {
+        private static final int CONVERT_NONE = 0;
+        private static final int CONVERT_CLOCKTIME = 1;
+        private static final int CONVERT_OBJECT = 2;
+        private static final int CONVERT_ENUM = 3;
+        private static final int CONVERT_STRING = 4;
+        private static final int CONVERT_BOOLEAN = 5;
+
         private final Closure closure;
         private final Method method;
         private final Class<?>[] parameterTypes;
+        private final Class<?>[] javaTypes;
+        private final int[] conversions;
         NativeLong id;
         
         protected ClosureProxy(String signal, Closure closure) {
@@ -559,23 +595,35 @@ public abstract class GObject extends RefCountedObject {
             // The closure does not have a 'user_data' pointer, so push it in as the 
             // last arg.  The last arg will be dropped later in callback()
             //
-            parameterTypes = new Class[method.getParameterTypes().length + 1];
+            // The conversion of each argument is worked out once here, rather
+            // than on every emission.
+            //
+            javaTypes = method.getParameterTypes();
+            conversions = new int[javaTypes.length];
+            parameterTypes = new Class[javaTypes.length + 1];
             parameterTypes[parameterTypes.length - 1] = Pointer.class;
-            for (int i = 0; i < method.getParameterTypes().length; ++i) {
-                Class<?> paramType = method.getParameterTypes()[i];
+            for (int i = 0; i < javaTypes.length; ++i) {
+                Class<?> paramType = javaTypes[i];
                 Class<?> nativeType = paramType;
+                int conversion = CONVERT_NONE;
                 if (ClockTime.class.isAssignableFrom(paramType)) {
                     nativeType = long.class;
+                    conversion = CONVERT_CLOCKTIME;
                 } else if (NativeObject.class.isAssignableFrom(paramType)) {
                     nativeType = Pointer.class;
+                    conversion = CONVERT_OBJECT;
                 } else if (Enum.class.isAssignableFrom(paramType)) {
                     nativeType = int.class;
+                    conversion = CONVERT_ENUM;
                 } else if (String.class.isAssignableFrom(paramType)) {
                     nativeType = Pointer.class;
+                    conversion = CONVERT_STRING;
                 } else if (Boolean.class.isAssignableFrom(paramType)) {
                     nativeType = int.class;
+                    conversion = CONVERT_BOOLEAN;
                 }
                 parameterTypes[i] = nativeType;
+                conversions[i] = conversion;
             }
             NativeLong connectID = GSIGNAL_API.g_signal_connect_data(GObject.this, 
                     signal, this, null, null, 0);
@@ -603,27 +651,34 @@ public abstract class GObject extends RefCountedObject {
                 Object[] methodParameters = new Object[parameters.length - 1];
             
                 for (int i = 0; i < methodParameters.length; ++i) {
-                    Class paramType = method.getParameterTypes()[i];
+                    Class paramType = javaTypes[i];
                     Object nativeParam = parameters[i];
-                    Object javaParam = nativeParam;
+                    Object javaParam;
                     if (nativeParam == null) {
                         continue;
                     }
-                    if (ClockTime.class.isAssignableFrom(paramType)) {
+                    switch (conversions[i]) {
+                    case CONVERT_CLOCKTIME:
                         javaParam = ClockTime.valueOf((Long) nativeParam, 
                                 TimeUnit.NANOSECONDS);
-                    } else if (NativeObject.class.isAssignableFrom(paramType)) {
+                        break;
+                    case CONVERT_OBJECT:
                         javaParam = objectFor((Pointer) nativeParam, 
                                 paramType, 1, true);
-                    } else if (Enum.class.isAssignableFrom(paramType)) {
+                        break;
+                    case CONVERT_ENUM:
                         javaParam = EnumMapper.getInstance().valueOf((Integer) nativeParam, 
                                 paramType);
-                    } else if (String.class.isAssignableFrom(paramType)) {
+                        break;
+                    case CONVERT_STRING:
                         javaParam = ((Pointer) nativeParam).getString(0);
-                    } else if (Boolean.class.isAssignableFrom(paramType)) {
+                        break;
+                    case CONVERT_BOOLEAN:
                         javaParam = Boolean.valueOf(((Integer) nativeParam).intValue() != 0);
-                    } else {
+                        break;
+                    default:
                         javaParam = nativeParam;
+                        break;
                     }
                     methodParameters[i] = javaParam;
                 }
@@ -20,6 +20,7 @@ package org.gstreamer;
 
 
 import java.lang.reflect.Field;
+import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -35,46 +36,10 @@ import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
-import org.gstreamer.elements.AppSink;
-import org.gstreamer.elements.AppSrc;
-import org.gstreamer.elements.BaseSink;
-import org.gstreamer.elements.BaseSrc;
-import org.gstreamer.elements.BaseTransform;
-import org.gstreamer.elements.DecodeBin;
-import org.gstreamer.elements.DecodeBin2;
-import org.gstreamer.elements.FakeSink;
-import org.gstreamer.elements.FakeSrc;
-import org.gstreamer.elements.FileSink;
-import org.gstreamer.elements.FileSrc;
-import org.gstreamer.elements.Identity;
-import org.gstreamer.elements.InputSelector;
-import org.gstreamer.elements.MultiFdSink;
-import org.gstreamer.elements.MultiQueue;
-import org.gstreamer.elements.OSXVideoSink;
-import org.gstreamer.elements.PlayBin;
-import org.gstreamer.elements.PlayBin2;
-import org.gstreamer.elements.Queue;
-import org.gstreamer.elements.Queue2;
-import org.gstreamer.elements.ShmSink;
-import org.gstreamer.elements.ShmSrc;
-import org.gstreamer.elements.TCPServerSink;
-import org.gstreamer.elements.Tee;
-import org.gstreamer.elements.TypeFind;
-import org.gstreamer.elements.good.RTPBin;
-import org.gstreamer.elements.good.RTSPSrc;
-import org.gstreamer.glib.GDate;
 import org.gstreamer.glib.MainContextExecutorService;
-import org.gstreamer.interfaces.ColorBalanceChannel;
-import org.gstreamer.interfaces.MixerTrack;
-import org.gstreamer.interfaces.TunerChannel;
-import org.gstreamer.interfaces.TunerNorm;
 import org.gstreamer.lowlevel.GMainContext;
-import org.gstreamer.lowlevel.GValueAPI.GValue;
-import org.gstreamer.lowlevel.GValueAPI.GValueArray;
 import org.gstreamer.lowlevel.GstAPI;
 import org.gstreamer.lowlevel.GstAPI.GErrorStruct;
-import org.gstreamer.lowlevel.GstControlSourceAPI.TimedValue;
-import org.gstreamer.lowlevel.GstControlSourceAPI.ValueArray;
 import org.gstreamer.lowlevel.GstNative;
 import org.gstreamer.lowlevel.GstTypes;
 import org.gstreamer.lowlevel.NativeObject;
@@ -93,6 +58,10 @@ public final class Gst {
 	private static Logger logger = Logger.getLogger(Gst.class.getName());
     
     private static ScheduledExecutorService executorService;
+    private static ExecutorService dispatchService;
+    private static int dispatchThreads = 0;
+    private static boolean useVirtualThreads = false;
+    private static boolean virtualDispatch = false;
     private static volatile CountDownLatch quit = new CountDownLatch(1);
     private static GMainContext mainContext;
     private static boolean useDefaultContext = false;
@@ -219,6 +188,18 @@ public final class Gst {
         return executorService;
     }
     
+    /**
+     * Gets the {@code Executor} that {@link Bus} messages are dispatched on.
+     * <p> Each bus serializes its own messages on top of this executor, so it
+     * is safe for it to run tasks on several threads at once.
+     * 
+     * @return the dispatch executor.
+     */
+    static Executor getDispatchExecutor() {
+        ExecutorService service = dispatchService;
+        return service != null ? service : executorService;
+    }
+    
     /**
      * Signals the thread that called {@link #init} to return.
      */
@@ -334,6 +315,13 @@ public final class Gst {
             mainContext = new GMainContext();
             executorService = Executors.newSingleThreadScheduledExecutor(threadFactory);
         }
+        if (useVirtualThreads) {
+            dispatchService = newVirtualThreadExecutor();
+            virtualDispatch = dispatchService != null;
+        }
+        if (dispatchService == null && dispatchThreads > 0) {
+            dispatchService = Executors.newFixedThreadPool(dispatchThreads, threadFactory);
+        }
         quit = new CountDownLatch(1);
         loadAllClasses();
         return argv.toStringArray();
@@ -358,6 +346,9 @@ public final class Gst {
         
         // Stop any more tasks/timers from being scheduled
         executorService.shutdown();
+        if (dispatchService != null) {
+            dispatchService.shutdown();
+        }
         
         // Wake up the run thread.
         quit(); 
@@ -368,9 +359,14 @@ public final class Gst {
                 // Force-kill everything
                 executorService.shutdownNow();
             }
+            if (dispatchService != null && !dispatchService.awaitTermination(100, TimeUnit.MILLISECONDS)) {
+                dispatchService.shutdownNow();
+            }
         } catch (InterruptedException ex) {
         	ex.printStackTrace();
         }
+        dispatchService = null;
+        virtualDispatch = false;
         
         mainContext = null;
         System.gc(); // Make sure any dangling objects are unreffed before calling deinit().
@@ -404,6 +400,77 @@ public final class Gst {
         useDefaultContext = useDefault;
     }
     
+    /**
+     * Sets the number of threads used to dispatch {@link Bus} messages.
+     * <p>
+     * By default, messages from every bus are delivered on the single
+     * gstreamer service thread, so one slow listener delays the messages of
+     * every other pipeline.  With a positive thread count, each bus gets its
+     * own serial queue, multiplexed on a shared pool of this many threads.
+     * Messages from any one bus are still delivered in order, one at a time.
+     * <p>
+     * This must be called before {@link #init}.
+     * 
+     * @param threads the size of the dispatch pool, or 0 to dispatch on the
+     * gstreamer service thread.
+     */
+    public static void setDispatchThreads(int threads) {
+        if (threads < 0) {
+            throw new IllegalArgumentException("Invalid thread count: " + threads);
+        }
+        dispatchThreads = threads;
+    }
+    
+    /**
+     * Instructs gstreamer-java to dispatch {@link Bus} messages on virtual threads.
+     * <p>
+     * Each bus keeps its own serial message queue, and whenever that queue has
+     * messages waiting, they are delivered on a virtual thread of its own.
+     * Listeners may then block without holding up any other bus, and thousands
+     * of pipelines do not need a platform thread each.
+     * <p>
+     * Virtual threads are only available on newer java runtimes.  If the
+     * runtime does not support them, this setting is ignored and messages are
+     * dispatched as configured by {@link #setDispatchThreads}.
+     * <p>
+     * This must be called before {@link #init}.
+     * 
+     * @param useVirtual if true, use virtual threads when available.
+     * @see #isUsingVirtualThreads
+     */
+    public static void setUseVirtualThreads(boolean useVirtual) {
+        useVirtualThreads = useVirtual;
+    }
+    
+    /**
+     * Tests whether {@link Bus} messages are being dispatched on virtual threads.
+     * 
+     * @return true if virtual threads were requested and are supported by the
+     * java runtime.
+     */
+    public static boolean isUsingVirtualThreads() {
+        return virtualDispatch;
+    }
+    
+    /**
+     * Creates a thread-per-task executor using virtual threads, if the java
+     * runtime supports them.
+     * 
+     * @return a new executor, or null if virtual threads are not available.
+     */
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (NoSuchMethodException ex) {
+            logger.fine("Virtual threads not supported by this java runtime");
+        } catch (Exception ex) {
+            // e.g. virtual threads are a preview feature that is not enabled
+            logger.log(Level.FINE, "Virtual threads not available", ex);
+        }
+        return null;
+    }
+    
     // Make the gstreamer executor threads daemon, so they don't stop the main 
     // program from exiting
     private static final ThreadFactory threadFactory = new ThreadFactory() {
@@ -467,77 +534,95 @@ public final class Gst {
 
     @SuppressWarnings("unchecked")
     private static synchronized void loadAllClasses() {
-        for(Class<?> cls : nativeClasses)
-            registerClass((Class<? extends NativeObject>)cls);
+        if (Boolean.getBoolean("gstreamer.eagerRegistration")) {
+            for (String[] type : nativeTypes) {
+                try {
+                    registerClass((Class<? extends NativeObject>) Class.forName(type[0]));
+                } catch (ClassNotFoundException ex) {
+                    logger.warning("Could not load " + type[0]);
+                }
+            }
+            return;
+        }
+        // Register the classes by name only: loading and initializing them
+        // all, each with its own native library proxy, is most of the time
+        // spent in init.  A class is loaded when an object of its type is
+        // first wrapped, or an element of its factory first made.
+        for (String[] type : nativeTypes) {
+            GstTypes.registerType(type[0], type[1]);
+            if (type[2] != null) {
+                ElementFactory.registerElement(type[0], type[2]);
+            }
+        }
     }
-    // to generate the list we use:
+    // The class, GTYPE_NAME and GST_NAME of each type wrapped by a subclass.
+    // To generate the list we use:
     // egrep -rl "GST_NAME|GTYPE_NAME" src 2>/dev/null | egrep -v ".svn|Gst.java" | sort
-    // even though the best would be all subclasses of NativeObject
-    @SuppressWarnings("rawtypes")
-	private static Class[] nativeClasses = {
-		GDate.class,
-		GValue.class,
-		GValueArray.class,
-		TimedValue.class,
-		ValueArray.class,
-		ValueList.class,
+    // InitTest.testNativeTypesMatchClasses checks the names against the constants of the classes.
+    static final String[][] nativeTypes = {
+		{ "org.gstreamer.glib.GDate", "GstDate", null },
+		{ "org.gstreamer.lowlevel.GValueAPI$GValue", "GValue", null },
+		{ "org.gstreamer.lowlevel.GValueAPI$GValueArray", "GValueArray", null },
+		{ "org.gstreamer.lowlevel.GstControlSourceAPI$TimedValue", "GstTimedValue", null },
+		{ "org.gstreamer.lowlevel.GstControlSourceAPI$ValueArray", "GstValueArray", null },
+		{ "org.gstreamer.ValueList", "GstValueList", null },
 		// ----------- Interfaces -------------
-		ColorBalanceChannel.class,
-		MixerTrack.class,
-		TunerChannel.class,
-		TunerNorm.class,
+		{ "org.gstreamer.interfaces.ColorBalanceChannel", "GstColorBalanceChannel", null },
+		{ "org.gstreamer.interfaces.MixerTrack", "GstMixerTrack", null },
+		{ "org.gstreamer.interfaces.TunerChannel", "GstTunerChannel", null },
+		{ "org.gstreamer.interfaces.TunerNorm", "GstTunerNorm", null },
 		// ----------- Base -------------
-		Buffer.class,
-		Bus.class,
-		Caps.class,
-		Clock.class,
-		DateTime.class,
-		Element.class,
-		ElementFactory.class,
-		Event.class,
-		GhostPad.class,
-		Message.class,
-		Pad.class,
-		PadTemplate.class,
-		Plugin.class,
-		PluginFeature.class,
-		Query.class,
-		Range.class,
-		Registry.class,
+		{ "org.gstreamer.Buffer", "GstBuffer", null },
+		{ "org.gstreamer.Bus", "GstBus", null },
+		{ "org.gstreamer.Caps", "GstCaps", null },
+		{ "org.gstreamer.Clock", "GstClock", null },
+		{ "org.gstreamer.DateTime", "GstDateTime", null },
+		{ "org.gstreamer.Element", "GstElement", null },
+		{ "org.gstreamer.ElementFactory", "GstElementFactory", null },
+		{ "org.gstreamer.Event", "GstEvent", null },
+		{ "org.gstreamer.GhostPad", "GstGhostPad", null },
+		{ "org.gstreamer.Message", "GstMessage", null },
+		{ "org.gstreamer.Pad", "GstPad", null },
+		{ "org.gstreamer.PadTemplate", "GstPadTemplate", null },
+		{ "org.gstreamer.Plugin", "GstPlugin", null },
+		{ "org.gstreamer.PluginFeature", "GstPluginFeature", null },
+		{ "org.gstreamer.Query", "GstQuery", null },
+		// Range
+		{ "org.gstreamer.Registry", "GstRegistry", null },
 		// ----------- Elements -------------
-		AppSink.class,
-		AppSrc.class,
-		BaseSrc.class,
-		BaseSink.class,
-		BaseTransform.class,
-		Bin.class,
-		// CapsFilter.class;
-		DecodeBin.class,
-		DecodeBin2.class,
-		FakeSink.class,
-		FakeSrc.class,
-		// FdSink.class,
-		// FdSrc.class,
-		FileSink.class,
-		FileSrc.class,
-		// Funnel.class,
-		Identity.class,
-		InputSelector.class,
-		MultiFdSink.class,
-		MultiQueue.class,
-		OSXVideoSink.class,
-		// OutputSelector.class,
-		Pipeline.class,
-		PlayBin.class,
-		PlayBin2.class,
-		Queue.class,
-		Queue2.class,
-		ShmSink.class,
-		ShmSrc.class,
-		TCPServerSink.class,
-		Tee.class,
-		TypeFind.class,
-		RTPBin.class,
-		RTSPSrc.class,
+		{ "org.gstreamer.elements.AppSink", "GstAppSink", "appsink" },
+		{ "org.gstreamer.elements.AppSrc", "GstAppSrc", "appsrc" },
+		{ "org.gstreamer.elements.BaseSrc", "GstBaseSrc", null },
+		{ "org.gstreamer.elements.BaseSink", "GstBaseSink", null },
+		{ "org.gstreamer.elements.BaseTransform", "GstBaseTransform", null },
+		{ "org.gstreamer.Bin", "GstBin", "bin" },
+		// CapsFilter
+		{ "org.gstreamer.elements.DecodeBin", "GstDecodeBin", "decodebin" },
+		{ "org.gstreamer.elements.DecodeBin2", "GstDecodeBin2", "decodebin2" },
+		{ "org.gstreamer.elements.FakeSink", "GstFakeSink", "fakesink" },
+		{ "org.gstreamer.elements.FakeSrc", "GstFakeSrc", "fakesrc" },
+		// FdSink
+		// FdSrc
+		{ "org.gstreamer.elements.FileSink", "GstFileSink", "filesink" },
+		{ "org.gstreamer.elements.FileSrc", "GstFileSrc", "filesrc" },
+		// Funnel
+		{ "org.gstreamer.elements.Identity", "GstIdentity", "identity" },
+		{ "org.gstreamer.elements.InputSelector", "GstInputSelector", "input-selector" },
+		{ "org.gstreamer.elements.MultiFdSink", "GstMultiFdSink", "multifdsink" },
+		{ "org.gstreamer.elements.MultiQueue", "GstMultiQueue", "multiqueue" },
+		{ "org.gstreamer.elements.OSXVideoSink", "GstOSXVideoSink", "osxvideosink" },
+		// OutputSelector
+		{ "org.gstreamer.Pipeline", "GstPipeline", "pipeline" },
+		{ "org.gstreamer.elements.PlayBin", "GstPlayBin", "playbin" },
+		{ "org.gstreamer.elements.PlayBin2", "GstPlayBin2", "playbin2" },
+		{ "org.gstreamer.elements.Queue", "GstQueue", "queue" },
+		{ "org.gstreamer.elements.Queue2", "GstQueue2", "queue2" },
+		{ "org.gstreamer.elements.ShmSink", "GstShmSink", "shmsink" },
+		{ "org.gstreamer.elements.ShmSrc", "GstShmSrc", "shmsrc" },
+		{ "org.gstreamer.elements.TCPServerSink", "GstTCPServerSink", "tcpserversink" },
+		{ "org.gstreamer.elements.Tee", "GstTee", "tee" },
+		{ "org.gstreamer.elements.TypeFind", "GstTypeFind", "typefind" },
+		{ "org.gstreamer.elements.good.RTPBin", "GstRtpBin", "gstrtpbin" },
+		{ "org.gstreamer.elements.good.RTSPSrc", "GstRTSPSrc", "rtspsrc" },
 	};
 }
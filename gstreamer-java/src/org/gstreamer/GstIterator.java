@@ -19,10 +19,12 @@
 
 package org.gstreamer;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.NoSuchElementException;
 
 import org.gstreamer.lowlevel.GstIteratorAPI;
 import org.gstreamer.lowlevel.GstNative;
@@ -32,12 +34,24 @@ import com.sun.jna.Pointer;
 import com.sun.jna.ptr.PointerByReference;
 
 /**
- *
+ * Wraps a native GstIterator.
+ * <p>
+ * One native out-pointer is reused for every step.  If the underlying
+ * collection changes while iterating (<code>GST_ITERATOR_RESYNC</code>),
+ * the iterator is resynced: {@link #asList} starts over, while the streaming
+ * {@link #iterator} and {@link #forEach} carry on, skipping the objects
+ * they have already returned.
  */
 class GstIterator<T extends NativeObject> extends NativeObject implements java.lang.Iterable<T> {
     private static final GstIteratorAPI gst = GstNative.load(GstIteratorAPI.class);
 
-    private Class<T> objectType;
+    private static final int DONE = 0;
+    private static final int OK = 1;
+    private static final int RESYNC = 2;
+
+    private final Class<T> objectType;
+    private final PointerByReference nextRef = new PointerByReference();
+
     GstIterator(Pointer ptr, Class<T> cls) {
         super(initializer(ptr));
         objectType = cls;
@@ -51,31 +65,95 @@ class GstIterator<T extends NativeObject> extends NativeObject implements java.l
 	protected void disposeNativeHandle(Pointer ptr) {
         gst.gst_iterator_free(ptr);
     }
+
+    /**
+     * Copies all the objects into a list, and frees the native iterator.
+     */
     public List<T> asList() {
-        List<T> list = new LinkedList<T>();
-        for (java.util.Iterator<T> it = iterator(); it.hasNext(); ) {
-            list.add(it.next());
+        List<T> list = new ArrayList<T>();
+        try {
+            int result;
+            while ((result = gst.gst_iterator_next(handle(), nextRef)) != DONE) {
+                if (result == OK) {
+                    list.add(wrap(nextRef.getValue()));
+                } else if (result == RESYNC) {
+                    list.clear();
+                    gst.gst_iterator_resync(handle());
+                } else {
+                    break;
+                }
+            }
+        } finally {
+            dispose();
         }
         return Collections.unmodifiableList(list);
     }
+
+    /**
+     * Calls <tt>visitor</tt> for each object, and frees the native iterator.
+     *
+     * @return false if the visitor stopped the iteration.
+     */
+    public boolean forEach(Visitor<? super T> visitor) {
+        try {
+            for (IteratorImpl it = new IteratorImpl(); it.hasNext(); ) {
+                if (!visitor.visit(it.next())) {
+                    return false;
+                }
+            }
+            return true;
+        } finally {
+            dispose();
+        }
+    }
+
+    private T wrap(Pointer ptr) {
+        return NativeObject.objectFor(ptr, objectType, -1, true);
+    }
     
     class IteratorImpl implements java.util.Iterator<T> {
-        T next;        
+        private T next;
+        /* The addresses of the objects returned, to skip them after a resync */
+        private long[] returned = new long[16];
+        private int returnedCount = 0;
+        private long[] skip = null;
+
         IteratorImpl() {
             next = getNext();
         }
         private T getNext() {
-            PointerByReference nextRef = new PointerByReference();
-            if (gst.gst_iterator_next(handle(), nextRef) == 1) {                
-            	return NativeObject.objectFor(nextRef.getValue(), objectType, -1, true);
+            while (true) {
+                int result = gst.gst_iterator_next(handle(), nextRef);
+                if (result == OK) {
+                    Pointer ptr = nextRef.getValue();
+                    long address = Pointer.nativeValue(ptr);
+                    if (skip != null && Arrays.binarySearch(skip, address) >= 0) {
+                        // Already returned before the resync; drop the new ref
+                        wrap(ptr);
+                        continue;
+                    }
+                    if (returnedCount == returned.length) {
+                        returned = Arrays.copyOf(returned, returnedCount * 2);
+                    }
+                    returned[returnedCount++] = address;
+                    return wrap(ptr);
+                } else if (result == RESYNC) {
+                    skip = Arrays.copyOf(returned, returnedCount);
+                    Arrays.sort(skip);
+                    gst.gst_iterator_resync(handle());
+                } else {
+                    return null;
+                }
             }
-            return null;
         }
         public boolean hasNext() {
             return next != null;
         }
         
         public T next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
             T result = next;
             next = getNext();
             return result;
@@ -0,0 +1,336 @@
+/*
+ * Copyright (c) 2026 agent
+ *
+ * This file is part of gstreamer-java.
+ *
+ * This code is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * version 3 along with this work.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.gstreamer;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.gstreamer.lowlevel.GstAPI.GstCallback;
+import org.gstreamer.lowlevel.GstBufferAPI.BufferStruct;
+import org.gstreamer.lowlevel.GstClockAPI;
+import org.gstreamer.lowlevel.GstPadAPI;
+
+import com.sun.jna.NativeLong;
+import com.sun.jna.Pointer;
+
+/**
+ * Measures how long buffers take to travel between pads of a pipeline.
+ * <p>
+ * Buffers are stamped with the time of the pipeline {@link Clock} as they
+ * pass the pads added with {@link #addSource}, and measured again as they
+ * pass the pads added with {@link #addSink}.  A buffer is recognized
+ * downstream by its timestamp, so elements in between may replace the
+ * buffer as long as they keep the timestamp, which most filters, converters
+ * and queues do.  Each source and sink pair has its own
+ * {@link LatencyHistogram}.
+ * <p>
+ * The probes stay attached until {@link #close}, even if the tracer is no
+ * longer referenced by the application, but do nothing while the
+ * tracer is disabled, so tracing can be turned on and off at runtime with
+ * {@link #setEnabled}.
+ * <p>
+ * For example, to see how long frames spend in an encoder:
+ * <pre>
+ * LatencyTracer tracer = new LatencyTracer(pipeline);
+ * tracer.addSource(encoder.getStaticPad("sink"));
+ * tracer.addSink(encoder.getStaticPad("src"));
+ * tracer.setEnabled(true);
+ * ...
+ * LatencyHistogram h = tracer.getHistogram(encoder.getStaticPad("sink"), encoder.getStaticPad("src"));
+ * System.out.println("p99 " + h.getValueAtPercentile(99, TimeUnit.MICROSECONDS) + "us");
+ * </pre>
+ */
+public class LatencyTracer {
+    private static final long NONE = -1;
+    /** The number of stamps remembered per source, as a power of two */
+    private static final int STAMP_BITS = 10;
+    private static final int STAMPS = 1 << STAMP_BITS;
+
+    /**
+     * The tracers with probes attached.  The native probes only hold the
+     * addresses of the callbacks, so a tracer stays reachable until it is
+     * closed.
+     */
+    private static final Map<LatencyTracer, Boolean> attached = new ConcurrentHashMap<LatencyTracer, Boolean>();
+
+    private final Pipeline pipeline;
+    private final List<Source> sources = new CopyOnWriteArrayList<Source>();
+    private final List<Sink> sinks = new CopyOnWriteArrayList<Sink>();
+    private volatile boolean enabled = false;
+    private volatile Clock clock;
+
+    /**
+     * A pad where buffers are stamped.
+     */
+    private final class Source {
+        final Pad pad;
+        final String name;
+        // Pairs of buffer timestamp and clock time, indexed by a hash of the timestamp
+        final AtomicLongArray stamps = new AtomicLongArray(STAMPS * 2);
+        final GstCallback probe;
+        final NativeLong probeId;
+
+        Source(Pad pad) {
+            this.pad = pad;
+            this.name = padName(pad);
+            for (int i = 0; i < STAMPS; ++i) {
+                stamps.set(2 * i, NONE);
+            }
+            probe = new GstCallback() {
+                @SuppressWarnings("unused")
+                public boolean callback(Pointer pad, Pointer buffer, Pointer data) {
+                    if (enabled) {
+                        stamp(buffer.getLong(BufferStruct.TIMESTAMP_OFFSET));
+                    }
+                    return true;
+                }
+            };
+            probeId = GstPadAPI.GSTPAD_API.gst_pad_add_buffer_probe(pad, probe, null);
+        }
+
+        void stamp(long timestamp) {
+            long now = now();
+            if (timestamp == NONE || now == NONE) {
+                return;
+            }
+            int i = slot(timestamp);
+            // Invalidate the slot while it is written, so readers never pair
+            // the timestamp of one buffer with the time of another
+            stamps.set(i, NONE);
+            stamps.set(i + 1, now);
+            stamps.set(i, timestamp);
+        }
+
+        long lookup(long timestamp) {
+            int i = slot(timestamp);
+            if (stamps.get(i) != timestamp) {
+                return NONE;
+            }
+            long time = stamps.get(i + 1);
+            return stamps.get(i) == timestamp ? time : NONE;
+        }
+
+        void remove() {
+            GstPadAPI.GSTPAD_API.gst_pad_remove_buffer_probe(pad, probeId);
+        }
+    }
+
+    /**
+     * A pad where stamped buffers are measured.
+     */
+    private final class Sink {
+        final Pad pad;
+        final String name;
+        final ConcurrentMap<Source, LatencyHistogram> histograms = new ConcurrentHashMap<Source, LatencyHistogram>();
+        final GstCallback probe;
+        final NativeLong probeId;
+
+        Sink(Pad pad) {
+            this.pad = pad;
+            this.name = padName(pad);
+            probe = new GstCallback() {
+                @SuppressWarnings("unused")
+                public boolean callback(Pointer pad, Pointer buffer, Pointer data) {
+                    if (enabled) {
+                        measure(buffer.getLong(BufferStruct.TIMESTAMP_OFFSET));
+                    }
+                    return true;
+                }
+            };
+            probeId = GstPadAPI.GSTPAD_API.gst_pad_add_buffer_probe(pad, probe, null);
+        }
+
+        void measure(long timestamp) {
+            if (timestamp == NONE) {
+                return;
+            }
+            long now = NONE;
+            for (Source source : sources) {
+                long stamped = source.lookup(timestamp);
+                if (stamped == NONE) {
+                    continue;
+                }
+                if (now == NONE && (now = now()) == NONE) {
+                    return;
+                }
+                histogram(source).record(now - stamped);
+            }
+        }
+
+        LatencyHistogram histogram(Source source) {
+            LatencyHistogram histogram = histograms.get(source);
+            if (histogram == null) {
+                LatencyHistogram existing = histograms.putIfAbsent(source, histogram = new LatencyHistogram());
+                if (existing != null) {
+                    histogram = existing;
+                }
+            }
+            return histogram;
+        }
+
+        void remove() {
+            GstPadAPI.GSTPAD_API.gst_pad_remove_buffer_probe(pad, probeId);
+        }
+    }
+
+    /**
+     * Creates a tracer for a pipeline.  The tracer starts disabled.
+     *
+     * @param pipeline the pipeline whose clock is used to measure time.
+     */
+    public LatencyTracer(Pipeline pipeline) {
+        this.pipeline = pipeline;
+    }
+
+    /**
+     * Stamps buffers passing a pad.
+     *
+     * @param pad the pad, typically the source pad of a source or the sink
+     * pad of the first element of a segment to measure.
+     */
+    public void addSource(Pad pad) {
+        attached.put(this, Boolean.TRUE);
+        sources.add(new Source(pad));
+    }
+
+    /**
+     * Measures stamped buffers passing a pad, against every source.
+     *
+     * @param pad the pad, typically the sink pad of a sink or the source pad
+     * of the last element of a segment to measure.
+     */
+    public void addSink(Pad pad) {
+        attached.put(this, Boolean.TRUE);
+        sinks.add(new Sink(pad));
+    }
+
+    /**
+     * Turns tracing on or off.  The probes are left in place, so this can be
+     * called at any time, from any thread.
+     *
+     * @param enabled whether to stamp and measure buffers.
+     */
+    public void setEnabled(boolean enabled) {
+        // The pipeline picks a new clock each time it starts playing
+        clock = null;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Checks whether tracing is on.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Gets the histogram of the time from a source pad to a sink pad.
+     *
+     * @param source a pad added with {@link #addSource}.
+     * @param sink a pad added with {@link #addSink}.
+     * @return the histogram, or null if no buffer has been measured between
+     * the pads yet.
+     */
+    public LatencyHistogram getHistogram(Pad source, Pad sink) {
+        for (Sink s : sinks) {
+            if (!s.pad.equals(sink)) {
+                continue;
+            }
+            for (Map.Entry<Source, LatencyHistogram> entry : s.histograms.entrySet()) {
+                if (entry.getKey().pad.equals(source)) {
+                    return entry.getValue();
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets all the histograms, by segment: the source pad and the sink pad
+     * as <tt>element.pad</tt>, joined by <tt>" -> "</tt>.
+     *
+     * @return a snapshot of the histograms.
+     */
+    public Map<String, LatencyHistogram> getHistograms() {
+        Map<String, LatencyHistogram> result = new LinkedHashMap<String, LatencyHistogram>();
+        for (Sink sink : sinks) {
+            for (Source source : sources) {
+                LatencyHistogram histogram = sink.histograms.get(source);
+                if (histogram != null) {
+                    result.put(source.name + " -> " + sink.name, histogram);
+                }
+            }
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    /**
+     * Clears all the histograms.
+     */
+    public void reset() {
+        for (Sink sink : sinks) {
+            for (LatencyHistogram histogram : sink.histograms.values()) {
+                histogram.reset();
+            }
+        }
+    }
+
+    /**
+     * Disables tracing and removes all the probes.
+     */
+    public void close() {
+        enabled = false;
+        for (Source source : sources) {
+            source.remove();
+        }
+        for (Sink sink : sinks) {
+            sink.remove();
+        }
+        sources.clear();
+        sinks.clear();
+        attached.remove(this);
+    }
+
+    private long now() {
+        Clock c = clock;
+        if (c == null) {
+            c = clock = pipeline.getClock();
+            if (c == null) {
+                return NONE;
+            }
+        }
+        return GstClockAPI.GSTCLOCK_API.ptr_gst_clock_get_time(c);
+    }
+
+    private static int slot(long timestamp) {
+        long h = timestamp * 0x9E3779B97F4A7C15L;
+        return (int) (h >>> (64 - STAMP_BITS)) * 2;
+    }
+
+    private static String padName(Pad pad) {
+        Element parent = pad.getParentElement();
+        return (parent != null ? parent.getName() : "") + "." + pad.getName();
+    }
+}
@@ -0,0 +1,286 @@
+/*
+ * Copyright (c) 2026 agent
+ *
+ * This file is part of gstreamer-java.
+ *
+ * This code is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * version 3 along with this work.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.gstreamer;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.gstreamer.lowlevel.GstAPI.GstCallback;
+import org.gstreamer.lowlevel.GstBufferAPI.BufferStruct;
+import org.gstreamer.lowlevel.GstPadAPI;
+
+import com.sun.jna.NativeLong;
+import com.sun.jna.Pointer;
+
+/**
+ * Collects statistics about the buffers flowing through a {@link Pad}: how
+ * many buffers and bytes passed, gaps in their timestamps, and the jitter
+ * of their arrival times.
+ * <p>
+ * The probe reads the size and timestamps of each buffer straight from
+ * native memory, with no {@link Buffer} object created, and keeps its
+ * counters without locking, so it is cheap enough to leave on in production
+ * pipelines.  It stays attached until {@link #remove} is called, even if
+ * the application drops all its references to the probe.
+ * <p>
+ * The statistics can be published over JMX with {@link #registerMBean}.
+ * <p>
+ * The jitter is the smoothed difference between the time from one buffer to
+ * the next on the wall clock and in their timestamps, computed as in RFC 3550.
+ */
+public class PadStatsProbe implements PadStatsProbeMBean {
+    /** The JMX domain the probes are registered in */
+    public static final String JMX_DOMAIN = "org.gstreamer";
+
+    private static final long NONE = -1;
+
+    /**
+     * The attached probes.  The native probe only holds the address of the
+     * callback, so the probe must stay reachable until it is removed.
+     */
+    private static final Map<PadStatsProbe, Boolean> attached = new ConcurrentHashMap<PadStatsProbe, Boolean>();
+
+    private final Pad pad;
+    private final String padName;
+    private final GstCallback probe;
+    private final NativeLong probeId;
+    private volatile long startTime = System.nanoTime();
+    private volatile boolean removed = false;
+    private volatile ObjectName mbeanName;
+
+    private final AtomicLong buffers = new AtomicLong();
+    private final AtomicLong bytes = new AtomicLong();
+    private final AtomicLong gaps = new AtomicLong();
+    private final AtomicLong gapTime = new AtomicLong();
+    private volatile long maxGap;
+    private volatile long jitter;
+    private volatile long maxInterArrival;
+
+    // Only touched by the streaming thread of the pad
+    private long lastTimestamp = NONE, lastEnd = NONE, lastArrival = 0;
+
+    /**
+     * Attaches a new probe to a pad.
+     *
+     * @param pad the pad to collect the statistics of.
+     */
+    public PadStatsProbe(Pad pad) {
+        this.pad = pad;
+        this.padName = pad.getName();
+        probe = new GstCallback() {
+            @SuppressWarnings("unused")
+            public boolean callback(Pointer pad, Pointer buffer, Pointer data) {
+                update(buffer, System.nanoTime());
+                return true;
+            }
+        };
+        attached.put(this, Boolean.TRUE);
+        probeId = GstPadAPI.GSTPAD_API.gst_pad_add_buffer_probe(pad, probe, null);
+    }
+
+    private void update(Pointer buffer, long now) {
+        buffers.incrementAndGet();
+        bytes.addAndGet(buffer.getInt(BufferStruct.SIZE_OFFSET) & 0xffffffffL);
+        long timestamp = buffer.getLong(BufferStruct.TIMESTAMP_OFFSET);
+        long duration = buffer.getLong(BufferStruct.DURATION_OFFSET);
+
+        if (timestamp != NONE && lastEnd != NONE && timestamp > lastEnd) {
+            long gap = timestamp - lastEnd;
+            gaps.incrementAndGet();
+            gapTime.addAndGet(gap);
+            if (gap > maxGap) {
+                maxGap = gap;
+            }
+        }
+        if (lastArrival != 0) {
+            long interArrival = now - lastArrival;
+            if (interArrival > maxInterArrival) {
+                maxInterArrival = interArrival;
+            }
+            if (timestamp != NONE && lastTimestamp != NONE) {
+                long d = Math.abs(interArrival - (timestamp - lastTimestamp));
+                long j = jitter;
+                jitter = j + (d - j) / 16;
+            }
+        }
+        lastArrival = now;
+        lastTimestamp = timestamp;
+        lastEnd = timestamp != NONE && duration != NONE ? timestamp + duration : NONE;
+    }
+
+    /**
+     * Gets the pad this probe is attached to.
+     */
+    public Pad getPad() {
+        return pad;
+    }
+
+    public String getPadName() {
+        return padName;
+    }
+
+    /**
+     * Gets the number of buffers that have passed the pad.
+     */
+    public long getBufferCount() {
+        return buffers.get();
+    }
+
+    /**
+     * Gets the number of bytes that have passed the pad.
+     */
+    public long getByteCount() {
+        return bytes.get();
+    }
+
+    /**
+     * Gets the average number of bytes per second that have passed the pad
+     * since the probe was attached or reset.
+     */
+    public double getByteRate() {
+        long elapsed = System.nanoTime() - startTime;
+        return elapsed > 0 ? bytes.get() * 1e9 / elapsed : 0;
+    }
+
+    /**
+     * Gets the number of times a buffer started later than the end of the
+     * previous buffer, according to their timestamps and durations.
+     */
+    public long getGapCount() {
+        return gaps.get();
+    }
+
+    /**
+     * Gets the total stream time skipped by gaps, in nanoseconds.
+     */
+    public long getGapTime() {
+        return gapTime.get();
+    }
+
+    /**
+     * Gets the largest single gap, in nanoseconds.
+     */
+    public long getMaxGap() {
+        return maxGap;
+    }
+
+    /**
+     * Gets the smoothed inter-arrival jitter, in nanoseconds.
+     */
+    public long getJitter() {
+        return jitter;
+    }
+
+    /**
+     * Gets the longest time between two buffers arriving, in nanoseconds.
+     */
+    public long getMaxInterArrival() {
+        return maxInterArrival;
+    }
+
+    /**
+     * Clears the counters.  Values updated concurrently by a buffer passing
+     * the pad may survive the reset.
+     */
+    public void reset() {
+        buffers.set(0);
+        bytes.set(0);
+        gaps.set(0);
+        gapTime.set(0);
+        maxGap = 0;
+        jitter = 0;
+        maxInterArrival = 0;
+        startTime = System.nanoTime();
+    }
+
+    /**
+     * Publishes this probe as an MBean in the platform MBean server, under
+     * the name <tt>org.gstreamer:type=PadStats,pipeline=...,element=...,pad=...</tt>.
+     *
+     * @param pipeline the name of the pipeline the pad is in.
+     * @param element the name or path of the element the pad belongs to.
+     * @return the name the MBean was registered under.
+     * @throws IllegalStateException if the MBean could not be registered.
+     */
+    public ObjectName registerMBean(String pipeline, String element) {
+        try {
+            ObjectName name = new ObjectName(JMX_DOMAIN + ":type=PadStats"
+                    + ",pipeline=" + ObjectName.quote(pipeline)
+                    + ",element=" + ObjectName.quote(element)
+                    + ",pad=" + ObjectName.quote(padName));
+            unregisterMBean();
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            server.registerMBean(this, name);
+            mbeanName = name;
+            return name;
+        } catch (JMException ex) {
+            throw new IllegalStateException("Could not register statistics of pad " + padName, ex);
+        }
+    }
+
+    /**
+     * Gets the name this probe is published under.
+     *
+     * @return the MBean name, or null if the probe is not published.
+     */
+    public ObjectName getMBeanName() {
+        return mbeanName;
+    }
+
+    /**
+     * Removes this probe from the platform MBean server, if it was published.
+     */
+    public void unregisterMBean() {
+        ObjectName name = mbeanName;
+        if (name == null) {
+            return;
+        }
+        mbeanName = null;
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+        } catch (JMException ex) {
+            // Already gone
+        }
+    }
+
+    /**
+     * Detaches the probe from its pad and unpublishes it.  The counters keep
+     * their values.
+     */
+    public void remove() {
+        unregisterMBean();
+        if (!removed) {
+            removed = true;
+            GstPadAPI.GSTPAD_API.gst_pad_remove_buffer_probe(pad, probeId);
+            attached.remove(this);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: [%s, %d buffers, %d bytes]", getClass().getSimpleName(),
+                padName, getBufferCount(), getByteCount());
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2026 agent
+ *
+ * This file is part of gstreamer-java.
+ *
+ * This code is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * version 3 along with this work.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.gstreamer;
+
+/**
+ * The JMX management interface of a {@link PadStatsProbe}.
+ */
+public interface PadStatsProbeMBean {
+    /** The name of the pad. */
+    public String getPadName();
+
+    /** The number of buffers that have passed the pad. */
+    public long getBufferCount();
+
+    /** The number of bytes that have passed the pad. */
+    public long getByteCount();
+
+    /** The average bytes per second since the probe was attached or reset. */
+    public double getByteRate();
+
+    /** The number of times a buffer did not start where the previous one ended. */
+    public long getGapCount();
+
+    /** The total time skipped by gaps, in nanoseconds. */
+    public long getGapTime();
+
+    /** The largest single gap, in nanoseconds. */
+    public long getMaxGap();
+
+    /** The smoothed inter-arrival jitter, in nanoseconds. */
+    public long getJitter();
+
+    /** The largest time between two buffers arriving, in nanoseconds. */
+    public long getMaxInterArrival();
+
+    /** Clears the counters. */
+    public void reset();
+}
@@ -19,7 +19,14 @@
  */
 
 package org.gstreamer;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 import org.gstreamer.lowlevel.GstAPI.GErrorStruct;
 import org.gstreamer.lowlevel.GstElementAPI;
@@ -93,6 +100,10 @@ public class Pipeline extends Bin {
         @CallerOwnsReturn Pointer ptr_gst_pipeline_new(String name);
     }
     private static final API gst = GstNative.load(API.class);
+    private static final Logger logger = Logger.getLogger(Pipeline.class.getName());
+
+    /** Pad statistics by pad path, once enabled by {@link #enablePadStatistics} */
+    private final ConcurrentMap<String, PadStatsProbe> padStats = new ConcurrentHashMap<String, PadStatsProbe>();
     
     public Pipeline(Initializer init) { 
         super(init);
@@ -389,4 +400,115 @@ public class Pipeline extends Bin {
         GstQueryAPI.GSTQUERY_API.gst_query_parse_segment(qry, rate, fmt, start_value, stop_value);
         return new Segment(rate[0], fmt[0], start_value[0], stop_value[0]);
     }
+
+    /**
+     * Describes the elements, pads and links of this pipeline, with their
+     * negotiated caps and states, and the pad statistics if enabled.
+     * <p>
+     * The pipeline keeps running while it is described.
+     *
+     * @return the description, which can be written as DOT or JSON.
+     * @see #enablePadStatistics
+     */
+    public PipelineDescription describe() {
+        BinTopology topology = snapshotTopology();
+        Map<String, PipelineDescription.Stats> stats = null;
+        if (!padStats.isEmpty()) {
+            stats = new HashMap<String, PipelineDescription.Stats>();
+            for (Map.Entry<String, PadStatsProbe> entry : padStats.entrySet()) {
+                stats.put(entry.getKey(), new PipelineDescription.Stats(entry.getValue()));
+            }
+        }
+        return new PipelineDescription(topology, stats);
+    }
+
+    /**
+     * Attaches a {@link PadStatsProbe} to every pad in this pipeline, so
+     * that {@link #describe} includes buffer counts and byte rates.
+     * <p>
+     * Only the pads that exist now are counted; calling this again later
+     * adds probes to any pads created since.
+     */
+    public void enablePadStatistics() {
+        enablePadStatistics(false);
+    }
+
+    /**
+     * Attaches a {@link PadStatsProbe} to every pad in this pipeline, and
+     * optionally publishes each of them as a JMX MBean.
+     * <p>
+     * The MBeans are registered with the pipeline name followed by the
+     * native address of the pipeline, so pipelines with the same name do not
+     * clash.  A probe that cannot be published is still attached.  The
+     * probes are removed and unpublished when the pipeline is disposed.
+     *
+     * @param publish whether to register the probes in the platform MBean
+     * server, see {@link PadStatsProbe#registerMBean}.
+     * @see #enablePadStatistics()
+     */
+    public void enablePadStatistics(boolean publish) {
+        attachProbes(this, "", publish);
+    }
+
+    private void attachProbes(Bin bin, final String prefix, final boolean publish) {
+        final String pipelineName = getName() + "@0x" + Long.toHexString(Pointer.nativeValue(handle()));
+        bin.forEachElement(new Visitor<Element>() {
+            public boolean visit(Element element) {
+                final String path = prefix + element.getName();
+                element.forEachPad(new Visitor<Pad>() {
+                    public boolean visit(Pad pad) {
+                        String key = path + "." + pad.getName();
+                        PadStatsProbe probe = padStats.get(key);
+                        if (probe == null) {
+                            probe = new PadStatsProbe(pad);
+                            PadStatsProbe existing = padStats.putIfAbsent(key, probe);
+                            if (existing != null) {
+                                probe.remove();
+                                probe = existing;
+                            }
+                        }
+                        if (publish && probe.getMBeanName() == null) {
+                            try {
+                                probe.registerMBean(pipelineName, path);
+                            } catch (IllegalStateException ex) {
+                                logger.log(Level.WARNING, "Could not publish statistics of " + key, ex);
+                            }
+                        }
+                        return true;
+                    }
+                });
+                if (element instanceof Bin) {
+                    attachProbes((Bin) element, path + "/", publish);
+                }
+                return true;
+            }
+        });
+    }
+
+    /**
+     * Removes the probes attached by {@link #enablePadStatistics}, and their
+     * MBeans if they were published.
+     */
+    public void disablePadStatistics() {
+        for (PadStatsProbe probe : padStats.values()) {
+            probe.remove();
+        }
+        padStats.clear();
+    }
+
+    @Override
+    public void dispose() {
+        disablePadStatistics();
+        super.dispose();
+    }
+
+    /**
+     * Gets the statistics of the pads in this pipeline, by pad path: the path
+     * of the element as in {@link BinTopology}, a '.', and the pad name.
+     *
+     * @return the probes attached by {@link #enablePadStatistics}.
+     */
+    public Map<String, PadStatsProbe> getPadStatistics() {
+        return Collections.unmodifiableMap(padStats);
+    }
 }
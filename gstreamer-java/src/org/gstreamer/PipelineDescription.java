@@ -0,0 +1,239 @@
+/*
+ * Copyright (c) 2026 agent
+ *
+ * This file is part of gstreamer-java.
+ *
+ * This code is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * version 3 along with this work.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.gstreamer;
+
+import java.util.Collections;
+import java.util.Map;
+
+import org.gstreamer.BinTopology.ElementInfo;
+import org.gstreamer.BinTopology.LinkInfo;
+import org.gstreamer.BinTopology.PadInfo;
+
+/**
+ * A description of a pipeline, returned by {@link Pipeline#describe}, that
+ * can be written out as a Graphviz DOT graph or as JSON.
+ * <p>
+ * Unlike {@link Bin#debugToDotFile}, this does not depend on the GStreamer
+ * debug system and returns the graph as a string, so it can be logged,
+ * served, or diffed against an earlier description.
+ * <p>
+ * If pad statistics were enabled on the pipeline with
+ * {@link Pipeline#enablePadStatistics}, the pads are annotated with their
+ * buffer counts and byte rates.
+ */
+public final class PipelineDescription {
+    private final BinTopology topology;
+    private final Map<String, Stats> stats;
+
+    /**
+     * The counters of a pad at the time of the description.
+     */
+    static final class Stats {
+        final long buffers, bytes;
+        final double byteRate;
+
+        Stats(PadStatsProbe probe) {
+            buffers = probe.getBufferCount();
+            bytes = probe.getByteCount();
+            byteRate = probe.getByteRate();
+        }
+    }
+
+    PipelineDescription(BinTopology topology, Map<String, Stats> stats) {
+        this.topology = topology;
+        this.stats = stats != null ? stats : Collections.<String, Stats>emptyMap();
+    }
+
+    /**
+     * Gets the topology the description was made from.
+     */
+    public BinTopology getTopology() {
+        return topology;
+    }
+
+    /**
+     * Writes the description as a Graphviz DOT graph.  Bins are drawn as
+     * clusters, and links are labelled with their caps and statistics.
+     *
+     * @return the DOT source.
+     */
+    public String toDot() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("digraph ").append(dotString(topology.getName())).append(" {\n");
+        sb.append("  rankdir=LR;\n");
+        sb.append("  node [shape=box, style=rounded, fontsize=10];\n");
+        sb.append("  edge [fontsize=8];\n");
+        dotChildren(sb, "", "  ");
+        for (LinkInfo link : topology.getLinks()) {
+            sb.append("  ").append(dotString(link.getSrcElementPath()))
+                    .append(" -> ").append(dotString(link.getSinkElementPath()))
+                    .append(" [taillabel=").append(dotString(link.getSrcPadName()))
+                    .append(", headlabel=").append(dotString(link.getSinkPadName()));
+            StringBuilder label = new StringBuilder();
+            if (link.getCaps() != null) {
+                label.append(link.getCaps());
+            }
+            Stats s = stats.get(link.getSrcElementPath() + "." + link.getSrcPadName());
+            if (s != null) {
+                if (label.length() > 0) {
+                    label.append('\n');
+                }
+                label.append(s.buffers).append(" buffers, ").append(formatRate(s.byteRate));
+            }
+            if (label.length() > 0) {
+                sb.append(", label=").append(dotString(label.toString()));
+            }
+            sb.append("];\n");
+        }
+        sb.append("}\n");
+        return sb.toString();
+    }
+
+    private void dotChildren(StringBuilder sb, String parent, String indent) {
+        for (ElementInfo element : topology.getElements()) {
+            if (!parent.equals(parentPath(element.getPath()))) {
+                continue;
+            }
+            if (element.isBin()) {
+                sb.append(indent).append("subgraph ").append(dotString("cluster_" + element.getPath())).append(" {\n");
+                sb.append(indent).append("  label=").append(dotString(label(element))).append(";\n");
+                // An invisible node, so the bin can still be the end of a link
+                sb.append(indent).append("  ").append(dotString(element.getPath()))
+                        .append(" [shape=point, style=invis];\n");
+                dotChildren(sb, element.getPath(), indent + "  ");
+                sb.append(indent).append("}\n");
+            } else {
+                sb.append(indent).append(dotString(element.getPath()))
+                        .append(" [label=").append(dotString(label(element))).append("];\n");
+            }
+        }
+    }
+
+    /**
+     * Writes the description as JSON: an object with the name of the
+     * pipeline, its elements with their pads, and its links.
+     *
+     * @return the JSON text.
+     */
+    public String toJson() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{\"name\":").append(jsonString(topology.getName()));
+        sb.append(",\"timestamp\":").append(topology.getTimestamp());
+        sb.append(",\"elements\":[");
+        boolean first = true;
+        for (ElementInfo element : topology.getElements()) {
+            if (!first) {
+                sb.append(',');
+            }
+            first = false;
+            sb.append("{\"path\":").append(jsonString(element.getPath()));
+            sb.append(",\"name\":").append(jsonString(element.getName()));
+            sb.append(",\"factory\":").append(jsonString(element.getFactoryName()));
+            sb.append(",\"state\":").append(jsonString(String.valueOf(element.getState())));
+            sb.append(",\"bin\":").append(element.isBin());
+            sb.append(",\"pads\":[");
+            boolean firstPad = true;
+            for (PadInfo pad : element.getPads()) {
+                if (!firstPad) {
+                    sb.append(',');
+                }
+                firstPad = false;
+                sb.append("{\"name\":").append(jsonString(pad.getName()));
+                sb.append(",\"direction\":").append(jsonString(String.valueOf(pad.getDirection())));
+                sb.append(",\"caps\":").append(jsonString(pad.getCaps()));
+                sb.append(",\"peer\":").append(pad.isLinked()
+                        ? jsonString(pad.getPeerElementPath() + "." + pad.getPeerName()) : "null");
+                Stats s = stats.get(element.getPath() + "." + pad.getName());
+                if (s != null) {
+                    sb.append(",\"buffers\":").append(s.buffers);
+                    sb.append(",\"bytes\":").append(s.bytes);
+                    sb.append(",\"byteRate\":").append((long) s.byteRate);
+                }
+                sb.append('}');
+            }
+            sb.append("]}");
+        }
+        sb.append("],\"links\":[");
+        first = true;
+        for (LinkInfo link : topology.getLinks()) {
+            if (!first) {
+                sb.append(',');
+            }
+            first = false;
+            sb.append("{\"src\":").append(jsonString(link.getSrcElementPath() + "." + link.getSrcPadName()));
+            sb.append(",\"sink\":").append(jsonString(link.getSinkElementPath() + "." + link.getSinkPadName()));
+            sb.append(",\"caps\":").append(jsonString(link.getCaps()));
+            sb.append('}');
+        }
+        sb.append("]}");
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        return toJson();
+    }
+
+    private static String parentPath(String path) {
+        int slash = path.lastIndexOf('/');
+        return slash < 0 ? "" : path.substring(0, slash);
+    }
+
+    private static String label(ElementInfo element) {
+        return element.getName() + "\n" + element.getFactoryName() + " [" + element.getState() + "]";
+    }
+
+    private static String formatRate(double byteRate) {
+        if (byteRate >= 1024 * 1024) {
+            return String.format("%.1f MB/s", byteRate / (1024 * 1024));
+        } else if (byteRate >= 1024) {
+            return String.format("%.1f kB/s", byteRate / 1024);
+        }
+        return String.format("%.0f B/s", byteRate);
+    }
+
+    private static String dotString(String s) {
+        return "\"" + String.valueOf(s).replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n") + "\"";
+    }
+
+    private static String jsonString(String s) {
+        if (s == null) {
+            return "null";
+        }
+        StringBuilder sb = new StringBuilder(s.length() + 2);
+        sb.append('"');
+        for (int i = 0; i < s.length(); ++i) {
+            char c = s.charAt(i);
+            switch (c) {
+            case '"': sb.append("\\\""); break;
+            case '\\': sb.append("\\\\"); break;
+            case '\n': sb.append("\\n"); break;
+            case '\r': sb.append("\\r"); break;
+            case '\t': sb.append("\\t"); break;
+            default:
+                if (c < 0x20) {
+                    sb.append(String.format("\\u%04x", (int) c));
+                } else {
+                    sb.append(c);
+                }
+            }
+        }
+        return sb.append('"').toString();
+    }
+}
@@ -0,0 +1,525 @@
+/*
+ * Copyright (c) 2026 agent
+ *
+ * This file is part of gstreamer-java.
+ *
+ * This code is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * version 3 along with this work.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.gstreamer;
+
+import static org.gstreamer.lowlevel.GObjectAPI.GOBJECT_API;
+import static org.gstreamer.lowlevel.GstElementFactoryAPI.GSTELEMENTFACTORY_API;
+import static org.gstreamer.lowlevel.GstPluginFeatureAPI.GSTPLUGINFEATURE_API;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.gstreamer.lowlevel.GObjectAPI;
+import org.gstreamer.lowlevel.GType;
+import org.gstreamer.lowlevel.GValueAPI.GValue;
+import org.gstreamer.lowlevel.GValueArena;
+import org.gstreamer.lowlevel.GstNative;
+
+import com.sun.jna.Library;
+import com.sun.jna.Pointer;
+
+/**
+ * A pipeline description parsed once, from which pipelines can be created
+ * many times with different parameters.
+ * <p>
+ * {@link Pipeline#launch(String)} parses its description each time.  A
+ * template parses it once into a list of elements, properties and links,
+ * finds the {@link ElementFactory} of each element once, and then only has
+ * to create, set and link the elements for each new pipeline.
+ * <p>
+ * Property values, element names and caps may contain <tt>${name}</tt>
+ * parameters, or <tt>${name:default}</tt> for parameters with a default
+ * value, which are replaced by the values given to {@link #create}.  When a property value is
+ * a single parameter, the parameter value is set as is, so a {@link Number}
+ * or {@link java.net.URI} keeps its type; otherwise the value is converted
+ * from its string form as gst-launch does.
+ * <pre>
+ * PipelineTemplate template = PipelineTemplate.compile(
+ *         "uridecodebin uri=${uri} ! ffmpegcolorspace ! videoscale"
+ *         + " ! video/x-raw-yuv,width=${width},height=${height} ! x264enc bitrate=${bitrate:1024}"
+ *         + " ! mp4mux ! filesink location=${out}");
+ * Map&lt;String, Object&gt; params = new HashMap&lt;String, Object&gt;();
+ * params.put("uri", uri);
+ * ...
+ * Pipeline pipeline = template.create(params);
+ * </pre>
+ * The syntax is that of gst-launch: chains of elements and caps separated by
+ * <tt>!</tt>, <tt>name=</tt> to name an element, and <tt>name.</tt> or
+ * <tt>name.pad</tt> to link to a named element.  Bins in parentheses and
+ * URIs in place of elements are not supported; use {@link Pipeline#launch}
+ * for those.  As with gst-launch, a link from an element whose pads only
+ * appear once it is running is made when the pad is added.
+ */
+public class PipelineTemplate {
+    private static interface API extends Library {
+        boolean gst_value_deserialize(GValue dest, String src);
+    }
+    private static final API gst = GstNative.load(API.class);
+
+    private static final Pattern PARAMETER = Pattern.compile("\\$\\{([\\w.-]+)(?::([^}]*))?\\}");
+    private static final Pattern CAPS = Pattern.compile("^(?:[\\w-]+/[\\w.+*-]+|\\$\\{).*", Pattern.DOTALL);
+
+    private final String description;
+    private final List<ElementSpec> elements = new ArrayList<ElementSpec>();
+    private final List<LinkSpec> links = new ArrayList<LinkSpec>();
+    private final Set<String> parameters = new LinkedHashSet<String>();
+
+    /** A value that may contain parameters */
+    private static final class Value {
+        final String text;
+        final boolean parameterized;
+
+        Value(String text) {
+            this.text = text;
+            this.parameterized = PARAMETER.matcher(text).find();
+        }
+
+        Object resolve(Map<String, ?> params) {
+            if (!parameterized) {
+                return text;
+            }
+            Matcher m = PARAMETER.matcher(text);
+            // A lone parameter keeps the type of its value
+            if (m.matches()) {
+                return lookup(m, params);
+            }
+            StringBuffer sb = new StringBuffer();
+            m.reset();
+            while (m.find()) {
+                m.appendReplacement(sb, Matcher.quoteReplacement(String.valueOf(lookup(m, params))));
+            }
+            m.appendTail(sb);
+            return sb.toString();
+        }
+
+        private static Object lookup(Matcher m, Map<String, ?> params) {
+            Object value = params.get(m.group(1));
+            if (value == null) {
+                value = m.group(2);
+            }
+            if (value == null) {
+                throw new IllegalArgumentException("No value for parameter " + m.group(1));
+            }
+            return value;
+        }
+    }
+
+    private static final class Property {
+        final String name;
+        final GType type;
+        final Value value;
+
+        Property(String name, GType type, Value value) {
+            this.name = name;
+            this.type = type;
+            this.value = value;
+        }
+    }
+
+    private static final class ElementSpec {
+        final ElementFactory factory;
+        final boolean sometimesPads;
+        Value name;
+        final List<Property> properties = new ArrayList<Property>();
+
+        ElementSpec(ElementFactory factory) {
+            this.factory = factory;
+            this.sometimesPads = hasSometimesPads(factory);
+        }
+    }
+
+    /** An element in a chain: either an element of the template or a reference by name */
+    private static final class Endpoint {
+        ElementSpec element;
+        final String reference;
+        final String pad;
+
+        Endpoint(ElementSpec element) {
+            this.element = element;
+            this.reference = null;
+            this.pad = null;
+        }
+
+        Endpoint(String reference, String pad) {
+            this.reference = reference;
+            this.pad = pad;
+        }
+    }
+
+    private static final class LinkSpec {
+        final Endpoint src, sink;
+        final Value caps;
+        Caps fixedCaps;
+
+        LinkSpec(Endpoint src, Endpoint sink, Value caps) {
+            this.src = src;
+            this.sink = sink;
+            this.caps = caps;
+        }
+    }
+
+    private PipelineTemplate(String description) {
+        this.description = description;
+    }
+
+    /**
+     * Parses a pipeline description into a template.
+     *
+     * @param description the description, in the syntax of gst-launch.
+     * @return the new template.
+     * @throws IllegalArgumentException if the description is invalid, uses
+     * syntax templates do not support, names an unknown factory or property,
+     * or gives a property a value that cannot be converted to its type.
+     */
+    public static PipelineTemplate compile(String description) {
+        PipelineTemplate template = new PipelineTemplate(description);
+        template.parse(description);
+        return template;
+    }
+
+    /**
+     * Gets the description the template was compiled from.
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Gets the names of the parameters used in the description.
+     */
+    public Set<String> getParameterNames() {
+        return Collections.unmodifiableSet(parameters);
+    }
+
+    /**
+     * Creates a pipeline from a template without parameters, or whose
+     * parameters all have default values.
+     *
+     * @return the new pipeline, in the NULL state.
+     */
+    public Pipeline create() {
+        return create(Collections.<String, Object>emptyMap());
+    }
+
+    /**
+     * Creates a pipeline, replacing the parameters of the description with
+     * the given values.
+     *
+     * @param params the parameter values by name.
+     * @return the new pipeline, in the NULL state.
+     * @throws IllegalArgumentException if a parameter without default has no
+     * value, or a parameter value cannot be converted to the type of its
+     * property.
+     * @throws GstException if two elements cannot be linked.
+     */
+    public Pipeline create(Map<String, ?> params) {
+        Pipeline pipeline = new Pipeline();
+        try {
+            Map<ElementSpec, Element> made = new HashMap<ElementSpec, Element>(elements.size() * 2);
+            for (ElementSpec spec : elements) {
+                Element element = spec.factory.create(
+                        spec.name != null ? String.valueOf(spec.name.resolve(params)) : null);
+                for (Property p : spec.properties) {
+                    Object value = p.value.resolve(params);
+                    if (value instanceof String) {
+                        setFromString(element, p, (String) value);
+                    } else {
+                        element.set(p.name, value);
+                    }
+                }
+                pipeline.add(element);
+                made.put(spec, element);
+            }
+            for (LinkSpec link : links) {
+                Caps caps = link.fixedCaps;
+                if (caps == null && link.caps != null) {
+                    caps = Caps.fromString(String.valueOf(link.caps.resolve(params)));
+                }
+                link(made.get(link.src.element), link.src.pad, link.src.element.sometimesPads,
+                        made.get(link.sink.element), link.sink.pad, caps);
+            }
+        } catch (RuntimeException ex) {
+            pipeline.dispose();
+            throw ex;
+        }
+        return pipeline;
+    }
+
+    /**
+     * Sets a property from its string form, as gst-launch does, but failing
+     * instead of only warning when the value cannot be converted.
+     */
+    private static void setFromString(GObject object, Property p, String value) {
+        GValue gvalue = deserialize(p, value);
+        try {
+            GOBJECT_API.g_object_set_property(object, p.name, gvalue);
+        } finally {
+            GValueArena.release(gvalue);
+        }
+    }
+
+    private static GValue deserialize(Property p, String value) {
+        GValue gvalue = GValueArena.acquire(p.type);
+        if (!gst.gst_value_deserialize(gvalue, value)) {
+            GValueArena.release(gvalue);
+            throw new IllegalArgumentException("Invalid value for property " + p.name + ": " + value);
+        }
+        return gvalue;
+    }
+
+    /**
+     * Finds the type of a property of the elements a factory makes.
+     */
+    private static GType propertyType(ElementFactory factory, String name) {
+        PluginFeature loaded = GSTPLUGINFEATURE_API.gst_plugin_feature_load(factory);
+        if (!(loaded instanceof ElementFactory)) {
+            throw new IllegalArgumentException("Could not load factory " + factory.getName());
+        }
+        GType elementType = GSTELEMENTFACTORY_API.gst_element_factory_get_element_type((ElementFactory) loaded);
+        Pointer klass = GOBJECT_API.g_type_class_ref(elementType);
+        try {
+            Pointer pspec = GOBJECT_API.g_object_class_find_property(klass, name);
+            if (pspec == null) {
+                throw new IllegalArgumentException("No property " + name + " in " + factory.getName());
+            }
+            return new GObjectAPI.GParamSpec(pspec).value_type;
+        } finally {
+            GOBJECT_API.g_type_class_unref(klass);
+        }
+    }
+
+    private static void link(final Element src, final String srcPad, boolean delayed,
+            final Element sink, final String sinkPad, final Caps caps) {
+        if (Element.linkPadsFiltered(src, srcPad, sink, sinkPad, caps)) {
+            return;
+        }
+        if (!delayed) {
+            throw new GstException("Could not link " + src.getName() + " to " + sink.getName());
+        }
+        // The pad does not exist yet: link when it is added, like gst-launch
+        final AtomicBoolean linked = new AtomicBoolean(false);
+        src.connect(new Element.PAD_ADDED() {
+            public void padAdded(Element element, Pad pad) {
+                if (linked.get() || pad.getDirection() != PadDirection.SRC
+                        || (srcPad != null && !srcPad.equals(pad.getName()))) {
+                    return;
+                }
+                if (Element.linkPadsFiltered(src, pad.getName(), sink, sinkPad, caps)
+                        && linked.compareAndSet(false, true)) {
+                    src.disconnect(this);
+                }
+            }
+        });
+    }
+
+    private static boolean hasSometimesPads(ElementFactory factory) {
+        for (StaticPadTemplate template : factory.getStaticPadTemplates()) {
+            if (template.getDirection() == PadDirection.SRC
+                    && template.getPresence() == PadPresence.SOMETIMES) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    //
+    // Parsing
+    //
+
+    private void parse(String text) {
+        Map<String, ElementSpec> named = new HashMap<String, ElementSpec>();
+        Endpoint previous = null;
+        Value pendingCaps = null;
+        for (List<String> chunk : split(text)) {
+            if (chunk.isEmpty()) {
+                throw new IllegalArgumentException("Empty link in: " + text);
+            }
+            // A chunk of caps filters the link around it
+            String joined = join(chunk);
+            if (CAPS.matcher(joined).matches()) {
+                if (previous == null || pendingCaps != null) {
+                    throw new IllegalArgumentException("Caps without link: " + joined);
+                }
+                pendingCaps = new Value(joined);
+                addParameters(joined);
+                continue;
+            }
+            Endpoint first = null, last = null;
+            for (String token : chunk) {
+                int eq = token.indexOf('=');
+                if (eq > 0) {
+                    if (last == null || last.element == null) {
+                        throw new IllegalArgumentException("Property without element: " + token);
+                    }
+                    String name = token.substring(0, eq);
+                    String value = unquote(token.substring(eq + 1));
+                    if (name.equals("name")) {
+                        last.element.name = new Value(value);
+                        addParameters(value);
+                        if (named.put(value, last.element) != null) {
+                            throw new IllegalArgumentException("Duplicate element name: " + value);
+                        }
+                    } else {
+                        Property property = new Property(name,
+                                propertyType(last.element.factory, name), new Value(value));
+                        // Values without parameters can be checked once and for all
+                        if (!property.value.parameterized) {
+                            GValueArena.release(deserialize(property, value));
+                        }
+                        last.element.properties.add(property);
+                        addParameters(value);
+                    }
+                    continue;
+                }
+                Endpoint endpoint;
+                int dot = token.indexOf('.');
+                if (dot > 0) {
+                    String pad = token.substring(dot + 1);
+                    endpoint = new Endpoint(token.substring(0, dot), pad.length() > 0 ? pad : null);
+                } else if (token.startsWith("(") || token.endsWith(")") || token.contains(":/")) {
+                    throw new IllegalArgumentException("Unsupported in templates: " + token);
+                } else {
+                    ElementSpec spec = new ElementSpec(ElementFactory.find(token));
+                    elements.add(spec);
+                    endpoint = new Endpoint(spec);
+                }
+                if (first == null) {
+                    first = endpoint;
+                }
+                last = endpoint;
+            }
+            if (previous != null) {
+                links.add(new LinkSpec(previous, first, pendingCaps));
+            } else if (pendingCaps != null) {
+                throw new IllegalArgumentException("Caps without link: " + pendingCaps.text);
+            }
+            pendingCaps = null;
+            previous = last;
+        }
+        if (pendingCaps != null) {
+            throw new IllegalArgumentException("Caps without link: " + pendingCaps.text);
+        }
+        for (LinkSpec link : links) {
+            resolve(link.src, named);
+            resolve(link.sink, named);
+            if (link.caps != null && !link.caps.parameterized) {
+                link.fixedCaps = Caps.fromString(link.caps.text);
+            }
+        }
+    }
+
+    private static void resolve(Endpoint endpoint, Map<String, ElementSpec> named) {
+        if (endpoint.element == null) {
+            endpoint.element = named.get(endpoint.reference);
+            if (endpoint.element == null) {
+                throw new IllegalArgumentException("No element named " + endpoint.reference);
+            }
+        }
+    }
+
+    private void addParameters(String value) {
+        Matcher m = PARAMETER.matcher(value);
+        while (m.find()) {
+            parameters.add(m.group(1));
+        }
+    }
+
+    /**
+     * Splits a description into the chunks between links, each a list of
+     * whitespace separated tokens, keeping quoted strings whole.
+     */
+    private static List<List<String>> split(String text) {
+        List<List<String>> chunks = new ArrayList<List<String>>();
+        List<String> chunk = new ArrayList<String>();
+        StringBuilder token = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < text.length(); ++i) {
+            char c = text.charAt(i);
+            if (quoted) {
+                token.append(c);
+                if (c == '\\' && i + 1 < text.length()) {
+                    token.append(text.charAt(++i));
+                } else if (c == '"') {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                token.append(c);
+                quoted = true;
+            } else if (Character.isWhitespace(c) || c == '!') {
+                if (token.length() > 0) {
+                    chunk.add(token.toString());
+                    token.setLength(0);
+                }
+                if (c == '!') {
+                    chunks.add(chunk);
+                    chunk = new ArrayList<String>();
+                }
+            } else {
+                token.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quote in: " + text);
+        }
+        if (token.length() > 0) {
+            chunk.add(token.toString());
+        }
+        chunks.add(chunk);
+        return chunks;
+    }
+
+    private static String join(List<String> tokens) {
+        StringBuilder sb = new StringBuilder();
+        for (String token : tokens) {
+            if (sb.length() > 0) {
+                sb.append(' ');
+            }
+            sb.append(token);
+        }
+        return sb.toString();
+    }
+
+    private static String unquote(String value) {
+        if (value.length() < 2 || value.charAt(0) != '"' || value.charAt(value.length() - 1) != '"') {
+            return value;
+        }
+        StringBuilder sb = new StringBuilder(value.length());
+        for (int i = 1; i < value.length() - 1; ++i) {
+            char c = value.charAt(i);
+            if (c == '\\' && i + 1 < value.length() - 1) {
+                c = value.charAt(++i);
+            }
+            sb.append(c);
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + ": [" + description + "]";
+    }
+}
@@ -0,0 +1,281 @@
+/*
+ * Copyright (c) 2026 agent
+ *
+ * This file is part of gstreamer-java.
+ *
+ * This code is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * version 3 along with this work.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.gstreamer;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Adjusts element properties to keep the drop rate reported by a
+ * {@link QosMonitor} under a target.
+ * <p>
+ * The controller is given a list of {@link Knob}s, each a numeric property
+ * of an element with a range and a step, such as the bitrate of an encoder,
+ * the width of a capsfilter-driven scaler or the <tt>max-lateness</tt> of a
+ * sink.  When the drop rate of the monitored element goes above the target,
+ * the first knob that can still be lowered is stepped down.  When the drop
+ * rate has stayed under half the target for a while, the knobs are stepped
+ * back up, last lowered first.  Only the knobs that were lowered are raised,
+ * and never beyond the value they had before the controller first changed
+ * them.
+ * <p>
+ * Decisions are taken when QoS messages arrive, at most once per interval,
+ * so the pipeline has time to settle after each change.  As elements stop
+ * posting QoS messages once they keep up, the controller also checks once
+ * per interval on the {@link Gst#getScheduledExecutorService scheduler},
+ * and counts an interval without messages as a good one.
+ * <pre>
+ * QosMonitor monitor = new QosMonitor(pipeline);
+ * QosController controller = new QosController(monitor, "videosink", 0.05);
+ * controller.addKnob(new QosController.Knob(encoder, "bitrate", 256, 2048, 256));
+ * controller.start();
+ * </pre>
+ */
+public class QosController {
+    private static final Logger logger = Logger.getLogger(QosController.class.getName());
+
+    private final QosMonitor monitor;
+    private final String sinkName;
+    private final double targetDropRate;
+    private final List<Knob> knobs = new CopyOnWriteArrayList<Knob>();
+    /** The knobs lowered, once per step, the last one on top */
+    private final Deque<Knob> lowered = new ArrayDeque<Knob>();
+    private volatile long intervalMillis = 2000;
+    private volatile int recoverAfter = 3;
+    private long lastChange;
+    private int goodIntervals;
+    private long lastGoodCheck;
+    private volatile boolean running = false;
+    private ScheduledFuture<?> ticker;
+
+    private final QosMonitor.Listener listener = new QosMonitor.Listener() {
+        public void statsUpdated(QosMonitor monitor, QosMonitor.SinkStats stats) {
+            if (sinkName == null || sinkName.equals(stats.getName())) {
+                evaluate(stats);
+            }
+        }
+    };
+
+    /**
+     * A numeric property the controller may adjust.
+     */
+    public static class Knob {
+        private final GObject object;
+        private final String property;
+        private final double min, max, step;
+        /** The value before the first change, or NaN if never changed */
+        private double start = Double.NaN;
+
+        /**
+         * Creates a knob.  Lowering the knob is taken to lower the load on the
+         * pipeline; for a property that works the other way round, such as
+         * <tt>max-lateness</tt>, give a negative step.
+         *
+         * @param object the element owning the property.
+         * @param property the name of the property; it must be numeric.
+         * @param min the lowest value to set.
+         * @param max the highest value to set.
+         * @param step how much to change the value each time.
+         */
+        public Knob(GObject object, String property, double min, double max, double step) {
+            this.object = object;
+            this.property = property;
+            this.min = min;
+            this.max = max;
+            this.step = step;
+        }
+
+        /** Gets the current value of the property. */
+        public double getValue() {
+            return ((Number) object.get(property)).doubleValue();
+        }
+
+        /**
+         * Lowers the load by one step.
+         *
+         * @return false if the knob was already at the end of its range.
+         */
+        boolean lower() {
+            Object current = object.get(property);
+            double value = ((Number) current).doubleValue();
+            if (Double.isNaN(start)) {
+                start = value;
+            }
+            return set(current, value, Math.max(min, Math.min(max, value - step)));
+        }
+
+        /**
+         * Raises the quality by one step, but not beyond the value the
+         * property had before it was first lowered.
+         *
+         * @return false if the knob is back at that value, or was never lowered.
+         */
+        boolean raise() {
+            if (Double.isNaN(start)) {
+                return false;
+            }
+            Object current = object.get(property);
+            double value = ((Number) current).doubleValue();
+            double next = step > 0 ? Math.min(start, value + step) : Math.max(start, value + step);
+            return set(current, value, Math.max(min, Math.min(max, next)));
+        }
+
+        private boolean set(Object current, double value, double next) {
+            if (next == value) {
+                return false;
+            }
+            // Keep the Java type of the property, so it marshals to its GType
+            if (current instanceof Integer) {
+                object.set(property, (int) Math.round(next));
+            } else if (current instanceof Long) {
+                object.set(property, Math.round(next));
+            } else if (current instanceof Float) {
+                object.set(property, (float) next);
+            } else {
+                object.set(property, next);
+            }
+            logger.fine(property + " changed from " + value + " to " + next);
+            return true;
+        }
+
+        @Override
+        public String toString() {
+            return object + "." + property;
+        }
+    }
+
+    /**
+     * Creates a controller.
+     *
+     * @param monitor the monitor providing the statistics.
+     * @param sinkName the name of the element whose drop rate is controlled,
+     * or null to react to any element.
+     * @param targetDropRate the highest acceptable fraction of dropped buffers.
+     */
+    public QosController(QosMonitor monitor, String sinkName, double targetDropRate) {
+        this.monitor = monitor;
+        this.sinkName = sinkName;
+        this.targetDropRate = targetDropRate;
+    }
+
+    /**
+     * Adds a knob.  Knobs are lowered in the order they were added.
+     */
+    public void addKnob(Knob knob) {
+        knobs.add(knob);
+    }
+
+    /**
+     * Sets the minimum time between two changes.
+     */
+    public void setInterval(long millis) {
+        intervalMillis = millis;
+    }
+
+    /**
+     * Sets how many intervals the drop rate must stay low before quality is
+     * raised again.
+     */
+    public void setRecoverAfter(int intervals) {
+        recoverAfter = intervals;
+    }
+
+    /**
+     * Starts reacting to the statistics of the monitor.
+     */
+    public synchronized void start() {
+        if (!running) {
+            running = true;
+            monitor.addListener(listener);
+            ticker = Gst.getScheduledExecutorService().scheduleWithFixedDelay(new Runnable() {
+                public void run() {
+                    tick();
+                }
+            }, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Stops reacting; the properties keep their current values.
+     */
+    public synchronized void stop() {
+        running = false;
+        monitor.removeListener(listener);
+        if (ticker != null) {
+            ticker.cancel(false);
+            ticker = null;
+        }
+    }
+
+    private void tick() {
+        if (sinkName != null) {
+            QosMonitor.SinkStats stats = monitor.getStats(sinkName);
+            if (stats != null) {
+                evaluate(stats);
+            }
+        } else {
+            for (QosMonitor.SinkStats stats : monitor.getAllStats()) {
+                evaluate(stats);
+            }
+        }
+    }
+
+    synchronized void evaluate(QosMonitor.SinkStats stats) {
+        long now = System.currentTimeMillis();
+        if (!running || now - lastChange < intervalMillis) {
+            return;
+        }
+        // No news is good news: elements only post QoS messages when late
+        double dropRate = now - stats.getLastUpdate() > intervalMillis ? 0 : stats.getDropRate();
+        if (dropRate > targetDropRate) {
+            goodIntervals = 0;
+            for (Knob knob : knobs) {
+                if (knob.lower()) {
+                    lowered.push(knob);
+                    logger.fine("Drop rate " + dropRate + " on " + stats.getName() + ", lowered " + knob);
+                    lastChange = now;
+                    return;
+                }
+            }
+        } else if (dropRate < targetDropRate / 2) {
+            if (now - lastGoodCheck < intervalMillis) {
+                return;
+            }
+            lastGoodCheck = now;
+            if (++goodIntervals < recoverAfter) {
+                return;
+            }
+            // Undo the steps down in reverse order
+            while (!lowered.isEmpty()) {
+                Knob knob = lowered.pop();
+                if (knob.raise()) {
+                    logger.fine("Drop rate " + dropRate + " on " + stats.getName() + ", raised " + knob);
+                    lastChange = now;
+                    goodIntervals = 0;
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,274 @@
+/*
+ * Copyright (c) 2026 agent
+ *
+ * This file is part of gstreamer-java.
+ *
+ * This code is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * version 3 along with this work.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.gstreamer;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.gstreamer.message.QOSMessage;
+
+/**
+ * Collects the QoS messages posted on a {@link Bus} into rolling statistics
+ * per element, usually the sinks of a pipeline.
+ * <p>
+ * Elements post a QoS message each time they drop a buffer or change their
+ * quality because buffers arrive late.  For each element, the monitor keeps
+ * smoothed values of the proportion and jitter, the totals of processed and
+ * dropped buffers, and the drop rate over the last {@link #WINDOW} messages.
+ * <p>
+ * A {@link QosController} can be attached to act on the statistics.
+ */
+public class QosMonitor {
+    /** The number of messages the drop rate is computed over */
+    public static final int WINDOW = 32;
+    /** The weight of a new value in the smoothed proportion and jitter */
+    private static final double SMOOTHING = 0.125;
+
+    private final Bus bus;
+    private final ConcurrentMap<String, SinkStats> stats = new ConcurrentHashMap<String, SinkStats>();
+    private final List<Listener> listeners = new CopyOnWriteArrayList<Listener>();
+    private final Bus.MESSAGE handler = new Bus.MESSAGE() {
+        public void busMessage(Bus bus, Message message) {
+            if (message instanceof QOSMessage) {
+                update((QOSMessage) message);
+            }
+        }
+    };
+
+    /**
+     * Notified each time the statistics of an element are updated.
+     */
+    public static interface Listener {
+        /**
+         * Called on the bus dispatch thread after a QoS message was counted.
+         *
+         * @param monitor the monitor.
+         * @param stats the statistics of the element that posted the message.
+         */
+        public void statsUpdated(QosMonitor monitor, SinkStats stats);
+    }
+
+    /**
+     * The QoS statistics of one element.
+     */
+    public static final class SinkStats {
+        private final String name;
+        private final long[] windowProcessed = new long[WINDOW];
+        private final long[] windowDropped = new long[WINDOW];
+        private long messages;
+        private double proportion = 1.0;
+        private double jitter;
+        private long maxJitter;
+        private long processed, dropped;
+        private boolean live;
+        private long lastUpdate;
+
+        SinkStats(String name) {
+            this.name = name;
+        }
+
+        synchronized void update(QOSMessage message) {
+            double p = message.getProportion();
+            long j = message.getJitter();
+            long proc = message.getProcessed();
+            long drop = message.getDropped();
+            if (messages == 0) {
+                proportion = p;
+                jitter = j;
+            } else {
+                proportion += (p - proportion) * SMOOTHING;
+                jitter += (j - jitter) * SMOOTHING;
+            }
+            if (j > maxJitter) {
+                maxJitter = j;
+            }
+            if (proc >= 0) {
+                processed = proc;
+            }
+            if (drop >= 0) {
+                dropped = drop;
+            }
+            int slot = (int) (messages % WINDOW);
+            windowProcessed[slot] = processed;
+            windowDropped[slot] = dropped;
+            live = message.isLive();
+            lastUpdate = System.currentTimeMillis();
+            ++messages;
+        }
+
+        /** Gets the name of the element. */
+        public String getName() {
+            return name;
+        }
+
+        /** Gets the number of QoS messages received from the element. */
+        public synchronized long getMessageCount() {
+            return messages;
+        }
+
+        /**
+         * Gets the smoothed proportion: the processing rate relative to real
+         * time.  Values above 1.0 mean the pipeline cannot keep up.
+         */
+        public synchronized double getProportion() {
+            return proportion;
+        }
+
+        /** Gets the smoothed jitter in nanoseconds; positive means late. */
+        public synchronized long getJitter() {
+            return (long) jitter;
+        }
+
+        /** Gets the largest jitter reported, in nanoseconds. */
+        public synchronized long getMaxJitter() {
+            return maxJitter;
+        }
+
+        /** Gets the total number of buffers processed, not counting those dropped. */
+        public synchronized long getProcessed() {
+            return processed;
+        }
+
+        /** Gets the total number of buffers dropped. */
+        public synchronized long getDropped() {
+            return dropped;
+        }
+
+        /** Checks whether the element is live. */
+        public synchronized boolean isLive() {
+            return live;
+        }
+
+        /** Gets the time of the last message, in milliseconds since the epoch. */
+        public synchronized long getLastUpdate() {
+            return lastUpdate;
+        }
+
+        /**
+         * Gets the fraction of buffers dropped, from 0 to 1, over the span of
+         * the last {@link QosMonitor#WINDOW} messages.
+         */
+        public synchronized double getDropRate() {
+            if (messages == 0) {
+                return 0;
+            }
+            int newest = (int) ((messages - 1) % WINDOW);
+            int oldest = messages < WINDOW ? 0 : (int) (messages % WINDOW);
+            long proc = windowProcessed[newest];
+            long drop = windowDropped[newest];
+            if (messages > 1) {
+                proc -= windowProcessed[oldest];
+                drop -= windowDropped[oldest];
+            }
+            long total = proc + drop;
+            return total > 0 ? (double) drop / total : 0;
+        }
+
+        @Override
+        public synchronized String toString() {
+            return String.format("%s: [%s, proportion=%.3f, jitter=%d, processed=%d, dropped=%d, dropRate=%.3f]",
+                    getClass().getSimpleName(), name, proportion, (long) jitter, processed, dropped, getDropRate());
+        }
+    }
+
+    /**
+     * Creates a monitor listening to the QoS messages of a pipeline.
+     *
+     * @param pipeline the pipeline to monitor.
+     */
+    public QosMonitor(Pipeline pipeline) {
+        this(pipeline.getBus());
+    }
+
+    /**
+     * Creates a monitor listening to the QoS messages on a bus.
+     *
+     * @param bus the bus to listen on.
+     */
+    public QosMonitor(Bus bus) {
+        this.bus = bus;
+        bus.connect("qos", handler);
+    }
+
+    private void update(QOSMessage message) {
+        GstObject source = message.getSource();
+        String name = source != null ? source.getName() : "";
+        SinkStats s = stats.get(name);
+        if (s == null) {
+            SinkStats existing = stats.putIfAbsent(name, s = new SinkStats(name));
+            if (existing != null) {
+                s = existing;
+            }
+        }
+        s.update(message);
+        for (Listener listener : listeners) {
+            listener.statsUpdated(this, s);
+        }
+    }
+
+    /**
+     * Gets the statistics of an element.
+     *
+     * @param name the name of the element.
+     * @return the statistics, or null if the element has posted no QoS message.
+     */
+    public SinkStats getStats(String name) {
+        return stats.get(name);
+    }
+
+    /**
+     * Gets the statistics of all the elements that posted QoS messages.
+     */
+    public Collection<SinkStats> getAllStats() {
+        return Collections.unmodifiableCollection(stats.values());
+    }
+
+    /**
+     * Adds a listener called each time statistics are updated.
+     */
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes a listener added with {@link #addListener}.
+     */
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Forgets all the statistics.
+     */
+    public void reset() {
+        stats.clear();
+    }
+
+    /**
+     * Stops listening to the bus.
+     */
+    public void dispose() {
+        bus.disconnect(handler);
+        listeners.clear();
+    }
+}
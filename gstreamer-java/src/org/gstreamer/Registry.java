@@ -26,6 +26,7 @@ import java.util.LinkedList;
 import java.util.List;
 
 import org.gstreamer.lowlevel.GType;
+import org.gstreamer.lowlevel.GstAPI.GstCallback;
 import org.gstreamer.lowlevel.GlibAPI.GList;
 import org.gstreamer.lowlevel.GstNative;
 import org.gstreamer.lowlevel.GstPluginAPI;
@@ -120,6 +121,38 @@ public class Registry extends GstObject {
         public boolean accept(PluginFeature feature);
     }
     
+    /**
+     * Signal emitted when a {@link Plugin} is added to the registry.
+     *
+     * @see #connect(PLUGIN_ADDED)
+     * @see #disconnect(PLUGIN_ADDED)
+     */
+    public static interface PLUGIN_ADDED {
+        /**
+         * Called when a plugin is added to a registry.
+         *
+         * @param registry the registry the plugin was added to.
+         * @param plugin the plugin which was added.
+         */
+        public void pluginAdded(Registry registry, Plugin plugin);
+    }
+
+    /**
+     * Signal emitted when a {@link PluginFeature} is added to the registry.
+     *
+     * @see #connect(FEATURE_ADDED)
+     * @see #disconnect(FEATURE_ADDED)
+     */
+    public static interface FEATURE_ADDED {
+        /**
+         * Called when a feature is added to a registry.
+         *
+         * @param registry the registry the feature was added to.
+         * @param feature the feature which was added.
+         */
+        public void featureAdded(Registry registry, PluginFeature feature);
+    }
+
     /**
      * Retrieves the default registry. 
      * 
@@ -162,6 +195,8 @@ public class Registry extends GstObject {
      */
     public void removePlugin(Plugin plugin) {
         gst.gst_registry_remove_plugin(this, plugin);
+        ElementFactory.invalidateCache();
+        RegistryIndex.invalidateDefault();
     }
     
     /**
@@ -254,6 +289,52 @@ public class Registry extends GstObject {
         return gst.gst_registry_scan_path(this, path);
     }
     
+    /**
+     * Add a listener for the <code>plugin-added</code> signal
+     *
+     * @param listener Listener to be called when a {@link Plugin} is added.
+     */
+    public void connect(final PLUGIN_ADDED listener) {
+        connect(PLUGIN_ADDED.class, listener, new GstCallback() {
+            @SuppressWarnings("unused")
+            public void callback(Registry registry, Pointer plugin) {
+                listener.pluginAdded(registry, GstObject.objectFor(plugin, Plugin.class, true, true));
+            }
+        });
+    }
+
+    /**
+     * Remove a listener for the <code>plugin-added</code> signal
+     *
+     * @param listener The listener that was previously added.
+     */
+    public void disconnect(PLUGIN_ADDED listener) {
+        disconnect(PLUGIN_ADDED.class, listener);
+    }
+
+    /**
+     * Add a listener for the <code>feature-added</code> signal
+     *
+     * @param listener Listener to be called when a {@link PluginFeature} is added.
+     */
+    public void connect(final FEATURE_ADDED listener) {
+        connect(FEATURE_ADDED.class, listener, new GstCallback() {
+            @SuppressWarnings("unused")
+            public void callback(Registry registry, Pointer feature) {
+                listener.featureAdded(registry, GstObject.objectFor(feature, PluginFeature.class, true, true));
+            }
+        });
+    }
+
+    /**
+     * Remove a listener for the <code>feature-added</code> signal
+     *
+     * @param listener The listener that was previously added.
+     */
+    public void disconnect(FEATURE_ADDED listener) {
+        disconnect(FEATURE_ADDED.class, listener);
+    }
+
     /**
      * Build a {@link java.util.List} of {@link GstObject} from the native GList.
      * @param glist The native list to get the objects from.
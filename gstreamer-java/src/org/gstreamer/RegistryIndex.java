@@ -0,0 +1,359 @@
+/*
+ * Copyright (c) 2026 agent
+ *
+ * This file is part of gstreamer-java.
+ *
+ * This code is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * version 3 along with this work.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.gstreamer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.gstreamer.ElementFactory.ElementFactoryListType;
+import org.gstreamer.PluginFeature.Rank;
+
+/**
+ * An in-memory index of the element factories of the default {@link Registry},
+ * for auto-plugging code that asks the same questions many times.
+ * <p>
+ * {@link ElementFactory#listGetElementFilter} walks the whole registry and
+ * checks the caps of every pad template natively on each call.  The index
+ * reads the klass, rank and pad templates of every factory once.  Pad
+ * templates are grouped by direction and media type, so a query only checks
+ * the caps of factories that handle the media types asked for.  The answers
+ * are also cached by their parameters.
+ * <p>
+ * The answers are the same as those of
+ * {@link ElementFactory#listGetElementFilter}: factories of the given type
+ * and at least the given rank, by decreasing rank then name.  The index is
+ * rebuilt on the next query after a feature is added to the registry or a
+ * plugin removed from it.
+ * <pre>
+ * List&lt;ElementFactory&gt; decoders = RegistryIndex.getDefault().getElements(
+ *         ElementFactoryListType.DECODER, Rank.GST_RANK_MARGINAL, caps, PadDirection.SINK, false);
+ * </pre>
+ */
+public final class RegistryIndex {
+    /** The number of query results kept */
+    private static final int CACHE_SIZE = 256;
+
+    private static final long MEDIA_MASK = ElementFactoryListType.MEDIA_VIDEO.getValue()
+            | ElementFactoryListType.MEDIA_AUDIO.getValue() | ElementFactoryListType.MEDIA_IMAGE.getValue()
+            | ElementFactoryListType.MEDIA_SUBTITLE.getValue() | ElementFactoryListType.MEDIA_METADATA.getValue();
+
+    private static RegistryIndex defaultIndex;
+    private static Registry watchedRegistry;
+    private static final Registry.FEATURE_ADDED featureAdded = new Registry.FEATURE_ADDED() {
+        public void featureAdded(Registry registry, PluginFeature feature) {
+            invalidateDefault();
+        }
+    };
+
+    private final List<Entry> entries;
+    private final Map<PadDirection, Map<String, List<Entry>>> byMediaType
+            = new HashMap<PadDirection, Map<String, List<Entry>>>();
+    private final Map<PadDirection, List<Entry>> anyCaps = new HashMap<PadDirection, List<Entry>>();
+    private final Map<String, List<ElementFactory>> cache
+            = new LinkedHashMap<String, List<ElementFactory>>(CACHE_SIZE, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, List<ElementFactory>> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    private static final class Template {
+        final PadDirection direction;
+        final Caps caps;
+
+        Template(PadDirection direction, Caps caps) {
+            this.direction = direction;
+            this.caps = caps;
+        }
+    }
+
+    private static final class Entry {
+        final ElementFactory factory;
+        final String name;
+        final int rank;
+        final long types;
+        final List<Template> templates = new ArrayList<Template>();
+
+        Entry(ElementFactory factory) {
+            this.factory = factory;
+            this.name = factory.getName();
+            this.rank = factory.getRank();
+            this.types = typesOf(factory.getKlass());
+        }
+
+
+        boolean accepts(Caps caps, PadDirection direction, boolean subsetonly) {
+            for (Template t : templates) {
+                if (t.direction == direction
+                        && (subsetonly ? caps.isSubset(t.caps) : caps.canIntersect(t.caps))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Gets the index of the default registry, building it if needed.
+     */
+    public static synchronized RegistryIndex getDefault() {
+        if (defaultIndex == null) {
+            watchRegistry();
+            defaultIndex = new RegistryIndex(ElementFactory.listGetElement(
+                    ElementFactoryListType.ANY, Rank.GST_RANK_NONE));
+        }
+        return defaultIndex;
+    }
+
+    /**
+     * Drops the index of the default registry; the next call to
+     * {@link #getDefault} builds a new one.
+     */
+    public static synchronized void invalidateDefault() {
+        defaultIndex = null;
+    }
+
+    private static void watchRegistry() {
+        if (watchedRegistry != null) {
+            return;
+        }
+        // Keep the registry proxy, so the signal stays connected
+        watchedRegistry = Registry.getDefault();
+        watchedRegistry.connect(featureAdded);
+        Gst.addStaticShutdownTask(new Runnable() {
+            public void run() {
+                synchronized (RegistryIndex.class) {
+                    if (watchedRegistry != null) {
+                        watchedRegistry.disconnect(featureAdded);
+                        watchedRegistry = null;
+                    }
+                    defaultIndex = null;
+                }
+            }
+        });
+    }
+
+    private RegistryIndex(List<ElementFactory> factories) {
+        List<Entry> list = new ArrayList<Entry>(factories.size());
+        for (ElementFactory factory : factories) {
+            Entry entry = new Entry(factory);
+            for (StaticPadTemplate template : factory.getStaticPadTemplates()) {
+                Caps caps = template.getCaps();
+                entry.templates.add(new Template(template.getDirection(), caps));
+                if (caps.isAny()) {
+                    add(anyCaps, template.getDirection(), entry);
+                    continue;
+                }
+                Map<String, List<Entry>> types = byMediaType.get(template.getDirection());
+                if (types == null) {
+                    byMediaType.put(template.getDirection(), types = new HashMap<String, List<Entry>>());
+                }
+                for (int i = 0; i < caps.size(); ++i) {
+                    add(types, caps.getStructure(i).getName(), entry);
+                }
+            }
+            list.add(entry);
+        }
+        // The order of gst_element_factory_list_get_elements
+        Collections.sort(list, new Comparator<Entry>() {
+            public int compare(Entry a, Entry b) {
+                return a.rank != b.rank ? b.rank - a.rank : a.name.compareTo(b.name);
+            }
+        });
+        entries = list;
+    }
+
+    private static <K> void add(Map<K, List<Entry>> map, K key, Entry entry) {
+        List<Entry> list = map.get(key);
+        if (list == null) {
+            map.put(key, list = new ArrayList<Entry>());
+        }
+        // Several templates of a factory may have the same media type
+        if (list.isEmpty() || list.get(list.size() - 1) != entry) {
+            list.add(entry);
+        }
+    }
+
+    /**
+     * Gets the factories of a type, with at least a rank.
+     *
+     * @param type the type of the factories.
+     * @param minrank the lowest rank.
+     * @return the factories, by decreasing rank then name.
+     */
+    public List<ElementFactory> getElements(ElementFactoryListType type, Rank minrank) {
+        String key = type.getValue() + ":" + minrank.getValue();
+        synchronized (cache) {
+            List<ElementFactory> result = cache.get(key);
+            if (result != null) {
+                return result;
+            }
+        }
+        List<ElementFactory> result = new ArrayList<ElementFactory>();
+        for (Entry e : entries) {
+            if (e.rank >= minrank.getValue() && isType(e.types, type.getValue())) {
+                result.add(e.factory);
+            }
+        }
+        return cache(key, result);
+    }
+
+    /**
+     * Gets the factories of a type, with at least a rank, that can handle
+     * caps in a direction.
+     *
+     * @param type the type of the factories.
+     * @param minrank the lowest rank.
+     * @param caps the caps to handle.
+     * @param direction the direction of the pad templates to check.
+     * @param subsetonly if true, only factories whose pad template caps are a
+     * superset of caps; else factories whose pad template caps can intersect
+     * with caps.
+     * @return the factories, by decreasing rank then name.
+     */
+    public List<ElementFactory> getElements(ElementFactoryListType type, Rank minrank,
+            Caps caps, PadDirection direction, boolean subsetonly) {
+        String key = type.getValue() + ":" + minrank.getValue() + ":" + direction + ":"
+                + subsetonly + ":" + caps;
+        synchronized (cache) {
+            List<ElementFactory> result = cache.get(key);
+            if (result != null) {
+                return result;
+            }
+        }
+        // Templates can only match caps of the same media types, or ANY caps
+        Map<Entry, Boolean> candidates = null;
+        if (!caps.isAny() && !caps.isEmpty()) {
+            candidates = new IdentityHashMap<Entry, Boolean>();
+            Map<String, List<Entry>> types = byMediaType.get(direction);
+            for (int i = 0; types != null && i < caps.size(); ++i) {
+                List<Entry> list = types.get(caps.getStructure(i).getName());
+                if (list != null) {
+                    for (Entry e : list) {
+                        candidates.put(e, Boolean.TRUE);
+                    }
+                }
+            }
+            List<Entry> any = anyCaps.get(direction);
+            if (any != null) {
+                for (Entry e : any) {
+                    candidates.put(e, Boolean.TRUE);
+                }
+            }
+        }
+        List<ElementFactory> result = new ArrayList<ElementFactory>();
+        for (Entry e : entries) {
+            if ((candidates == null || candidates.containsKey(e))
+                    && e.rank >= minrank.getValue() && isType(e.types, type.getValue())
+                    && e.accepts(caps, direction, subsetonly)) {
+                result.add(e.factory);
+            }
+        }
+        return cache(key, result);
+    }
+
+    private List<ElementFactory> cache(String key, List<ElementFactory> result) {
+        result = Collections.unmodifiableList(result);
+        synchronized (cache) {
+            cache.put(key, result);
+        }
+        return result;
+    }
+
+    /**
+     * Gets the number of factories in the index.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Checks whether the type flags of a factory match a type asked for: one
+     * of its element types, and one of its media types if any is asked for.
+     */
+    static boolean isType(long types, long type) {
+        return (types & type & ~MEDIA_MASK) != 0
+                && ((type & MEDIA_MASK) == 0 || (types & type & MEDIA_MASK) != 0);
+    }
+
+    /**
+     * Computes the type flags of a factory from its klass, as
+     * gst_element_factory_list_is_type does.
+     */
+    static long typesOf(String klass) {
+        long types = 0;
+        if (klass == null) {
+            return types;
+        }
+        if (klass.contains("Sink")) {
+            types |= ElementFactoryListType.SINK.getValue();
+        }
+        if (klass.contains("Source")) {
+            types |= ElementFactoryListType.SRC.getValue();
+        }
+        if (klass.contains("Decoder")) {
+            types |= ElementFactoryListType.DECODER.getValue();
+        }
+        if (klass.contains("Encoder")) {
+            types |= ElementFactoryListType.ENCODER.getValue();
+        }
+        if (klass.contains("Muxer")) {
+            types |= ElementFactoryListType.MUXER.getValue();
+        }
+        if (klass.contains("Demux")) {
+            types |= ElementFactoryListType.DEMUXER.getValue();
+        }
+        if (klass.contains("Parser") && klass.contains("Codec")) {
+            types |= ElementFactoryListType.PARSER.getValue();
+        }
+        if (klass.contains("Depayloader")) {
+            types |= ElementFactoryListType.DEPAYLOADER.getValue();
+        }
+        if (klass.contains("Payloader")) {
+            types |= ElementFactoryListType.PAYLOADER.getValue();
+        }
+        if (klass.contains("Formatter")) {
+            types |= ElementFactoryListType.FORMATTER.getValue();
+        }
+        if (klass.contains("Audio")) {
+            types |= ElementFactoryListType.MEDIA_AUDIO.getValue();
+        }
+        if (klass.contains("Video")) {
+            types |= ElementFactoryListType.MEDIA_VIDEO.getValue();
+        }
+        if (klass.contains("Image")) {
+            types |= ElementFactoryListType.MEDIA_IMAGE.getValue();
+        }
+        if (klass.contains("Subtitle")) {
+            types |= ElementFactoryListType.MEDIA_SUBTITLE.getValue();
+        }
+        if (klass.contains("Metadata")) {
+            types |= ElementFactoryListType.MEDIA_METADATA.getValue();
+        }
+        return types;
+    }
+}
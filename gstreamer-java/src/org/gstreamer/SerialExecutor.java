@@ -0,0 +1,241 @@
+/*
+ * Copyright (c) 2026 agent
+ *
+ * This file is part of gstreamer-java.
+ *
+ * This code is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * version 3 along with this work.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.gstreamer;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Executes tasks one at a time, in submission order, on top of a (possibly
+ * multi-threaded) shared {@link Executor}.
+ * <p>
+ * At most one task from a given SerialExecutor is running at any time, so
+ * many SerialExecutors can share one worker pool without losing their own
+ * first-in first-out ordering.  To keep one busy producer from starving the
+ * others, the drain task hands its worker back after a bounded number of tasks.
+ * <p>
+ * The queue depth and the time each task spent waiting to be run are tracked,
+ * so callers can see how far behind the dispatch is.
+ * <p>
+ * The pool may be shut down and replaced (see {@link ExecutorSource}).  A drain
+ * task that was dropped or rejected by a shut down pool is abandoned, and the
+ * next task submitted schedules a new one on the current pool.
+ */
+final class SerialExecutor implements Executor {
+    private static final Logger logger = Logger.getLogger(SerialExecutor.class.getName());
+
+    /** The maximum number of tasks run before yielding the worker thread */
+    private static final int MAX_BATCH = 64;
+
+    private final ExecutorSource source;
+    private final Queue<Task> tasks = new ConcurrentLinkedQueue<Task>();
+    private final AtomicInteger pending = new AtomicInteger(0);
+    /** The drain task submitted to the pool and not finished yet, if any */
+    private final AtomicReference<Drain> scheduled = new AtomicReference<Drain>();
+    private final AtomicLong dispatched = new AtomicLong(0);
+    private final AtomicLong totalLatency = new AtomicLong(0);
+    private final AtomicLong maxLatency = new AtomicLong(0);
+
+    private static final class Task {
+        final Runnable runnable;
+        final long queued = System.nanoTime();
+        Task(Runnable runnable) {
+            this.runnable = runnable;
+        }
+    }
+
+    /**
+     * Gives the executor to run the tasks on, resolved each time a drain task
+     * is submitted, so the pool behind it can be replaced.
+     */
+    interface ExecutorSource {
+        Executor getExecutor();
+    }
+
+    /**
+     * Creates a new SerialExecutor.
+     *
+     * @param executor the executor the tasks are actually run on.
+     */
+    SerialExecutor(final Executor executor) {
+        this(new ExecutorSource() {
+            public Executor getExecutor() {
+                return executor;
+            }
+        });
+    }
+
+    /**
+     * Creates a new SerialExecutor on a pool that may be replaced.
+     *
+     * @param source gives the executor the tasks are actually run on.
+     */
+    SerialExecutor(ExecutorSource source) {
+        this.source = source;
+    }
+
+    public void execute(Runnable runnable) {
+        if (runnable == null) {
+            throw new NullPointerException();
+        }
+        tasks.add(new Task(runnable));
+        pending.incrementAndGet();
+        schedule();
+    }
+
+    private void schedule() {
+        Drain current = scheduled.get();
+        if (current != null) {
+            // A drain that has started will reschedule itself if needed.  One
+            // that has not started is only replaced if its pool is gone, and
+            // only once it can no longer start.
+            if (!current.isAbandoned() || !current.started.compareAndSet(false, true)
+                    || !scheduled.compareAndSet(current, null)) {
+                return;
+            }
+        }
+        Executor executor = source.getExecutor();
+        Drain drain = new Drain(executor);
+        if (scheduled.compareAndSet(null, drain)) {
+            try {
+                executor.execute(drain);
+            } catch (RuntimeException ex) {
+                scheduled.compareAndSet(drain, null);
+                throw ex;
+            }
+        }
+    }
+
+    /** Runs a batch of tasks; submitted once to the pool it was created for */
+    private final class Drain implements Runnable {
+        final Executor executor;
+        final AtomicBoolean started = new AtomicBoolean(false);
+
+        Drain(Executor executor) {
+            this.executor = executor;
+        }
+
+        /**
+         * Tests if the pool this drain was submitted to has been shut down or
+         * replaced, in which case it may never run.
+         */
+        boolean isAbandoned() {
+            return executor != source.getExecutor()
+                    || (executor instanceof ExecutorService && ((ExecutorService) executor).isShutdown());
+        }
+
+        public void run() {
+            if (!started.compareAndSet(false, true)) {
+                // Replaced by schedule() after the pool was shut down
+                return;
+            }
+            try {
+                for (int i = 0; i < MAX_BATCH; ++i) {
+                    Task task = tasks.poll();
+                    if (task == null) {
+                        break;
+                    }
+                    pending.decrementAndGet();
+                    record(System.nanoTime() - task.queued);
+                    try {
+                        task.runnable.run();
+                    } catch (Throwable t) {
+                        logger.log(Level.WARNING, "Uncaught exception in dispatched task", t);
+                    }
+                }
+            } finally {
+                scheduled.compareAndSet(this, null);
+            }
+            // Reschedule if there is still work queued, either because the
+            // batch limit was hit, or because a task was added after the last
+            // poll but saw the drain still scheduled.
+            if (!tasks.isEmpty()) {
+                schedule();
+            }
+        }
+    }
+
+    private void record(long latency) {
+        dispatched.incrementAndGet();
+        totalLatency.addAndGet(latency);
+        long max;
+        while (latency > (max = maxLatency.get())) {
+            if (maxLatency.compareAndSet(max, latency)) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Gets the number of tasks waiting to be run.
+     *
+     * @return the current queue depth.
+     */
+    int getQueueDepth() {
+        return pending.get();
+    }
+
+    /**
+     * Gets the number of tasks that have been run.
+     *
+     * @return the number of dispatched tasks.
+     */
+    long getDispatchedCount() {
+        return dispatched.get();
+    }
+
+    /**
+     * Gets the average time a task waited in the queue before being run.
+     *
+     * @param unit the time unit of the returned value.
+     * @return the average dispatch latency.
+     */
+    long getAverageLatency(TimeUnit unit) {
+        long count = dispatched.get();
+        return count == 0 ? 0 : unit.convert(totalLatency.get() / count, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Gets the longest time a task waited in the queue before being run.
+     *
+     * @param unit the time unit of the returned value.
+     * @return the maximum dispatch latency.
+     */
+    long getMaxLatency(TimeUnit unit) {
+        return unit.convert(maxLatency.get(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Resets the dispatch counters and latencies.
+     */
+    void resetStatistics() {
+        dispatched.set(0);
+        totalLatency.set(0);
+        maxLatency.set(0);
+    }
+}
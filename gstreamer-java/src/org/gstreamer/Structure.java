@@ -19,6 +19,10 @@
 
 package org.gstreamer;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
 import org.gstreamer.lowlevel.GType;
 import org.gstreamer.lowlevel.GValueAPI.GValue;
 import org.gstreamer.lowlevel.GstNative;
@@ -51,6 +55,10 @@ import com.sun.jna.ptr.PointerByReference;
  * Field values can be retrieved with get{Integer,String}() etc functions.
  * <p>
  * Fields can be removed with {@link #removeField} or {@link #removeFields}
+ * <p>
+ * Each set function is a native call.  To set many fields at once, use
+ * {@link #setAll}, or a {@link Builder} to create a new structure; both
+ * set all the fields in a single native call.
  * @see Caps
  * @see Event
  */
@@ -269,6 +277,201 @@ public class Structure extends NativeObject {
                 gst.gst_fraction_get_type(), numerator, denominator);
     }
     
+    /**
+     * Sets a FOURCC field in the structure.
+     *
+     * @param field the name of the field to set.
+     * @param fourcc the four character code, e.g. "I420".
+     */
+    public void setFourcc(String field, String fourcc) {
+        setFourcc(field, makeFourcc(fourcc));
+    }
+
+    /**
+     * Sets a FOURCC field in the structure.
+     *
+     * @param field the name of the field to set.
+     * @param fourcc the four character code, as made by GST_MAKE_FOURCC.
+     */
+    public void setFourcc(String field, int fourcc) {
+        gst.gst_structure_set(this, field, gst.gst_fourcc_get_type(), fourcc);
+    }
+
+    static int makeFourcc(String fourcc) {
+        if (fourcc.length() != 4) {
+            throw new IllegalArgumentException("Not a FOURCC: " + fourcc);
+        }
+        return (fourcc.charAt(0) & 0xff) | (fourcc.charAt(1) & 0xff) << 8
+                | (fourcc.charAt(2) & 0xff) << 16 | (fourcc.charAt(3) & 0xff) << 24;
+    }
+    
+    /**
+     * Sets several fields in the structure, in a single native call.
+     * <p>
+     * The type of each field is that of its value: Integer, Long, Double,
+     * Float, Boolean, String, {@link Fraction} or {@link ClockTime}.
+     *
+     * @param fields the names and values of the fields to set.
+     * @throws IllegalArgumentException if a value is of another type.
+     */
+    public void setAll(Map<String, ?> fields) {
+        List<Object> args = new ArrayList<Object>(fields.size() * 3 + 1);
+        for (Map.Entry<String, ?> field : fields.entrySet()) {
+            addField(args, field.getKey(), field.getValue());
+        }
+        if (args.isEmpty()) {
+            return;
+        }
+        args.add(null);
+        gst.gst_structure_set(this, (String) args.get(0),
+                args.subList(1, args.size()).toArray());
+    }
+
+    /**
+     * Appends the name, type and value of a field to the arguments of
+     * gst_structure_set, the type being that of the value.
+     */
+    private static void addField(List<Object> args, String field, Object value) {
+        args.add(field);
+        if (value instanceof Integer) {
+            args.add(GType.INT);
+            args.add(value);
+        } else if (value instanceof Long) {
+            args.add(GType.INT64);
+            args.add(value);
+        } else if (value instanceof Double) {
+            args.add(GType.DOUBLE);
+            args.add(value);
+        } else if (value instanceof Float) {
+            // C varargs promote floats to doubles
+            args.add(GType.FLOAT);
+            args.add(((Float) value).doubleValue());
+        } else if (value instanceof Boolean) {
+            args.add(GType.BOOLEAN);
+            args.add(value);
+        } else if (value instanceof String) {
+            args.add(GType.STRING);
+            args.add(value);
+        } else if (value instanceof Fraction) {
+            args.add(gst.gst_fraction_get_type());
+            args.add(((Fraction) value).getNumerator());
+            args.add(((Fraction) value).getDenominator());
+        } else if (value instanceof ClockTime) {
+            args.add(GType.UINT64);
+            args.add(((ClockTime) value).toNanos());
+        } else {
+            throw new IllegalArgumentException("Unsupported type for field '" + field + "': "
+                    + (value != null ? value.getClass().getName() : "null"));
+        }
+    }
+
+    /**
+     * Builds a {@link Structure}, staging its fields in Java and creating it
+     * with all of them in a single native call.
+     * <pre>
+     * Structure s = new Structure.Builder("application/x-custom")
+     *         .setString("command", "seek").setInteger("track", 3)
+     *         .setDouble("rate", 1.5)
+     *         .build();
+     * </pre>
+     */
+    public static class Builder {
+        private final String name;
+        private final List<Object> args = new ArrayList<Object>();
+
+        /**
+         * Starts building a structure.
+         *
+         * @param name the name of the structure.
+         */
+        public Builder(String name) {
+            this.name = name;
+        }
+
+        /** Sets an integer field. */
+        public Builder setInteger(String field, int value) {
+            return setValue(field, GType.INT, value);
+        }
+
+        /** Sets a 64 bit integer field. */
+        public Builder setLong(String field, long value) {
+            return setValue(field, GType.INT64, value);
+        }
+
+        /** Sets an integer range field, from min to max inclusive. */
+        public Builder setIntegerRange(String field, int min, int max) {
+            return setValue(field, gst.gst_int_range_get_type(), min, max);
+        }
+
+        /** Sets a double field. */
+        public Builder setDouble(String field, double value) {
+            return setValue(field, GType.DOUBLE, value);
+        }
+
+        /** Sets a boolean field. */
+        public Builder setBoolean(String field, boolean value) {
+            return setValue(field, GType.BOOLEAN, value);
+        }
+
+        /** Sets a string field. */
+        public Builder setString(String field, String value) {
+            return setValue(field, GType.STRING, value);
+        }
+
+        /** Sets a fraction field, such as a framerate. */
+        public Builder setFraction(String field, int numerator, int denominator) {
+            return setValue(field, gst.gst_fraction_get_type(), numerator, denominator);
+        }
+
+        /** Sets a FOURCC field, such as the format of raw YUV video. */
+        public Builder setFourcc(String field, String fourcc) {
+            return setValue(field, gst.gst_fourcc_get_type(), makeFourcc(fourcc));
+        }
+
+        /**
+         * Sets a field whose type is that of its value, as {@link Structure#setAll}
+         * does.
+         */
+        public Builder set(String field, Object value) {
+            addField(args, field, value);
+            return this;
+        }
+
+        /**
+         * Sets a field of any type.
+         *
+         * @param field the name of the field.
+         * @param type the type of the field.
+         * @param values the values gst_structure_set takes for the type.
+         * @return this builder.
+         */
+        public Builder setValue(String field, GType type, Object... values) {
+            args.add(field);
+            args.add(type);
+            for (Object value : values) {
+                args.add(value);
+            }
+            return this;
+        }
+
+        /**
+         * Creates the structure.
+         *
+         * @return a new structure.
+         */
+        public Structure build() {
+            if (args.isEmpty()) {
+                return new Structure(name);
+            }
+            Object[] rest = new Object[args.size()];
+            for (int i = 1; i < args.size(); ++i) {
+                rest[i - 1] = args.get(i);
+            }
+            // The last element stays null, to end the varargs
+            return new Structure(gst.ptr_gst_structure_new(name, (String) args.get(0), rest));
+        }
+    }
+
     /**
      * Get the name of @structure as a string.
      *
@@ -19,8 +19,11 @@
 package org.gstreamer;
 
 import org.gstreamer.lowlevel.GValueAPI;
+import org.gstreamer.lowlevel.GValueArena;
 import org.gstreamer.lowlevel.GstValueAPI;
 
+import com.sun.jna.Pointer;
+
 public class ValueList {
 	public static final String GTYPE_NAME = "GstValueList";
 
@@ -59,11 +62,14 @@ public class ValueList {
         return Fraction.objectFor(v);
     }
 
+    /**
+     * Gets a view of an element; only valid until the next call on this thread.
+     */
     private GValueAPI.GValue getValue(int index) {
-        GValueAPI.GValue val = GstValueAPI.GSTVALUE_API.gst_value_list_get_value(value, index);
+        Pointer val = GstValueAPI.GSTVALUE_API.ptr_gst_value_list_get_value(value, index);
         if (val == null) {
             throw new RuntimeException(String.format("List does not contain value %d", index));
         }
-        return val;
+        return GValueArena.view(val);
     }
 }
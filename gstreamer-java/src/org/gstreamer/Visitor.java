@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2026 agent
+ *
+ * This file is part of gstreamer-java.
+ *
+ * This code is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * version 3 along with this work.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.gstreamer;
+
+/**
+ * Called for each object when walking the contents of a {@link Bin} or the
+ * pads of an {@link Element}, without building a list first.
+ *
+ * @param <T> the type of the objects visited.
+ * @see Bin#forEachElement(Visitor)
+ * @see Element#forEachPad(Visitor)
+ */
+public interface Visitor<T> {
+    /**
+     * Called for each object.
+     *
+     * @param object the object being visited.
+     * @return true to carry on, false to stop the walk.
+     */
+    public boolean visit(T object);
+}
@@ -22,10 +22,34 @@
 
 package org.gstreamer.elements;
 
+import static org.gstreamer.lowlevel.GstMiniObjectAPI.GSTMINIOBJECT_API;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
 import org.gstreamer.Buffer;
+import org.gstreamer.BufferInfo;
 import org.gstreamer.Caps;
+import org.gstreamer.Event;
+import org.gstreamer.FlowReturn;
+import org.gstreamer.Pad;
+import org.gstreamer.State;
+import org.gstreamer.elements.AppSrcProducer.OverflowPolicy;
+import org.gstreamer.event.FlushStartEvent;
+import org.gstreamer.event.FlushStopEvent;
 import org.gstreamer.lowlevel.AppAPI;
 import org.gstreamer.lowlevel.GstAPI.GstCallback;
+import org.gstreamer.lowlevel.GstBufferAPI.BufferStruct;
+
+import com.sun.jna.Library;
+import com.sun.jna.Native;
+import com.sun.jna.NativeLong;
+import com.sun.jna.Pointer;
 
 /**
  * A sink {@link org.gstreamer.Element} that enables an application to pull data
@@ -37,6 +61,26 @@ public class AppSink extends BaseSink {
 
     private static final AppAPI gst() { return AppAPI.APP_API; }
 
+    private static interface LibC extends Library {
+        LibC INSTANCE = (LibC) Native.loadLibrary("c", LibC.class);
+        
+        // JNA passes a direct ByteBuffer as the address of its current position
+        Pointer memcpy(ByteBuffer dst, Pointer src, NativeLong size);
+    }
+
+    // How long a blocked streaming thread waits before checking whether the
+    // sink is flushing or shutting down
+    private static final long POLL_BLOCK_MILLIS = 50;
+
+    // Polling mode state; only set while polling is enabled
+    private volatile BlockingQueue<Buffer> polledBuffers;
+    private volatile OverflowPolicy pollPolicy;
+    private volatile boolean polledEOS;
+    private volatile boolean polledFlushing;
+    private final AtomicLong polledDropped = new AtomicLong(0);
+    private AppAPI.AppSinkCallbacks pollCallbacks;
+    private Pad.EVENT_PROBE pollFlushProbe;
+
     public AppSink(Initializer init) {
         super(init);
     }
@@ -128,6 +172,372 @@ public class AppSink extends BaseSink {
         return gst().gst_app_sink_pull_buffer(this);
     }
 
+    /**
+     * Pulls the next buffer from the <tt>AppSink</tt> and copies its data into
+     * {@code dst}, starting at the current position of {@code dst}.
+     * <p>
+     * This blocks in the same way as {@link #pullBuffer}, but no {@link Buffer}
+     * is created for the pulled buffer; the native buffer is released as soon
+     * as its data has been copied.  Together with a reused {@link BufferInfo},
+     * this avoids the per-buffer garbage of {@link #pullBuffer} when pulling
+     * at a high rate.
+     * <p>
+     * On return, the position of {@code dst} has been advanced by the number
+     * of bytes copied.  If {@code dst} does not have enough space remaining for
+     * the whole buffer, nothing is copied, the buffer is dropped, and a
+     * {@link BufferOverflowException} is thrown.
+     * 
+     * @param dst the buffer to copy the data into.
+     * @param info if not null, filled with the metadata of the pulled buffer.
+     * @return the number of bytes copied, or -1 when the appsink is stopped or EOS.
+     */
+    public int pullInto(ByteBuffer dst, BufferInfo info) {
+        Pointer buffer = gst().ptr_gst_app_sink_pull_buffer(this);
+        if (buffer == null) {
+            return -1;
+        }
+        try {
+            int size = buffer.getInt(BufferStruct.SIZE_OFFSET);
+            if (size > dst.remaining()) {
+                throw new BufferOverflowException();
+            }
+            if (info != null) {
+                info.read(buffer);
+            }
+            if (size > 0) {
+                Pointer data = buffer.getPointer(BufferStruct.DATA_OFFSET);
+                if (dst.hasArray()) {
+                    data.read(0, dst.array(), dst.arrayOffset() + dst.position(), size);
+                } else {
+                    LibC.INSTANCE.memcpy(dst, data, new NativeLong(size));
+                }
+                dst.position(dst.position() + size);
+            }
+            return size;
+        } finally {
+            GSTMINIOBJECT_API.gst_mini_object_unref(buffer);
+        }
+    }
+    
+    /**
+     * Pulls the next buffer from the <tt>AppSink</tt> and copies its data into
+     * {@code dst}.
+     * 
+     * @param dst the buffer to copy the data into.
+     * @return the number of bytes copied, or -1 when the appsink is stopped or EOS.
+     * @see #pullInto(ByteBuffer, BufferInfo)
+     */
+    public int pullInto(ByteBuffer dst) {
+        return pullInto(dst, null);
+    }
+    
+    /**
+     * Pulls the next buffer from the <tt>AppSink</tt> and copies its data, as
+     * native-endian ints, into the start of {@code dst}.
+     * <p>
+     * This is mostly useful for 32 bit RGB video, where {@code dst} can be
+     * the backing array of a {@code BufferedImage}.  As with
+     * {@link #pullInto(ByteBuffer, BufferInfo)}, no {@link Buffer} is created
+     * for the pulled buffer.
+     * <p>
+     * If {@code dst} is too small for the whole buffer, nothing is copied, the
+     * buffer is dropped, and a {@link BufferOverflowException} is thrown.
+     * 
+     * @param dst the array to copy the data into.
+     * @param info if not null, filled with the metadata of the pulled buffer.
+     * @return the number of ints copied, or -1 when the appsink is stopped or EOS.
+     */
+    public int pullInto(int[] dst, BufferInfo info) {
+        Pointer buffer = gst().ptr_gst_app_sink_pull_buffer(this);
+        if (buffer == null) {
+            return -1;
+        }
+        try {
+            int count = buffer.getInt(BufferStruct.SIZE_OFFSET) / 4;
+            if (count > dst.length) {
+                throw new BufferOverflowException();
+            }
+            if (info != null) {
+                info.read(buffer);
+            }
+            if (count > 0) {
+                buffer.getPointer(BufferStruct.DATA_OFFSET).read(0, dst, 0, count);
+            }
+            return count;
+        } finally {
+            GSTMINIOBJECT_API.gst_mini_object_unref(buffer);
+        }
+    }
+    
+    /**
+     * Pulls the next buffer from the <tt>AppSink</tt> and copies its data, as
+     * native-endian ints, into the start of {@code dst}.
+     * 
+     * @param dst the array to copy the data into.
+     * @return the number of ints copied, or -1 when the appsink is stopped or EOS.
+     * @see #pullInto(int[], BufferInfo)
+     */
+    public int pullInto(int[] dst) {
+        return pullInto(dst, null);
+    }
+
+    /**
+     * Switches this <tt>AppSink</tt> to polling mode.
+     * <p>
+     * In polling mode, each buffer is moved from the appsink into a Java side
+     * queue as soon as it arrives, using the appsink callbacks rather than the
+     * <code>new-buffer</code> signal.  The application then takes buffers out
+     * of that queue in batches with {@link #pullBuffers} or {@link #drainBuffers},
+     * which do not need to call into native code at all, so the cost per
+     * buffer stays low for streams with thousands of small buffers per second.
+     * <p>
+     * If the queue is full when a buffer arrives, the streaming thread waits
+     * until the application takes a buffer out of the queue, the sink is
+     * flushed, or it is shut down.  Use {@link #startPolling(int, OverflowPolicy)}
+     * to drop buffers instead.  The queue is cleared when the sink is flushed.
+     * <p>
+     * While polling, {@link #pullBuffer} and {@link #pullInto} must not be used.
+     * This should be called before the pipeline starts, since buffers already
+     * queued in the appsink are not moved into the polling queue.
+     * 
+     * @param capacity the maximum number of buffers held in the polling queue.
+     */
+    public void startPolling(int capacity) {
+        startPolling(capacity, OverflowPolicy.BLOCK);
+    }
+
+    /**
+     * Switches this <tt>AppSink</tt> to polling mode, with the given policy
+     * for a full polling queue.
+     * <p>
+     * With {@link OverflowPolicy#DROP_OLDEST} or {@link OverflowPolicy#DROP_NEWEST},
+     * the streaming thread never waits for the application, and the dropped
+     * buffers are counted by {@link #getDroppedBufferCount}.
+     * 
+     * @param capacity the maximum number of buffers held in the polling queue.
+     * @param policy what to do when a buffer arrives and the queue is full.
+     * @see #startPolling(int)
+     */
+    public synchronized void startPolling(int capacity, OverflowPolicy policy) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Invalid capacity: " + capacity);
+        }
+        if (polledBuffers != null) {
+            throw new IllegalStateException("Already polling");
+        }
+        polledEOS = false;
+        polledFlushing = false;
+        pollPolicy = policy;
+        polledBuffers = new LinkedBlockingQueue<Buffer>(capacity);
+        pollCallbacks = new AppAPI.AppSinkCallbacks();
+        pollCallbacks.eos = new AppAPI.AppSinkEOSCallback() {
+            public void callback(Pointer appsink, Pointer user_data) {
+                polledEOS = true;
+            }
+        };
+        pollCallbacks.new_buffer = new AppAPI.AppSinkNewBufferCallback() {
+            public FlowReturn callback(Pointer appsink, Pointer user_data) {
+                BlockingQueue<Buffer> queue = polledBuffers;
+                Buffer buffer = gst().gst_app_sink_pull_buffer(AppSink.this);
+                if (buffer == null || queue == null) {
+                    return FlowReturn.OK;
+                }
+                return queueBuffer(queue, buffer);
+            }
+        };
+        pollFlushProbe = new Pad.EVENT_PROBE() {
+            public boolean eventReceived(Pad pad, Event event) {
+                if (event instanceof FlushStartEvent) {
+                    // Frees any streaming thread waiting for queue space
+                    polledFlushing = true;
+                    clearPolledBuffers(polledBuffers);
+                } else if (event instanceof FlushStopEvent) {
+                    polledEOS = false;
+                    polledFlushing = false;
+                    clearPolledBuffers(polledBuffers);
+                }
+                // Let the event through
+                return false;
+            }
+        };
+        getStaticPad("sink").addEventProbe(pollFlushProbe);
+        gst().gst_app_sink_set_callbacks(this, pollCallbacks, null, null);
+    }
+    
+    /**
+     * Switches this <tt>AppSink</tt> out of polling mode, dropping any
+     * buffers still in the polling queue.
+     */
+    public synchronized void stopPolling() {
+        if (polledBuffers == null) {
+            return;
+        }
+        // appsink copies the callbacks, so an empty set removes them
+        gst().gst_app_sink_set_callbacks(this, new AppAPI.AppSinkCallbacks(), null, null);
+        getStaticPad("sink").removeEventProbe(pollFlushProbe);
+        // Detach the queue before clearing it, so a streaming thread woken up
+        // by the space sees that polling has stopped and drops its buffer.
+        BlockingQueue<Buffer> queue = polledBuffers;
+        polledBuffers = null;
+        clearPolledBuffers(queue);
+        pollCallbacks = null;
+        pollFlushProbe = null;
+    }
+    
+    /**
+     * Tests if this <tt>AppSink</tt> is in polling mode.
+     * 
+     * @return true if {@link #startPolling} has been called.
+     */
+    public boolean isPolling() {
+        return polledBuffers != null;
+    }
+    
+    /**
+     * Puts a buffer from the streaming thread into the polling queue,
+     * applying the overflow policy if the queue is full.
+     */
+    private FlowReturn queueBuffer(BlockingQueue<Buffer> queue, Buffer buffer) {
+        if (polledFlushing) {
+            buffer.dispose();
+            return FlowReturn.WRONG_STATE;
+        }
+        switch (pollPolicy) {
+        case BLOCK:
+            try {
+                while (!queue.offer(buffer, POLL_BLOCK_MILLIS, TimeUnit.MILLISECONDS)) {
+                    if (polledBuffers != queue || polledFlushing || isShuttingDown()) {
+                        buffer.dispose();
+                        return FlowReturn.WRONG_STATE;
+                    }
+                }
+            } catch (InterruptedException ex) {
+                buffer.dispose();
+                return FlowReturn.WRONG_STATE;
+            }
+            if (polledBuffers != queue) {
+                // stopPolling() ran while this thread was waiting
+                clearPolledBuffers(queue);
+                return FlowReturn.WRONG_STATE;
+            }
+            break;
+        case DROP_NEWEST:
+            if (!queue.offer(buffer)) {
+                buffer.dispose();
+                polledDropped.incrementAndGet();
+            }
+            break;
+        case DROP_OLDEST:
+            // Only this (streaming) thread adds to the queue, so after
+            // making room, the offer cannot fail.
+            while (!queue.offer(buffer)) {
+                Buffer oldest = queue.poll();
+                if (oldest != null) {
+                    oldest.dispose();
+                    polledDropped.incrementAndGet();
+                }
+            }
+            break;
+        }
+        return FlowReturn.OK;
+    }
+
+    /**
+     * Tests if this sink is being taken below PAUSED, in which case the
+     * streaming thread must not wait for the application any longer.
+     */
+    private boolean isShuttingDown() {
+        State[] states = new State[2];
+        getState(0, states);
+        return states[1] != null && states[1] != State.VOID_PENDING
+                && states[1].intValue() < State.PAUSED.intValue();
+    }
+
+    private static void clearPolledBuffers(BlockingQueue<Buffer> queue) {
+        if (queue != null) {
+            Buffer buffer;
+            while ((buffer = queue.poll()) != null) {
+                buffer.dispose();
+            }
+        }
+    }
+    
+    private BlockingQueue<Buffer> getPolledBuffers() {
+        BlockingQueue<Buffer> queue = polledBuffers;
+        if (queue == null) {
+            throw new IllegalStateException("AppSink is not in polling mode");
+        }
+        return queue;
+    }
+    
+    /**
+     * Takes up to {@code max} buffers out of the polling queue, waiting up to
+     * {@code timeout} for the first one to arrive.
+     * <p>
+     * Once one buffer is available, all other buffers already queued (up to
+     * {@code max}) are returned with it, without any further waiting.
+     * 
+     * @param out the array to store the buffers in, starting at index 0.
+     * @param max the maximum number of buffers to take.
+     * @param timeout how long to wait for the first buffer, or 0 to not wait.
+     * @param unit the time unit of {@code timeout}.
+     * @return the number of buffers stored in {@code out}, or -1 if the
+     * queue is empty and the sink is EOS.
+     * @throws InterruptedException if interrupted while waiting.
+     * @throws IllegalStateException if not in polling mode.
+     * @see #startPolling
+     */
+    public int pullBuffers(Buffer[] out, int max, long timeout, TimeUnit unit) 
+            throws InterruptedException {
+        BlockingQueue<Buffer> queue = getPolledBuffers();
+        max = Math.min(max, out.length);
+        if (max <= 0) {
+            return 0;
+        }
+        Buffer buffer = timeout > 0 ? queue.poll(timeout, unit) : queue.poll();
+        if (buffer == null) {
+            return polledEOS && queue.isEmpty() ? -1 : 0;
+        }
+        int count = 0;
+        do {
+            out[count++] = buffer;
+        } while (count < max && (buffer = queue.poll()) != null);
+        return count;
+    }
+    
+    /**
+     * Moves up to {@code max} buffers from the polling queue into {@code c},
+     * without waiting.
+     * 
+     * @param c the collection to add the buffers to.
+     * @param max the maximum number of buffers to move.
+     * @return the number of buffers moved.
+     * @throws IllegalStateException if not in polling mode.
+     * @see #startPolling
+     */
+    public int drainBuffers(Collection<? super Buffer> c, int max) {
+        return getPolledBuffers().drainTo(c, max);
+    }
+    
+    /**
+     * Gets the number of buffers waiting in the polling queue.
+     * 
+     * @return the number of queued buffers, or 0 if not in polling mode.
+     */
+    public int getQueuedBufferCount() {
+        BlockingQueue<Buffer> queue = polledBuffers;
+        return queue != null ? queue.size() : 0;
+    }
+    
+    /**
+     * Gets the number of buffers dropped because the polling queue was full.
+     * 
+     * @return the number of dropped buffers.
+     */
+    public long getDroppedBufferCount() {
+        return polledDropped.get();
+    }
+
     /**
      * Signal emitted when this {@link AppSink} got EOS.
      */
@@ -96,6 +96,19 @@ public class AppSrc extends BaseSrc {
     public void pushBuffer(Buffer buffer) {
         gst().gst_app_src_push_buffer(this, buffer);
     }
+
+    /**
+     * Pushes a buffer into this <tt>AppSrc</tt>, like {@link #pushBuffer},
+     * and reports the result.
+     *
+     * @param buffer the buffer to push; this <tt>AppSrc</tt> takes ownership of it.
+     * @return {@link FlowReturn#OK} if the buffer was queued,
+     * {@link FlowReturn#WRONG_STATE} when flushing or not started, or
+     * {@link FlowReturn#UNEXPECTED} after end-of-stream.
+     */
+    public FlowReturn pushBufferResult(Buffer buffer) {
+        return gst().gst_app_src_push_buffer(this, buffer);
+    }
     public void endOfStream() {
         gst().gst_app_src_end_of_stream(this);
     }
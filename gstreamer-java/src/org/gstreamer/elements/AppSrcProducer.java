@@ -0,0 +1,279 @@
+/*
+ * Copyright (c) 2026 agent
+ *
+ * This file is part of gstreamer-java.
+ *
+ * This code is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * version 3 along with this work.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.gstreamer.elements;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.gstreamer.Buffer;
+import org.gstreamer.FlowReturn;
+
+/**
+ * Feeds buffers from application threads into an {@link AppSrc}, honouring
+ * the flow control of the <tt>AppSrc</tt>.
+ * <p>
+ * Buffers passed to {@link #offer} are put on a bounded staging queue.  They
+ * are pushed into the <tt>AppSrc</tt> while it wants data, that is, from its
+ * <code>need-data</code> signal until its <code>enough-data</code> signal,
+ * either by the thread offering a buffer or by the streaming thread that
+ * emitted <code>need-data</code>.  Only one thread pushes at a time, so
+ * buffers reach the <tt>AppSrc</tt> in the order they were offered.
+ * <p>
+ * What happens when the staging queue is full is decided by the
+ * {@link OverflowPolicy} given when the producer was created.
+ * <p>
+ * The producer sets the <code>block</code> property of the <tt>AppSrc</tt> to
+ * false, since it may push from the streaming thread of the <tt>AppSrc</tt>.
+ */
+public class AppSrcProducer {
+    /**
+     * What {@link AppSrcProducer#offer} does when the staging queue is full.
+     * Also used by {@link AppSink#startPolling(int, OverflowPolicy)}.
+     */
+    public enum OverflowPolicy {
+        /** Wait until there is space in the queue. */
+        BLOCK,
+        /** Drop the oldest queued buffer to make room. */
+        DROP_OLDEST,
+        /** Drop the buffer being offered. */
+        DROP_NEWEST;
+    }
+
+    // How long DROP_OLDEST waits for a racing offer to stage its buffer
+    private static final long DROP_WAIT_MILLIS = 10;
+
+    private final AppSrc source;
+    private final OverflowPolicy policy;
+    private final int capacity;
+    private final Queue<Buffer> staged = new ConcurrentLinkedQueue<Buffer>();
+    private final Semaphore space;
+    private final AtomicBoolean draining = new AtomicBoolean(false);
+    private final AtomicLong pushed = new AtomicLong(0);
+    private final AtomicLong dropped = new AtomicLong(0);
+    private volatile boolean wanted = false;
+    private volatile boolean eos = false;
+    private volatile boolean eosSent = false;
+    private volatile boolean closed = false;
+    private volatile FlowReturn lastResult = FlowReturn.OK;
+
+    private final AppSrc.NEED_DATA needDataListener = new AppSrc.NEED_DATA() {
+        public void needData(AppSrc elem, int size) {
+            wanted = true;
+            drain();
+        }
+    };
+    private final AppSrc.ENOUGH_DATA enoughDataListener = new AppSrc.ENOUGH_DATA() {
+        public void enoughData(AppSrc elem) {
+            wanted = false;
+        }
+    };
+
+    /**
+     * Creates a new producer for an <tt>AppSrc</tt>.
+     *
+     * @param source the <tt>AppSrc</tt> to push buffers into.
+     * @param capacity the maximum number of buffers waiting to be pushed.
+     * @param policy what to do when {@code capacity} buffers are waiting.
+     */
+    public AppSrcProducer(AppSrc source, int capacity, OverflowPolicy policy) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Invalid capacity: " + capacity);
+        }
+        this.source = source;
+        this.capacity = capacity;
+        this.policy = policy;
+        this.space = new Semaphore(capacity);
+        source.set("block", false);
+        source.connect(needDataListener);
+        source.connect(enoughDataListener);
+    }
+
+    /**
+     * Offers a buffer to be pushed into the <tt>AppSrc</tt>.
+     * <p>
+     * The producer takes ownership of the buffer; it must not be used by the
+     * caller afterwards.  With {@link OverflowPolicy#BLOCK}, this waits until
+     * there is space in the staging queue.
+     *
+     * @param buffer the buffer to push.
+     * @return the result of the most recent push into the <tt>AppSrc</tt>.
+     * Anything other than {@link FlowReturn#OK} means the stream is not
+     * running (e.g. {@link FlowReturn#WRONG_STATE} when flushing or closed,
+     * {@link FlowReturn#UNEXPECTED} after end-of-stream).
+     */
+    public FlowReturn offer(Buffer buffer) {
+        if (closed || eos) {
+            buffer.dispose();
+            return FlowReturn.WRONG_STATE;
+        }
+        switch (policy) {
+        case BLOCK:
+            try {
+                space.acquire();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                buffer.dispose();
+                return FlowReturn.WRONG_STATE;
+            }
+            if (closed) {
+                buffer.dispose();
+                return FlowReturn.WRONG_STATE;
+            }
+            break;
+        case DROP_NEWEST:
+            if (!space.tryAcquire()) {
+                buffer.dispose();
+                dropped.incrementAndGet();
+                return lastResult;
+            }
+            break;
+        case DROP_OLDEST:
+            while (!space.tryAcquire()) {
+                Buffer oldest = staged.poll();
+                if (oldest != null) {
+                    oldest.dispose();
+                    dropped.incrementAndGet();
+                    space.release();
+                    continue;
+                }
+                // The permits are held by offers that have not staged their
+                // buffer yet; wait for one of those, or for a push, instead
+                // of spinning.
+                try {
+                    if (space.tryAcquire(DROP_WAIT_MILLIS, TimeUnit.MILLISECONDS)) {
+                        break;
+                    }
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    buffer.dispose();
+                    return FlowReturn.WRONG_STATE;
+                }
+            }
+            if (closed) {
+                buffer.dispose();
+                return FlowReturn.WRONG_STATE;
+            }
+            break;
+        }
+        staged.add(buffer);
+        drain();
+        return closed ? FlowReturn.WRONG_STATE : lastResult;
+    }
+
+    /**
+     * Signals end-of-stream to the <tt>AppSrc</tt>, once all the buffers
+     * already offered have been pushed.
+     */
+    public void endOfStream() {
+        eos = true;
+        drain();
+    }
+
+    /**
+     * Drops all buffers waiting to be pushed.
+     */
+    public void flush() {
+        disposeStaged();
+        lastResult = FlowReturn.OK;
+    }
+
+    private void disposeStaged() {
+        Buffer buffer;
+        while ((buffer = staged.poll()) != null) {
+            buffer.dispose();
+            space.release();
+        }
+    }
+
+    /**
+     * Stops this producer, dropping all buffers waiting to be pushed and
+     * waking up any threads blocked in {@link #offer}.
+     */
+    public void close() {
+        closed = true;
+        source.disconnect(needDataListener);
+        source.disconnect(enoughDataListener);
+        flush();
+        space.release(capacity);
+    }
+
+    /**
+     * Pushes staged buffers into the <tt>AppSrc</tt> for as long as it wants
+     * them, and sends end-of-stream after the last one if requested.
+     * <p>
+     * Only one thread drains at a time; the check after clearing the flag
+     * picks up any buffer offered while the previous drain was finishing.
+     * <p>
+     * Once closed, nothing is pushed any more, and buffers staged by offers
+     * that raced with {@link #close} are disposed.
+     */
+    private void drain() {
+        while (!closed && ((wanted && !staged.isEmpty()) || (eos && !eosSent && staged.isEmpty()))
+                && draining.compareAndSet(false, true)) {
+            try {
+                Buffer buffer;
+                while (wanted && !closed && (buffer = staged.poll()) != null) {
+                    space.release();
+                    lastResult = source.pushBufferResult(buffer);
+                    pushed.incrementAndGet();
+                }
+                if (eos && !eosSent && staged.isEmpty()) {
+                    eosSent = true;
+                    source.endOfStream();
+                }
+            } finally {
+                draining.set(false);
+            }
+        }
+        if (closed) {
+            disposeStaged();
+        }
+    }
+
+    /**
+     * Gets the number of buffers waiting to be pushed.
+     *
+     * @return the number of staged buffers.
+     */
+    public int getQueuedCount() {
+        return Math.max(0, capacity - space.availablePermits());
+    }
+
+    /**
+     * Gets the number of buffers pushed into the <tt>AppSrc</tt>.
+     *
+     * @return the number of pushed buffers.
+     */
+    public long getPushedCount() {
+        return pushed.get();
+    }
+
+    /**
+     * Gets the number of buffers dropped because the staging queue was full.
+     *
+     * @return the number of dropped buffers.
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+}
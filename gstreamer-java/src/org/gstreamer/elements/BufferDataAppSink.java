@@ -23,14 +23,18 @@ import java.nio.ByteOrder;
 import org.gstreamer.Bin;
 import org.gstreamer.Buffer;
 import org.gstreamer.Caps;
+import org.gstreamer.CapsBuilder;
 import org.gstreamer.Element;
 import org.gstreamer.ElementFactory;
 import org.gstreamer.GhostPad;
 import org.gstreamer.Pipeline;
 import org.gstreamer.Structure;
 import org.gstreamer.lowlevel.GstBinAPI;
+import org.gstreamer.lowlevel.GstBufferAPI.BufferStruct;
 import org.gstreamer.lowlevel.GstNative;
 
+import com.sun.jna.Pointer;
+
 /**
  * Class that allows to pull out native buffers from the GStreamer pipeline into
  * the application. It is almost identical to BufferDataSink, the only
@@ -50,20 +54,21 @@ public class BufferDataAppSink extends Bin {
     public BufferDataAppSink(String name, Listener listener) {
       super(initializer(gst.ptr_gst_bin_new(name)));
       this.listener = listener;
+      CapsBuilder caps = new CapsBuilder("video/x-raw-rgb").setInteger("bpp", 32)
+              .setInteger("depth", 24).setInteger("endianness", 4321);
       // JNA creates ByteBuffer using native byte order, set masks according to that.
-      String mask;
       if (ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN) {
-        mask = "red_mask=(int)0xFF00, green_mask=(int)0xFF0000, blue_mask=(int)0xFF000000";        
+        caps.setInteger("red_mask", 0xFF00).setInteger("green_mask", 0xFF0000).setInteger("blue_mask", 0xFF000000);
       } else {
-        mask = "red_mask=(int)0xFF0000, green_mask=(int)0xFF00, blue_mask=(int)0xFF";
+        caps.setInteger("red_mask", 0xFF0000).setInteger("green_mask", 0xFF00).setInteger("blue_mask", 0xFF);
       }
-      initSink(name, mask);      
+      initSink(name, caps.intern());
     }
     
     public BufferDataAppSink(String name, String mask, Listener listener) {
         super(initializer(gst.ptr_gst_bin_new(name)));
         this.listener = listener;       
-        initSink(name, mask);        
+        initSink(name, new Caps("video/x-raw-rgb, bpp=32, depth=24, endianness=(int)4321, " + mask));
     }
 
     public BufferDataAppSink(String name, Pipeline pipeline, Listener listener) {
@@ -84,7 +89,7 @@ public class BufferDataAppSink extends Bin {
         }        
     }
 
-    private void initSink(String name, String mask) {
+    private void initSink(String name, Caps caps) {
       sink = (AppSink) ElementFactory.make("appsink", name);
       sink.set("emit-signals", true);
       sink.set("sync", true);
@@ -95,9 +100,7 @@ public class BufferDataAppSink extends Bin {
       //
       Element conv = ElementFactory.make("ffmpegcolorspace", "ColorConverter");
       Element videofilter = ElementFactory.make("capsfilter", "ColorFilter");
-      StringBuilder caps = new StringBuilder("video/x-raw-rgb, bpp=32, depth=24, endianness=(int)4321, ");
-      caps.append(mask);
-      videofilter.setCaps(new Caps(caps.toString()));
+      videofilter.setCaps(caps);
       addMany(conv, videofilter, sink);
       Element.linkMany(conv, videofilter, sink);
 
@@ -147,15 +150,22 @@ public class BufferDataAppSink extends Bin {
      *
      */
     class AppSinkNewBufferListener implements AppSink.NEW_BUFFER {
+        // The caps of the last frame, kept so the dimensions are only looked
+        // up again when the caps change
+        private Caps frameCaps;
+        private int width, height;
+
         public void newBuffer(AppSink elem)
         {
             Buffer buffer = sink.pullBuffer();
 
-            Caps caps = buffer.getCaps();
-            Structure struct = caps.getStructure(0);
-
-            int width = struct.getInteger("width");
-            int height = struct.getInteger("height");
+            Pointer caps = buffer.getAddress().getPointer(BufferStruct.CAPS_OFFSET);
+            if (frameCaps == null || !frameCaps.getNativeAddress().equals(caps)) {
+                frameCaps = buffer.getCaps();
+                Structure struct = frameCaps.getStructure(0);
+                width = struct.getInteger("width");
+                height = struct.getInteger("height");
+            }
             if (width < 1 || height < 1) {
                 return;
             }
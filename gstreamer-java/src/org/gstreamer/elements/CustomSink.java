@@ -27,6 +27,8 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Logger;
@@ -41,7 +43,9 @@ import org.gstreamer.lowlevel.GObjectAPI.GBaseInitFunc;
 import org.gstreamer.lowlevel.GObjectAPI.GClassInitFunc;
 import org.gstreamer.lowlevel.GObjectAPI.GTypeInfo;
 import org.gstreamer.lowlevel.GType;
+import org.gstreamer.lowlevel.GstBufferListAPI;
 import org.gstreamer.lowlevel.GstPadTemplateAPI;
+import org.gstreamer.lowlevel.NativeObject;
 
 import com.sun.jna.Pointer;
 
@@ -64,6 +68,7 @@ abstract public class CustomSink extends BaseSink {
         
         // Per-instance callback functions
         BaseSinkAPI.Render render;
+        BaseSinkAPI.RenderList renderList;
         BaseSinkAPI.Render preroll;
         BaseSinkAPI.BooleanFunc1 start;
         BaseSinkAPI.BooleanFunc1 stop;
@@ -96,6 +101,29 @@ abstract public class CustomSink extends BaseSink {
         logger.info(getClass().getSimpleName() + ".sinkRender");
         return FlowReturn.WRONG_STATE;
     }
+    /**
+     * Renders a list of buffers, in one call instead of one call of
+     * {@link #sinkRender} per buffer.  Upstream elements that push buffer
+     * lists, such as RTP payloaders, then cost a single upcall per list.
+     * The buffers of all the groups of the list are passed in order.
+     * <p>
+     * Only used when overridden; the default renders each buffer with
+     * {@link #sinkRender}.  Buffers pushed one at a time still go to
+     * {@link #sinkRender}.
+     *
+     * @param buffers the buffers of the list.
+     * @return {@link FlowReturn#OK}, or the error to stop the stream with.
+     */
+    @SinkCallback
+    protected FlowReturn sinkRenderList(Buffer[] buffers) throws IOException {
+        for (Buffer buffer : buffers) {
+            FlowReturn ret = sinkRender(buffer);
+            if (ret != FlowReturn.OK) {
+                return ret;
+            }
+        }
+        return FlowReturn.OK;
+    }
     @SinkCallback
     protected FlowReturn sinkPreRoll(Buffer buffer) throws IOException {
         logger.info(getClass().getSimpleName() + ".sinkPreRoll");
@@ -154,6 +182,37 @@ abstract public class CustomSink extends BaseSink {
             }
         }
     };
+    private static final BaseSinkAPI.RenderList renderListCallback = new BaseSinkAPI.RenderList() {
+        
+        public FlowReturn callback(BaseSink sink, Pointer list) {
+            try {
+                return ((CustomSink) sink).sinkRenderList(buffersOf(list));
+            } catch (Throwable ex) {
+                ex.printStackTrace();
+                return FlowReturn.ERROR;
+            }
+        }
+    };
+    /**
+     * Gets wrappers for the buffers of all the groups of a GstBufferList.
+     */
+    private static Buffer[] buffersOf(Pointer list) {
+        GstBufferListAPI api = GstBufferListAPI.GSTBUFFERLIST_API;
+        List<Buffer> buffers = new ArrayList<Buffer>();
+        Pointer it = api.gst_buffer_list_iterate(list);
+        try {
+            while (api.gst_buffer_list_iterator_next_group(it)) {
+                Pointer buffer;
+                while ((buffer = api.gst_buffer_list_iterator_next(it)) != null) {
+                    // The list keeps its reference
+                    buffers.add(NativeObject.objectFor(buffer, Buffer.class, true, true));
+                }
+            }
+        } finally {
+            api.gst_buffer_list_iterator_free(it);
+        }
+        return buffers.toArray(new Buffer[buffers.size()]);
+    }
     private static final BaseSinkAPI.Render prerollCallback = new BaseSinkAPI.Render() {
         
         public FlowReturn callback(BaseSink sink, Buffer buffer) {
@@ -206,6 +265,8 @@ abstract public class CustomSink extends BaseSink {
                 String name = m.getName().toLowerCase().substring("sink".length());
                 if (name.equals("render")) {
                     info.render = renderCallback;
+                } else if (name.equals("renderlist")) {
+                    info.renderList = renderListCallback;
                 } else if (name.equals("preroll")) {
                     info.preroll = prerollCallback;
                 } else if (name.equals("start")) {
@@ -226,6 +287,7 @@ abstract public class CustomSink extends BaseSink {
             public void callback(Pointer g_class, Pointer class_data) {
                 BaseSinkAPI.GstBaseSinkClass base = new BaseSinkAPI.GstBaseSinkClass(g_class);
                 base.render = info.render;
+                base.render_list = info.renderList;
                 base.preroll = info.preroll;
                 base.start = info.start;
                 base.stop = info.stop;
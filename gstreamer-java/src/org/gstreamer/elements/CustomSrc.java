@@ -28,9 +28,12 @@ import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.logging.Logger;
 
 import org.gstreamer.Buffer;
@@ -45,6 +48,9 @@ import org.gstreamer.lowlevel.GObjectAPI.GClassInitFunc;
 import org.gstreamer.lowlevel.GObjectAPI.GTypeInfo;
 import org.gstreamer.lowlevel.GType;
 import org.gstreamer.lowlevel.GstAPI.GstSegmentStruct;
+import org.gstreamer.lowlevel.GstBufferListAPI;
+import org.gstreamer.lowlevel.GstMiniObjectAPI;
+import org.gstreamer.lowlevel.GstPadAPI;
 import org.gstreamer.lowlevel.GstPadTemplateAPI;
 
 import com.sun.jna.Pointer;
@@ -80,6 +86,9 @@ abstract public class CustomSrc extends BaseSrc {
         BaseSrcAPI.Fixate fixate;
         BaseSrcAPI.EventNotify event;
     }
+    /** The buffers of the last list after the first, as a GstBufferList */
+    private final AtomicReference<Pointer> pendingList = new AtomicReference<Pointer>();
+
     protected CustomSrc(Class<? extends CustomSrc> subClass, String name) {
         super(initializer(GOBJECT_API.g_object_new(getSubclassType(subClass), "name", name)));
     }
@@ -127,6 +136,26 @@ abstract public class CustomSrc extends BaseSrc {
         logger.info("CustomSrc.srcFillBuffer");
         return FlowReturn.NOT_SUPPORTED;
     }
+    /**
+     * Used to produce several buffers in one call, such as the packets read
+     * from a socket at once, instead of one call of {@link #srcCreateBuffer}
+     * per buffer.
+     * <p>
+     * The first buffer is returned to the base source as from
+     * {@link #srcCreateBuffer}.  The others are pushed downstream in one
+     * buffer list at the start of the next call, so they keep their order.
+     * They are not timestamped by the base source, and are dropped when the
+     * source stops or seeks through {@link #srcSeek}.
+     *
+     * @param offset
+     * @param size
+     * @param buffers the list to add the buffers to, in order.
+     */
+    @SrcCallback("create")
+    protected FlowReturn srcCreateBufferList(long offset, int size, List<Buffer> buffers) throws IOException {
+        return FlowReturn.NOT_SUPPORTED;
+    }
+
     @SrcCallback("is_seekable")
     protected boolean srcIsSeekable() {
         logger.info("CustomSrc.srcIsSeekable");
@@ -223,6 +252,81 @@ abstract public class CustomSrc extends BaseSrc {
         }
         
     };
+    private static final BaseSrcAPI.Create createBufferListCallback = new BaseSrcAPI.Create() {
+
+        public FlowReturn callback(BaseSrc element, long offset, int size, Pointer bufRef) {
+            CustomSrc src = (CustomSrc) element;
+            try {
+                FlowReturn retVal = src.pushPendingBuffers();
+                if (retVal != FlowReturn.OK) {
+                    return retVal;
+                }
+                List<Buffer> buffers = new ArrayList<Buffer>();
+                try {
+                    retVal = src.srcCreateBufferList(offset, size, buffers);
+                } catch (Exception ex) {
+                    disposeAll(buffers);
+                    return FlowReturn.UNEXPECTED;
+                }
+                if (retVal != FlowReturn.OK) {
+                    // basesrc ignores the buffer on any other result
+                    disposeAll(buffers);
+                    return retVal;
+                }
+                if (!buffers.isEmpty()) {
+                    Buffer buffer = buffers.get(0);
+                    bufRef.setPointer(0, buffer.getAddress());
+                    buffer.disown();
+                    if (buffers.size() > 1) {
+                        src.pendingList.set(bufferListOf(buffers.subList(1, buffers.size())));
+                    }
+                }
+                return retVal;
+            } catch (Exception ex) {
+                return FlowReturn.UNEXPECTED;
+            }
+        }
+    };
+
+    private static void disposeAll(List<Buffer> buffers) {
+        for (Buffer buffer : buffers) {
+            buffer.dispose();
+        }
+    }
+
+    /**
+     * Creates a GstBufferList with a group per buffer, taking the references
+     * of the buffers.
+     */
+    private static Pointer bufferListOf(List<Buffer> buffers) {
+        GstBufferListAPI api = GstBufferListAPI.GSTBUFFERLIST_API;
+        Pointer list = api.gst_buffer_list_new();
+        Pointer it = api.gst_buffer_list_iterate(list);
+        for (Buffer buffer : buffers) {
+            api.gst_buffer_list_iterator_add_group(it);
+            api.gst_buffer_list_iterator_add(it, buffer.getAddress());
+            buffer.disown();
+        }
+        api.gst_buffer_list_iterator_free(it);
+        return list;
+    }
+
+    private FlowReturn pushPendingBuffers() {
+        Pointer list = pendingList.getAndSet(null);
+        if (list == null) {
+            return FlowReturn.OK;
+        }
+        // gst_pad_push_list takes the reference of the list
+        return GstPadAPI.GSTPAD_API.gst_pad_push_list(getStaticPad("src"), list);
+    }
+
+    private void dropPendingBuffers() {
+        Pointer list = pendingList.getAndSet(null);
+        if (list != null) {
+            GstMiniObjectAPI.GSTMINIOBJECT_API.gst_mini_object_unref(list);
+        }
+    }
+
     private static class BooleanFunc1 implements BaseSrcAPI.BooleanFunc1 {
         private Method method;
         public BooleanFunc1(String methodName) {
@@ -243,12 +347,19 @@ abstract public class CustomSrc extends BaseSrc {
     }
     private static final BooleanFunc1 isSeekableCallback = new BooleanFunc1("srcIsSeekable");
     private static final BooleanFunc1 startCallback = new BooleanFunc1("srcStart");
-    private static final BooleanFunc1 stopCallback = new BooleanFunc1("srcStop");
+    private static final BooleanFunc1 stopCallback = new BooleanFunc1("srcStop") {
+        @Override
+        public boolean callback(BaseSrc element) {
+            ((CustomSrc) element).dropPendingBuffers();
+            return super.callback(element);
+        }
+    };
     private static final BooleanFunc1 negotiateCallback = new BooleanFunc1("srcNegotiate");
     private static final BaseSrcAPI.Seek seekCallback = new BaseSrcAPI.Seek() {
        
         public boolean callback(BaseSrc element, GstSegmentStruct segment) {
             try {
+                ((CustomSrc) element).dropPendingBuffers();
                 return ((CustomSrc) element).srcSeek(segment);
             } catch (Exception ex) {
                 return false;
@@ -386,6 +497,8 @@ abstract public class CustomSrc extends BaseSrc {
                 info.create = fillBufferCallback;
             } else if (m.getName().equals("srcCreateBuffer")) {
                 info.create = createBufferCallback;
+            } else if (m.getName().equals("srcCreateBufferList")) {
+                info.create = createBufferListCallback;
             } else if (m.getName().equals("srcStart")) {
                 info.start = startCallback;
             } else if (m.getName().equals("srcStop")) {
@@ -406,6 +519,10 @@ abstract public class CustomSrc extends BaseSrc {
                 info.event = eventCallback;
             }
         }
+        if (info.create == createBufferListCallback) {
+            // Drop the pending buffers on stop, even if srcStop is not overridden
+            info.stop = stopCallback;
+        }
         info.classInit = new GClassInitFunc() {
             public void callback(Pointer g_class, Pointer class_data) {
                 BaseSrcAPI.GstBaseSrcClass base = new BaseSrcAPI.GstBaseSrcClass(g_class);
@@ -20,47 +20,94 @@
 package org.gstreamer.elements;
 
 import java.io.File;
-import java.util.LinkedList;
-import java.util.concurrent.ScheduledExecutorService;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 import org.gstreamer.Bin;
 import org.gstreamer.Buffer;
 import org.gstreamer.Caps;
-import org.gstreamer.ClockTime;
+import org.gstreamer.CapsBuilder;
 import org.gstreamer.Element;
 import org.gstreamer.ElementFactory;
 import org.gstreamer.Format;
-import org.gstreamer.Gst;
 import org.gstreamer.StateChangeReturn;
+import org.gstreamer.lowlevel.AppAPI;
 import org.gstreamer.lowlevel.GstBinAPI;
+import org.gstreamer.lowlevel.GstBufferAPI;
+import org.gstreamer.lowlevel.GstBufferAPI.BufferStruct;
+import org.gstreamer.lowlevel.GstMiniObjectAPI;
+import org.gstreamer.lowlevel.GstMiniObjectAPI.MiniObjectStruct;
 import org.gstreamer.lowlevel.GstNative;
+import org.gstreamer.lowlevel.GstPadAPI;
+import org.gstreamer.lowlevel.GstAPI.GstCallback;
+
+import com.sun.jna.NativeLong;
+import com.sun.jna.Pointer;
 
 /**
  * This bin encapsulates a pipeline that allows to encode RGB buffers into a video
  * file. It uses the AppSrc element to inject the buffers into the gst pipeline.
+ * <p>
+ * Frames passed to {@link #pushRGBFrame} are queued, and pushed into the
+ * AppSrc in batches by a dedicated feeder thread while the AppSrc wants data.
+ * The caps are set once on the AppSrc, and the timestamps are computed from
+ * the frame count, so they do not drift.  Frames pushed as pixel data are
+ * copied into native buffers that are reused once the encoder is done with them.
  */
 public class RGBDataFileSink extends Bin {
+    private static final Logger logger = Logger.getLogger(RGBDataFileSink.class.getName());
     private static final GstBinAPI gst = GstNative.load(GstBinAPI.class);
+    private static final GstBufferAPI bufferAPI = GstBufferAPI.GSTBUFFER_API;
+    private static final GstMiniObjectAPI miniObjectAPI = GstMiniObjectAPI.GSTMINIOBJECT_API;
+    private static final AppAPI app = AppAPI.APP_API;
+
+    /** The maximum number of frames pushed by the feeder in one go */
+    private static final int MAX_BATCH = 32;
+    private static final long SECOND = 1000000000L;
+    private static final long OFFSET_NONE = -1;
+
+    /** A queued frame: a native GstBuffer we hold a reference to */
+    private static final class Frame {
+        final Pointer buffer;
+        final boolean pooled;
+        Frame(Pointer buffer, boolean pooled) {
+            this.buffer = buffer;
+            this.pooled = pooled;
+        }
+    }
 
-    private final LinkedList<Buffer> preQueue;
+    private final LinkedBlockingQueue<Frame> preQueue = new LinkedBlockingQueue<Frame>();
+    private final ArrayDeque<Pointer> bufferPool = new ArrayDeque<Pointer>();
     private final AppSrc source;
     private final Caps videoCaps;
 
     private final AppSrcNeedDataListener needDataListener;
     private final AppSrcEnoughDataListener enoughDataListener;
-    private final BufferDispatcher bufferDispatcher;
+    private final GstCallback encodedProbe;
+    private final NativeLong encodedProbeId;
+    private final Object flowLock = new Object();
     private final int FPS;
-    private final int NANOS_PER_FRAME;
     private final int sourceWidth;
     private final int sourceHeight;
+    private final int frameSize;
 
-    private int PRE_QUEUE_SIZE;    
-    private int SRC_QUEUE_SIZE;
-    private int numDroppedFrames;
-        
-    private boolean sendingData;
-    private int frameCount;
-    private ScheduledExecutorService executor;
+    private volatile int PRE_QUEUE_SIZE;
+    private volatile int SRC_QUEUE_SIZE;
+    private final AtomicLong numDroppedFrames = new AtomicLong(0);
+    private final AtomicLong numPushedFrames = new AtomicLong(0);
+    private final AtomicLong numEncodedFrames = new AtomicLong(0);
+
+    private volatile boolean sendingData;
+    private volatile boolean running;
+    private long frameCount;
+    private Thread feeder;
 
     /**
      * Creates a new RGBDataFileSink.
@@ -78,54 +125,61 @@ public class RGBDataFileSink extends Bin {
     public RGBDataFileSink(String name, int width, int height, int fps, String encoderStr, String[] encoderPropertyNames, Object[] encoderPropertyData, String muxerStr, File file) {
         super(initializer(gst.ptr_gst_bin_new(name)));
 
-        preQueue = new LinkedList<Buffer>();
- 
         // Maximum number of frames that can be buffered before the entering into the
-        // encoding queue in gstreamer. 0 means no limit.   
+        // encoding queue in gstreamer. 0 means no limit.
         PRE_QUEUE_SIZE = 0;
-        
+
         // Maximum number of frames that can be enqueued in the endcoding pipeline.
         SRC_QUEUE_SIZE = 30;
 
-        numDroppedFrames = 0;
-        
         sourceWidth = width;
         sourceHeight = height;
+        frameSize = width * height * 4;
         FPS = fps;
-        NANOS_PER_FRAME = (int)(1e9 / FPS);
 
-        videoCaps = Caps.fromString("video/x-raw-rgb,width=" + width + ",height=" + height + "," +
-                                    "bpp=32,endianness=4321,depth=24,red_mask=65280,green_mask=16711680,blue_mask=-16777216," +
-                                    "framerate=" + fps + "/1");
+        videoCaps = new CapsBuilder("video/x-raw-rgb").setInteger("width", width).setInteger("height", height)
+                .setInteger("bpp", 32).setInteger("endianness", 4321).setInteger("depth", 24)
+                .setInteger("red_mask", 65280).setInteger("green_mask", 16711680).setInteger("blue_mask", -16777216)
+                .setFraction("framerate", fps, 1).build();
 
         // Building pipeline.
         source = (AppSrc)ElementFactory.make("appsrc", "source");
-        
+
         source.setLive(true);
-        
-        // Using either BUFFERS or TIME doesn't seem
-        // to make a difference, but BUFFERS make more
-        // sense with the buffer timestamping. See comments
-        // in pushBuffer() method below.
+
+        // The buffers are timestamped from the frame count, see pushFrame().
         source.setFormat(Format.BUFFERS);
-        //source.setFormat(Format.TIME);
-        
+
         source.setLatency(-1, 0);
         source.setSize(-1);
+        // The caps are set on the AppSrc only; it puts them on the
+        // buffers it pushes.
         source.setCaps(videoCaps);
-        source.setMaxBytes(SRC_QUEUE_SIZE * sourceWidth * sourceHeight * 4);
+        source.setMaxBytes(SRC_QUEUE_SIZE * frameSize);
+        source.set("block", false);
 
+        // The listeners stay connected for the lifetime of the sink, and only
+        // toggle the flag the feeder thread waits on.
         needDataListener = new AppSrcNeedDataListener();
         enoughDataListener = new AppSrcEnoughDataListener();
         source.connect(needDataListener);
         source.connect(enoughDataListener);
 
-        bufferDispatcher = new BufferDispatcher();
-        executor = Gst.getScheduledExecutorService();
+        // Counts the buffers leaving the AppSrc, i.e. taken by the encoder.
+        encodedProbe = new GstCallback() {
+            @SuppressWarnings("unused")
+            public boolean callback(Pointer pad, Pointer buffer, Pointer data) {
+                numEncodedFrames.incrementAndGet();
+                return true;
+            }
+        };
+        encodedProbeId = GstPadAPI.GSTPAD_API.gst_pad_add_buffer_probe(
+                source.getStaticPad("src"), encodedProbe, null);
 
         Element formatConverter = ElementFactory.make("ffmpegcolorspace", "formatConverter");
         Element formatFilter = ElementFactory.make("capsfilter", "formatFilter");
-        Caps capsFormat = Caps.fromString("video/x-raw-yuv,format=(fourcc)I420,width=" + width + ",height=" + height);
+        Caps capsFormat = new CapsBuilder("video/x-raw-yuv").setFourcc("format", "I420")
+                .setInteger("width", width).setInteger("height", height).build();
         formatFilter.setCaps(capsFormat);
 
         Element encoder = ElementFactory.make(encoderStr, "encoder");
@@ -153,44 +207,106 @@ public class RGBDataFileSink extends Bin {
      * Pushes a buffer down the pipeline.
      *
      * @param buf The buffer to push. Actually, it is not immediately pushed into
-     * the gst pipeline, but it is added to a fifo linked list that holds the buffer
+     * the gst pipeline, but it is added to a fifo queue that holds the buffer
      * temporarily until the AppSrc requests more data for its internal queue.
+     * The sink takes ownership of the buffer.
      *
      */
     public void pushRGBFrame(Buffer buf)
     {
-        addBuffer(buf);
-
-        // Find the way to set bufferDispatcher only once but gets executed periodically
-        // See the documentation of
-        // public static ScheduledExecutorService newSingleThreadScheduledExecutor(ThreadFactory threadFactory)
-        // "Creates a single-threaded executor that can schedule commands
-        // to run after a given delay, or to execute periodically..."
-        executor.execute(bufferDispatcher);
+        Pointer ptr = buf.getNativeAddress();
+        miniObjectAPI.gst_mini_object_ref(ptr);
+        buf.dispose();
+        addFrame(new Frame(ptr, false));
+    }
+
+    /**
+     * Pushes a frame down the pipeline, copying it into a pooled buffer.
+     *
+     * @param pixels The pixels of the frame, one int per pixel in 0xRRGGBB
+     * order, at least width * height of them.
+     */
+    public void pushRGBFrame(int[] pixels)
+    {
+        int count = sourceWidth * sourceHeight;
+        if (pixels.length < count) {
+            throw new IllegalArgumentException("Frame too small: " + pixels.length
+                    + " pixels, expected " + count);
+        }
+        Pointer ptr = obtainBuffer();
+        ptr.getPointer(BufferStruct.DATA_OFFSET).write(0, pixels, 0, count);
+        addFrame(new Frame(ptr, true));
+    }
+
+    /**
+     * Pushes a frame down the pipeline, copying it into a pooled buffer.
+     *
+     * @param pixels The pixel data of the frame, in the layout of the caps of
+     * this sink, from the current position of the buffer. The position of the
+     * buffer is not changed.
+     */
+    public void pushRGBFrame(ByteBuffer pixels)
+    {
+        if (pixels.remaining() < frameSize) {
+            throw new IllegalArgumentException("Frame too small: " + pixels.remaining()
+                    + " bytes, expected " + frameSize);
+        }
+        Pointer ptr = obtainBuffer();
+        ByteBuffer src = pixels.duplicate();
+        src.limit(src.position() + frameSize);
+        ptr.getPointer(BufferStruct.DATA_OFFSET).getByteBuffer(0, frameSize).put(src);
+        addFrame(new Frame(ptr, true));
     }
 
     /**
-     * Sets the state of the pipeline to PLAYING.
+     * Sets the state of the pipeline to PLAYING, and starts the feeder thread.
      *
      */
-    public StateChangeReturn start()
+    public synchronized StateChangeReturn start()
     {
-        frameCount = 0;
+        if (feeder == null) {
+            frameCount = 0;
+            running = true;
+            feeder = new Thread(new Runnable() {
+                public void run() {
+                    feed();
+                }
+            }, getName() + " feeder");
+            feeder.setDaemon(true);
+            feeder.start();
+        }
         return play();
     }
 
-    
+
     /**
      * Sets the state of the pipeline to NULL and closes the stream.
+     * <p>
+     * The frames still queued are pushed before the end of the stream.
      *
      */
     @Override
-	public StateChangeReturn stop()
+    public synchronized StateChangeReturn stop()
     {
-        source.endOfStream();
-    	return super.stop();        
+        if (feeder != null) {
+            running = false;
+            synchronized (flowLock) {
+                flowLock.notifyAll();
+            }
+            try {
+                feeder.join();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            feeder = null;
+        } else {
+            source.endOfStream();
+        }
+        StateChangeReturn ret = super.stop();
+        releasePool();
+        return ret;
     }
-    
+
     /**
      * Sets the size of the pre-encoding queue, which is stored on the Java side.
      *
@@ -200,7 +316,7 @@ public class RGBDataFileSink extends Bin {
     {
         PRE_QUEUE_SIZE = nFrames;
     }
-    
+
     /**
      * Returns the size of the pre-encoding queue.
      *
@@ -209,7 +325,7 @@ public class RGBDataFileSink extends Bin {
     {
         return PRE_QUEUE_SIZE;
     }
-    
+
     /**
      * Returns the number of frames currently stored in pre-encoding
      * queue, still not sent to the encoding pipeline.
@@ -219,7 +335,7 @@ public class RGBDataFileSink extends Bin {
     {
         return preQueue.size();
     }
-    
+
     /**
      * Sets the size of the AppSrc queue.
      *
@@ -228,7 +344,7 @@ public class RGBDataFileSink extends Bin {
     public void setSrcQueueSize(int nFrames)
     {
         SRC_QUEUE_SIZE = nFrames;
-        source.setMaxBytes(SRC_QUEUE_SIZE * sourceWidth * sourceHeight * 4);
+        source.setMaxBytes(SRC_QUEUE_SIZE * frameSize);
     }
 
     /**
@@ -243,11 +359,42 @@ public class RGBDataFileSink extends Bin {
     /**
      * Returns the number of dropped frames until now.
      *
-     */    
+     */
     public int getNumDroppedFrames() {
-      return numDroppedFrames;
+      return (int) numDroppedFrames.get();
+    }
+
+    /**
+     * Returns the number of frames pushed into the encoding pipeline until now.
+     *
+     */
+    public long getNumPushedFrames() {
+        return numPushedFrames.get();
+    }
+
+    /**
+     * Returns the number of frames taken by the encoder until now.
+     *
+     */
+    public long getNumEncodedFrames() {
+        return numEncodedFrames.get();
     }
-    
+
+    /**
+     * Returns the number of frames pushed into the encoding pipeline, but not
+     * yet taken by the encoder.
+     *
+     */
+    public int getEncodeLag() {
+        return (int) Math.max(0, numPushedFrames.get() - numEncodedFrames.get());
+    }
+
+    @Override
+    public void dispose() {
+        GstPadAPI.GSTPAD_API.gst_pad_remove_buffer_probe(source.getStaticPad("src"), encodedProbeId);
+        super.dispose();
+    }
+
     /**
      * A listener class that handles the need-data signal from the AppSrc element.
      *
@@ -258,13 +405,9 @@ public class RGBDataFileSink extends Bin {
             if (!sendingData)
             {
                 sendingData = true;
-
-                // If needDataListener is not disconnected, then it keeps triggering
-                // "need-data" signals... This shouldn't happen. Bug in the signal
-                // handling in Gstreamer-java?
-                // Same thing in stopSendingData below.
-                source.disconnect(needDataListener);
-                source.connect(enoughDataListener);
+                synchronized (flowLock) {
+                    flowLock.notifyAll();
+                }
             }
         }
     }
@@ -276,60 +419,163 @@ public class RGBDataFileSink extends Bin {
     class AppSrcEnoughDataListener implements AppSrc.ENOUGH_DATA {
         public void enoughData(AppSrc elem)
         {
-            if (sendingData)
-            {
-                sendingData = false;
-                source.connect(needDataListener);
-                source.disconnect(enoughDataListener);
-            }
+            sendingData = false;
         }
     }
 
     /**
-     * Adds a buffer to the fifo linked list.
+     * Adds a frame to the fifo queue, or drops it if the queue is full.
      *
      */
-    private void addBuffer(Buffer buf)
-    {       
-        if (PRE_QUEUE_SIZE <= 0 || (preQueue.size() + 1 < PRE_QUEUE_SIZE)) 
+    private void addFrame(Frame frame)
+    {
+        int max = PRE_QUEUE_SIZE;
+        if (max <= 0 || preQueue.size() < max)
         {
-            preQueue.add(buf);
+            preQueue.add(frame);
         } else {
-            numDroppedFrames++;          
+            numDroppedFrames.incrementAndGet();
+            release(frame);
         }
     }
 
     /**
-     * It pushes a buffer into the gst pipeline.
+     * The feeder thread loop: takes frames off the queue in batches, and
+     * pushes them into the AppSrc while it wants data.  Once stopped, it pushes
+     * whatever is left and ends the stream.
      *
      */
-    private void pushBuffer()
+    private void feed()
     {
-        if (sendingData)
-            if (0 < preQueue.size())
-            {
-                // There are buffers available in the fifo list to be sent to the
-                // appsrc queue.
-                Buffer buf = preQueue.remove(0);
-                frameCount++;
-
-                long f = (long)frameCount * NANOS_PER_FRAME;
-                buf.setCaps(videoCaps);
-                buf.setTimestamp(ClockTime.fromNanos(f));
-                buf.setDuration(ClockTime.fromNanos(NANOS_PER_FRAME));
-                source.pushBuffer(buf);
-                buf.dispose();
+        List<Frame> batch = new ArrayList<Frame>(MAX_BATCH);
+        int next = 0;
+        try {
+            while (true) {
+                if (next == batch.size()) {
+                    batch.clear();
+                    next = 0;
+                    Frame frame = preQueue.poll(100, TimeUnit.MILLISECONDS);
+                    if (frame == null) {
+                        if (!running) {
+                            break;
+                        }
+                        continue;
+                    }
+                    batch.add(frame);
+                    preQueue.drainTo(batch, MAX_BATCH - 1);
+                }
+                synchronized (flowLock) {
+                    while (running && !sendingData) {
+                        flowLock.wait();
+                    }
+                }
+                while (next < batch.size() && (sendingData || !running)) {
+                    pushFrame(batch.get(next++));
+                }
+            }
+            source.endOfStream();
+        } catch (InterruptedException ex) {
+            // Fall through and release the frames not pushed
+        } catch (Throwable t) {
+            logger.log(Level.WARNING, "Feeder thread failed", t);
+        } finally {
+            for (int i = next; i < batch.size(); ++i) {
+                release(batch.get(i));
+            }
+            Frame frame;
+            while ((frame = preQueue.poll()) != null) {
+                release(frame);
             }
+        }
     }
 
     /**
-     * The runnable that pushes one buffer down the gst pipeline.
+     * Timestamps a frame from the frame count and pushes it into the AppSrc.
      *
      */
-    class BufferDispatcher implements Runnable {
-        public void run()
-        {
-            pushBuffer();
+    private void pushFrame(Frame frame)
+    {
+        Pointer ptr = frame.buffer;
+        long timestamp = frameCount * SECOND / FPS;
+        long end = ++frameCount * SECOND / FPS;
+        ptr.setLong(BufferStruct.TIMESTAMP_OFFSET, timestamp);
+        ptr.setLong(BufferStruct.DURATION_OFFSET, end - timestamp);
+        if (frame.pooled) {
+            // Keep a reference, so the buffer can be reused once the
+            // pipeline has released it.
+            miniObjectAPI.gst_mini_object_ref(ptr);
+        }
+        app.ptr_gst_app_src_push_buffer(source, ptr);
+        numPushedFrames.incrementAndGet();
+        if (frame.pooled) {
+            recycle(ptr);
+        }
+    }
+
+    /**
+     * Gets a frame sized buffer, reusing the oldest pooled one if nothing
+     * else holds a reference to it.
+     *
+     */
+    private Pointer obtainBuffer()
+    {
+        synchronized (bufferPool) {
+            Pointer ptr = bufferPool.peekFirst();
+            if (ptr != null && ptr.getInt(MiniObjectStruct.REFCOUNT_OFFSET) == 1) {
+                return resetBuffer(bufferPool.pollFirst());
+            }
+        }
+        Pointer ptr = bufferAPI.ptr_gst_buffer_new_and_alloc(frameSize);
+        if (ptr == null) {
+            throw new OutOfMemoryError("Could not allocate Buffer of size " + frameSize);
+        }
+        return ptr;
+    }
+
+    /**
+     * Clears what the pipeline left on a pooled buffer (flags such as
+     * DISCONT or DELTA_UNIT, offsets and caps), so it goes out like a new one.
+     *
+     */
+    private Pointer resetBuffer(Pointer ptr)
+    {
+        ptr.setInt(BufferStruct.FLAGS_OFFSET, 0);
+        ptr.setLong(BufferStruct.OFFSET_OFFSET, OFFSET_NONE);
+        ptr.setLong(BufferStruct.OFFSET_END_OFFSET, OFFSET_NONE);
+        bufferAPI.ptr_gst_buffer_set_caps(ptr, null);
+        return ptr;
+    }
+
+    private void recycle(Pointer ptr)
+    {
+        Pointer evicted = null;
+        synchronized (bufferPool) {
+            bufferPool.addLast(ptr);
+            if (bufferPool.size() > 2 * SRC_QUEUE_SIZE + MAX_BATCH) {
+                evicted = bufferPool.pollFirst();
+            }
+        }
+        if (evicted != null) {
+            miniObjectAPI.gst_mini_object_unref(evicted);
+        }
+    }
+
+    private void release(Frame frame)
+    {
+        if (frame.pooled) {
+            recycle(frame.buffer);
+        } else {
+            miniObjectAPI.gst_mini_object_unref(frame.buffer);
+        }
+    }
+
+    private void releasePool()
+    {
+        synchronized (bufferPool) {
+            Pointer ptr;
+            while ((ptr = bufferPool.poll()) != null) {
+                miniObjectAPI.gst_mini_object_unref(ptr);
+            }
         }
     }
 }
@@ -24,6 +24,7 @@ import java.nio.IntBuffer;
 import org.gstreamer.Bin;
 import org.gstreamer.Buffer;
 import org.gstreamer.Caps;
+import org.gstreamer.CapsBuilder;
 import org.gstreamer.Element;
 import org.gstreamer.ElementFactory;
 import org.gstreamer.GhostPad;
@@ -67,13 +68,14 @@ public class RGBDataSink extends Bin {
         //
         Element conv = ElementFactory.make("ffmpegcolorspace", "ColorConverter");
         Element videofilter = ElementFactory.make("capsfilter", "ColorFilter");
-        StringBuilder caps = new StringBuilder("video/x-raw-rgb, bpp=32, depth=24, endianness=(int)4321, ");
+        CapsBuilder caps = new CapsBuilder("video/x-raw-rgb").setInteger("bpp", 32)
+                .setInteger("depth", 24).setInteger("endianness", 4321);
         // JNA creates ByteBuffer using native byte order, set masks according to that.
         if (ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN)
-          caps.append("red_mask=(int)0xFF00, green_mask=(int)0xFF0000, blue_mask=(int)0xFF000000");
+          caps.setInteger("red_mask", 0xFF00).setInteger("green_mask", 0xFF0000).setInteger("blue_mask", 0xFF000000);
         else
-          caps.append("red_mask=(int)0xFF0000, green_mask=(int)0xFF00, blue_mask=(int)0xFF");
-        videofilter.setCaps(new Caps(caps.toString()));
+          caps.setInteger("red_mask", 0xFF0000).setInteger("green_mask", 0xFF00).setInteger("blue_mask", 0xFF);
+        videofilter.setCaps(caps.intern());
         addMany(conv, videofilter, videosink);
         Element.linkMany(conv, videofilter, videosink);
         
@@ -23,7 +23,6 @@ package org.gstreamer.event;
 
 import org.gstreamer.Event;
 import org.gstreamer.Structure;
-import org.gstreamer.lowlevel.GType;
 import org.gstreamer.lowlevel.GstNative;
 import org.gstreamer.lowlevel.annotations.Invalidate;
 
@@ -162,11 +161,12 @@ public class NavigationEvent extends Event {
     }
     private static final class MouseEvent extends NavigationEvent {
         public MouseEvent(String event, double x, double y, int button) {
-            super(new Structure("application/x-gst-navigation", 
-                "event", GType.STRING, event,
-                "button", GType.INT, button, 
-                "pointer_x", GType.DOUBLE, x,
-                "pointer_y", GType.DOUBLE, y));
+            super(new Structure.Builder("application/x-gst-navigation")
+                .setString("event", event)
+                .setInteger("button", button)
+                .setDouble("pointer_x", x)
+                .setDouble("pointer_y", y)
+                .build());
         }
         
         /**
@@ -185,9 +185,10 @@ public class NavigationEvent extends Event {
     }
     private static final class KeyEvent extends NavigationEvent {
         public KeyEvent(String event, String key) {
-            super(new Structure("application/x-gst-navigation", 
-                "event", GType.STRING, event,
-                "key", GType.STRING, key));
+            super(new Structure.Builder("application/x-gst-navigation")
+                .setString("event", event)
+                .setString("key", key)
+                .build());
         }
         
         /**
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2026 agent
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.gstreamer.example;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.gstreamer.Bus;
+import org.gstreamer.Gst;
+import org.gstreamer.GstObject;
+import org.gstreamer.Pipeline;
+import org.gstreamer.message.EOSMessage;
+
+/**
+ * Measures how Bus message dispatch scales with many idle pipelines, each of
+ * which has a listener that blocks for a while.
+ * <p>
+ * Usage: DispatchScaling [pipelines] [service|pool:N|virtual] [block ms]
+ * <p>
+ * With the default service thread, the total time grows with the number of
+ * pipelines, since every blocking listener runs on the same thread.  With a
+ * dispatch pool it is divided by the pool size, and with virtual threads it
+ * stays close to the time a single listener blocks for.
+ */
+public class DispatchScaling {
+    public static void main(String[] args) throws Exception {
+        final int count = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        final String mode = args.length > 1 ? args[1] : "virtual";
+        final long blockTime = args.length > 2 ? Long.parseLong(args[2]) : 10;
+
+        if (mode.startsWith("pool:")) {
+            Gst.setDispatchThreads(Integer.parseInt(mode.substring(5)));
+        } else if (mode.equals("virtual")) {
+            Gst.setUseVirtualThreads(true);
+            Gst.setDispatchThreads(Runtime.getRuntime().availableProcessors());
+        }
+        args = Gst.init("DispatchScaling", args);
+        System.out.println("Virtual thread dispatch: " + Gst.isUsingVirtualThreads());
+
+        final Pipeline[] pipelines = new Pipeline[count];
+        final CountDownLatch delivered = new CountDownLatch(count);
+        for (int i = 0; i < count; ++i) {
+            pipelines[i] = Pipeline.launch("fakesrc ! fakesink");
+            pipelines[i].getBus().connect(new Bus.EOS() {
+                public void endOfStream(GstObject source) {
+                    try {
+                        Thread.sleep(blockTime);
+                    } catch (InterruptedException ex) {}
+                    delivered.countDown();
+                }
+            });
+        }
+        int threads = Thread.activeCount();
+
+        long start = System.nanoTime();
+        for (Pipeline pipeline : pipelines) {
+            pipeline.getBus().post(new EOSMessage(pipeline));
+        }
+        if (!delivered.await(10 * 60, TimeUnit.SECONDS)) {
+            System.out.println("Timed out waiting for messages");
+        }
+        long elapsed = System.nanoTime() - start;
+
+        long maxLatency = 0, totalLatency = 0;
+        for (Pipeline pipeline : pipelines) {
+            Bus bus = pipeline.getBus();
+            maxLatency = Math.max(maxLatency, bus.getMaxDispatchLatency(TimeUnit.MICROSECONDS));
+            totalLatency += bus.getAverageDispatchLatency(TimeUnit.MICROSECONDS);
+        }
+        System.out.printf("%d pipelines, mode=%s: all delivered in %d ms\n",
+                count, mode, TimeUnit.NANOSECONDS.toMillis(elapsed));
+        System.out.printf("dispatch latency: avg %d us, max %d us\n",
+                totalLatency / count, maxLatency);
+        System.out.printf("platform threads: %d before dispatch, %d after\n",
+                threads, Thread.activeCount());
+
+        for (Pipeline pipeline : pipelines) {
+            pipeline.dispose();
+        }
+        Gst.deinit();
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2026 agent
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.gstreamer.example;
+
+import org.gstreamer.Bin;
+import org.gstreamer.Element;
+import org.gstreamer.ElementFactory;
+import org.gstreamer.Gst;
+import org.gstreamer.Visitor;
+
+/**
+ * Times walking the elements of a bin with many children, as a list and
+ * with a visitor.
+ * <p>
+ * Usage: IteratorBenchmark [elements] [rounds]
+ */
+public class IteratorBenchmark {
+    public static void main(String[] args) {
+        args = Gst.init("IteratorBenchmark", args);
+        final int count = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+        final int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+
+        Bin bin = new Bin("bin");
+        for (int i = 0; i < count; ++i) {
+            bin.add(ElementFactory.make("identity", "identity" + i));
+        }
+
+        final int[] visited = new int[1];
+        Visitor<Element> visitor = new Visitor<Element>() {
+            public boolean visit(Element element) {
+                ++visited[0];
+                return true;
+            }
+        };
+        // Warm up
+        for (int i = 0; i < rounds / 10; ++i) {
+            bin.getElements();
+            bin.forEachElement(visitor);
+        }
+
+        long start = System.nanoTime();
+        long total = 0;
+        for (int i = 0; i < rounds; ++i) {
+            total += bin.getElements().size();
+        }
+        long listTime = System.nanoTime() - start;
+
+        visited[0] = 0;
+        start = System.nanoTime();
+        for (int i = 0; i < rounds; ++i) {
+            bin.forEachElement(visitor);
+        }
+        long visitTime = System.nanoTime() - start;
+
+        System.out.printf("%d elements, %d rounds\n", count, rounds);
+        System.out.printf("getElements():    %d ns per element (%d seen)\n",
+                listTime / total, total);
+        System.out.printf("forEachElement(): %d ns per element (%d seen)\n",
+                visitTime / Math.max(1, visited[0]), visited[0]);
+        bin.dispose();
+        Gst.deinit();
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2026 agent
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+
+package org.gstreamer.example;
+
+import java.lang.management.ManagementFactory;
+
+import org.gstreamer.Gst;
+import org.gstreamer.Pipeline;
+import org.gstreamer.State;
+
+/**
+ * Times starting up: from JVM start and from the call to {@link Gst#init}
+ * to the first pipeline being built and played.
+ * <p>
+ * Run it once as is and once with <tt>-Dgstreamer.eagerRegistration=true</tt>
+ * to compare lazy and eager registration of the wrapper classes.
+ * <p>
+ * Usage: StartupBenchmark [pipeline description]
+ */
+public class StartupBenchmark {
+    public static void main(String[] args) {
+        long jvmStart = ManagementFactory.getRuntimeMXBean().getStartTime();
+        long start = System.nanoTime();
+        args = Gst.init("StartupBenchmark", args);
+        long initTime = System.nanoTime() - start;
+
+        String description = args.length > 0 ? args[0] : "fakesrc num-buffers=1 ! fakesink";
+        Pipeline pipeline = Pipeline.launch(description);
+        long launchTime = System.nanoTime() - start;
+        pipeline.setState(State.PLAYING);
+        pipeline.getState();
+        long playTime = System.nanoTime() - start;
+
+        System.out.printf("eager registration: %s\n", Boolean.getBoolean("gstreamer.eagerRegistration"));
+        System.out.printf("Gst.init():         %d ms\n", initTime / 1000000);
+        System.out.printf("Pipeline.launch():  %d ms\n", launchTime / 1000000);
+        System.out.printf("PLAYING:            %d ms\n", playTime / 1000000);
+        System.out.printf("since JVM start:    %d ms\n", System.currentTimeMillis() - jvmStart);
+        pipeline.setState(State.NULL);
+        pipeline.dispose();
+        Gst.deinit();
+    }
+}
@@ -21,70 +21,150 @@ package org.gstreamer.glib;
 import static org.gstreamer.lowlevel.GlibAPI.GLIB_API;
 
 import java.util.ArrayList;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.Queue;
 import java.util.concurrent.AbstractExecutorService;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Delayed;
 import java.util.concurrent.Executors;
 import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 import org.gstreamer.lowlevel.GMainContext;
 import org.gstreamer.lowlevel.GSource;
 
 /**
  * Wraps the glib main loop/main context in a ScheduledExecutor interface.
+ * <p>
+ * Tasks passed to {@link #execute} are queued on a lock-free queue, and run in
+ * batches from a single wakeup source that stays attached to the main context,
+ * so submitting tasks from streaming threads never blocks, and does not create
+ * a new native source per batch.  On glib versions older than 2.36, which
+ * cannot wake a source up on demand, a new idle source is attached instead
+ * whenever the queue goes from empty to non-empty.
  */
 public class MainContextExecutorService extends AbstractExecutorService implements ScheduledExecutorService {
+    private static final Logger logger = Logger.getLogger(MainContextExecutorService.class.getName());
+    
+    /** The maximum number of tasks run before returning to the main loop */
+    private static final int MAX_BATCH = 4096;
+    
     private final GMainContext context;
-    private GSource idleSource = null;
-    private final List<Runnable> bgTasks = new LinkedList<Runnable>();
+    private final GSource wakeupSource;
+    /*
+     * The idle source of the current batch, when there is no wakeup source.
+     * It holds the native callback, so it must stay reachable until the
+     * callback returns false; it is only replaced once the batch has run.
+     */
+    private volatile GSource idleSource;
+    private final Queue<Runnable> bgTasks = new ConcurrentLinkedQueue<Runnable>();
+    private final AtomicBoolean wakeupPending = new AtomicBoolean(false);
+    private final AtomicBoolean disposed = new AtomicBoolean(false);
+    private final CountDownLatch terminated = new CountDownLatch(1);
     private volatile boolean running = true;
     
     public MainContextExecutorService(GMainContext context) {
         this.context = context;
+        this.wakeupSource = GSource.newWakeupSource(idleCallback);
+        if (wakeupSource != null) {
+            wakeupSource.attach(context);
+        }
     }
     private final Callable<Boolean> idleCallback = new Callable<Boolean>() {
 
         public Boolean call() throws Exception {
-            //            System.out.println("Running g_idle callbacks");
-            List<Runnable> tasks = new ArrayList<Runnable>();
-            synchronized (bgTasks) {
-                tasks.addAll(bgTasks);
-                bgTasks.clear();
+            if (wakeupSource != null) {
+                // Go back to sleep; any wakeup from here on will dispatch again
+                wakeupSource.setReadyTime(-1);
+            }
+            for (int i = 0; i < MAX_BATCH; ++i) {
+                Runnable r = bgTasks.poll();
+                if (r == null) {
+                    break;
+                }
+                try {
+                    r.run();
+                } catch (Throwable t) {
+                    logger.log(Level.WARNING, "Uncaught exception in main context task", t);
+                }
             }
-            for (Runnable r : tasks) {
-                r.run();
+            wakeupPending.set(false);
+            if (!bgTasks.isEmpty()) {
+                wakeup();
+            } else if (!running) {
+                terminate();
             }
-            return false;
+            // The persistent wakeup source must stay attached
+            return wakeupSource != null;
         }
     };
     private void invokeLater(final Runnable r) {
-        //        System.out.println("Scheduling idle callbacks");
-        synchronized (bgTasks) {
-            boolean empty = bgTasks.isEmpty();
-            bgTasks.add(r);
-            // Only trigger the callback if there were no existing elements in the list
-            // otherwise it is already triggered
-            if (empty) {
-                idleSource = GLIB_API.g_idle_source_new();
-                idleSource.setCallback(idleCallback);
-                idleSource.attach(context);
+        if (!running) {
+            throw new RejectedExecutionException("Executor has been shut down");
+        }
+        bgTasks.add(r);
+        if (!running && bgTasks.remove(r)) {
+            // Raced with shutdown, which will not see the task
+            throw new RejectedExecutionException("Executor has been shut down");
+        }
+        wakeup();
+    }
+    /**
+     * Arranges for the queued tasks to be run from the main context, unless
+     * that is already pending.
+     */
+    private void wakeup() {
+        if (!wakeupPending.compareAndSet(false, true)) {
+            return;
+        }
+        if (wakeupSource != null) {
+            wakeupSource.setReadyTime(0);
+        } else {
+            GSource source = GLIB_API.g_idle_source_new();
+            source.setCallback(idleCallback);
+            idleSource = source;
+            source.attach(context);
+        }
+    }
+    private void terminate() {
+        if (disposed.compareAndSet(false, true)) {
+            if (wakeupSource != null) {
+                wakeupSource.dispose();
             }
+            terminated.countDown();
         }
     }
     public void shutdown() {
-        shutdownNow();
+        running = false;
+        // If no dispatch is pending, nothing else will terminate the executor
+        if (wakeupPending.compareAndSet(false, true)) {
+            if (bgTasks.isEmpty()) {
+                terminate();
+            } else {
+                wakeupPending.set(false);
+                wakeup();
+            }
+        }
     }
 
     public List<Runnable> shutdownNow() {
+        running = false;
         List<Runnable> tasks = new ArrayList<Runnable>();
-        synchronized (bgTasks) {
-            tasks.addAll(bgTasks);
-            bgTasks.clear();
+        Runnable r;
+        while ((r = bgTasks.poll()) != null) {
+            tasks.add(r);
+        }
+        // A pending or running dispatch finds the queue empty and terminates
+        if (wakeupPending.compareAndSet(false, true)) {
+            terminate();
         }
         return tasks;
     }
@@ -94,13 +174,11 @@ public class MainContextExecutorService extends AbstractExecutorService implemen
     }
 
     public boolean isTerminated() {
-        synchronized (bgTasks) {
-            return !isShutdown() && bgTasks.isEmpty();
-        }
+        return terminated.getCount() == 0;
     }
 
     public boolean awaitTermination(long timeout, TimeUnit units) throws InterruptedException {
-        throw new UnsupportedOperationException("Not supported yet.");
+        return terminated.await(timeout, units);
     }
 
     public void execute(Runnable runnable) {
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2026 agent
+ *
+ * This file is part of gstreamer-java.
+ *
+ * This code is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * version 3 along with this work.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.gstreamer.io;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.sun.jna.Memory;
+
+/**
+ * Receives frames through shared memory, the same way the <tt>shmsrc</tt>
+ * element does, from a <tt>shmsink</tt> in another process, or from a
+ * {@link ShmFrameWriter}.
+ * <p>
+ * The frames are not copied: {@link Frame#getBuffer} is a read-only view of
+ * the shared memory of the writer, which keeps the frame intact until it is
+ * released with {@link Frame#release}.  Frames should be released promptly,
+ * as the writer cannot reuse their space before.
+ * <p>
+ * For example, to read from a pipeline in another process:
+ * <pre>
+ * // gst-launch videotestsrc ! video/x-raw-rgb,... ! shmsink socket-path=/tmp/video
+ * ShmFrameReader reader = new ShmFrameReader("/tmp/video");
+ * ShmFrameReader.Frame frame;
+ * while ((frame = reader.read()) != null) {
+ *     process(frame.getBuffer());
+ *     frame.release();
+ * }
+ * </pre>
+ */
+public class ShmFrameReader {
+    private final int fd;
+    private final Memory cmd = new Memory(ShmProtocol.COMMAND_SIZE);
+    private final Map<Integer, ByteBuffer> areas = new HashMap<Integer, ByteBuffer>();
+    private volatile boolean closed = false;
+
+    /**
+     * A frame in shared memory, returned by {@link ShmFrameReader#read}.
+     */
+    public final class Frame {
+        private final int areaId;
+        private final long offset;
+        private final ByteBuffer buffer;
+        private boolean released;
+
+        Frame(int areaId, long offset, ByteBuffer buffer) {
+            this.areaId = areaId;
+            this.offset = offset;
+            this.buffer = buffer;
+        }
+
+        /**
+         * Gets the shared memory of this frame.
+         *
+         * @return a read-only {@link ByteBuffer} covering the frame.
+         */
+        public ByteBuffer getBuffer() {
+            return buffer;
+        }
+
+        /**
+         * Tells the writer that this frame is no longer used.  The buffer of
+         * the frame must not be accessed afterwards.
+         */
+        public void release() {
+            synchronized (this) {
+                if (released) {
+                    return;
+                }
+                released = true;
+            }
+            ack(areaId, offset);
+        }
+    }
+
+    /**
+     * Connects to a writer.
+     *
+     * @param socketPath the path of the control socket of the writer.
+     * @throws IOException if the connection failed.
+     */
+    public ShmFrameReader(String socketPath) throws IOException {
+        fd = ShmProtocol.connect(socketPath);
+        // The writer announces its area straight away; map it now, so the
+        // reader keeps it even if the writer goes away before the first read.
+        try {
+            if (!ShmProtocol.recv(fd, cmd, ShmProtocol.COMMAND_SIZE)
+                    || ShmProtocol.type(cmd) != ShmProtocol.COMMAND_NEW_SHM_AREA) {
+                throw new IOException("No shared memory area from " + socketPath);
+            }
+            openArea(ShmProtocol.areaId(cmd), ShmProtocol.word0(cmd), ShmProtocol.pathSize(cmd));
+        } catch (IOException ex) {
+            ShmProtocol.close(fd);
+            throw ex;
+        }
+    }
+
+    /**
+     * Waits for the next frame from the writer.
+     *
+     * @return the next frame, or null if the writer has gone away.
+     * @throws IOException if the connection failed.
+     */
+    public Frame read() throws IOException {
+        while (!closed) {
+            if (!ShmProtocol.recv(fd, cmd, ShmProtocol.COMMAND_SIZE)) {
+                return null;
+            }
+            int areaId = ShmProtocol.areaId(cmd);
+            switch (ShmProtocol.type(cmd)) {
+            case ShmProtocol.COMMAND_NEW_SHM_AREA:
+                openArea(areaId, ShmProtocol.word0(cmd), ShmProtocol.pathSize(cmd));
+                break;
+            case ShmProtocol.COMMAND_CLOSE_SHM_AREA:
+                // The mapping goes away when the last frame using it is collected
+                areas.remove(areaId);
+                break;
+            case ShmProtocol.COMMAND_NEW_BUFFER: {
+                long offset = ShmProtocol.word0(cmd);
+                long size = ShmProtocol.word1(cmd);
+                ByteBuffer area = areas.get(areaId);
+                if (area == null || offset + size > area.capacity()) {
+                    throw new IOException("Invalid buffer in area " + areaId);
+                }
+                ByteBuffer buffer = area.duplicate();
+                buffer.limit((int) (offset + size)).position((int) offset);
+                return new Frame(areaId, offset, buffer.slice());
+            }
+            default:
+                break;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Disconnects from the writer.  Any thread blocked in {@link #read} returns
+     * null.
+     */
+    public void close() {
+        if (!closed) {
+            closed = true;
+            ShmProtocol.close(fd);
+        }
+    }
+
+    private void openArea(int areaId, long size, int pathSize) throws IOException {
+        Memory path = new Memory(pathSize);
+        if (!ShmProtocol.recv(fd, path, pathSize)) {
+            throw new IOException("Connection closed");
+        }
+        String name = path.getString(0);
+        RandomAccessFile file = new RandomAccessFile(ShmProtocol.SHM_DIR + name, "r");
+        try {
+            areas.put(areaId, file.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, size));
+        } finally {
+            file.close();
+        }
+    }
+
+    private synchronized void ack(int areaId, long offset) {
+        if (closed) {
+            return;
+        }
+        try {
+            ShmProtocol.send(fd, ShmProtocol.command(ShmProtocol.COMMAND_ACK_BUFFER, areaId, offset, 0),
+                    ShmProtocol.COMMAND_SIZE);
+        } catch (IOException ex) {
+            // The writer has gone away, and with it the frame
+        }
+    }
+}
@@ -0,0 +1,429 @@
+/*
+ * Copyright (c) 2026 agent
+ *
+ * This file is part of gstreamer-java.
+ *
+ * This code is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * version 3 along with this work.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.gstreamer.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.sun.jna.Memory;
+import com.sun.jna.Pointer;
+
+/**
+ * Publishes frames through shared memory, the same way the <tt>shmsink</tt>
+ * element does, so they can be read by a <tt>shmsrc</tt> in another process,
+ * or by a {@link ShmFrameReader}.
+ * <p>
+ * The writer creates a shared memory area under <code>/dev/shm</code> and
+ * listens for readers on a unix domain socket.  Frames are written straight
+ * into the shared memory: {@link #obtain} hands out a slice of it, which is
+ * then published to all connected readers with {@link #send}.  The space of a
+ * frame is reused once every reader has released it.
+ * <p>
+ * For example, to feed a pipeline in another process:
+ * <pre>
+ * ShmFrameWriter writer = new ShmFrameWriter("/tmp/video", 16 * frameSize);
+ * // gst-launch shmsrc socket-path=/tmp/video ! video/x-raw-rgb,... ! ...
+ * ShmFrameWriter.Frame frame = writer.obtain(frameSize, 1, TimeUnit.SECONDS);
+ * fill(frame.getBuffer());
+ * writer.send(frame);
+ * </pre>
+ */
+public class ShmFrameWriter {
+    private static final Logger logger = Logger.getLogger(ShmFrameWriter.class.getName());
+
+    /** The alignment of frames in the shared memory area */
+    private static final int ALIGN = 64;
+    private static final int POLL_TIMEOUT = 200;
+    private static final AtomicInteger areaCount = new AtomicInteger(0);
+
+    private final String socketPath;
+    private final String areaName;
+    private final File areaFile;
+    private final MappedByteBuffer area;
+    private final int areaId = 1;
+    private final int listenFd;
+    private final Thread service;
+    private final TreeMap<Long, Block> blocks = new TreeMap<Long, Block>();
+    private final List<Client> clients = new ArrayList<Client>();
+    private volatile boolean closed = false;
+
+    /** A piece of the shared memory area waiting to be released by readers */
+    private static final class Block {
+        final long offset;
+        final int size;
+        int pending;
+        Block(long offset, int size) {
+            this.offset = offset;
+            this.size = size;
+        }
+    }
+
+    private static final class Client {
+        final int fd;
+        final Set<Long> outstanding = new HashSet<Long>();
+        Client(int fd) {
+            this.fd = fd;
+        }
+        synchronized void send(Pointer data, int len) throws IOException {
+            ShmProtocol.send(fd, data, len);
+        }
+    }
+
+    /**
+     * A frame in shared memory, obtained from {@link ShmFrameWriter#obtain}.
+     */
+    public static final class Frame {
+        private final Block block;
+        private final ByteBuffer buffer;
+        private boolean done;
+
+        Frame(Block block, ByteBuffer buffer) {
+            this.block = block;
+            this.buffer = buffer;
+        }
+
+        /**
+         * Gets the shared memory of this frame.
+         *
+         * @return a {@link ByteBuffer} covering the frame.
+         */
+        public ByteBuffer getBuffer() {
+            return buffer;
+        }
+    }
+
+    /**
+     * Creates a new writer.
+     *
+     * @param socketPath the path of the control socket, which readers connect to.
+     * @param size the size of the shared memory area.
+     * @throws IOException if the shared memory area or the socket could not
+     * be created.
+     */
+    public ShmFrameWriter(String socketPath, int size) throws IOException {
+        this.socketPath = socketPath;
+        this.areaName = String.format("/shmpipe.%d.%d", ShmProtocol.libc.getpid(),
+                areaCount.incrementAndGet());
+        this.areaFile = new File(ShmProtocol.SHM_DIR + areaName);
+        RandomAccessFile file = new RandomAccessFile(areaFile, "rw");
+        try {
+            file.setLength(size);
+            area = file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+        } catch (IOException ex) {
+            areaFile.delete();
+            throw ex;
+        } finally {
+            file.close();
+        }
+        try {
+            listenFd = ShmProtocol.listen(socketPath);
+        } catch (IOException ex) {
+            areaFile.delete();
+            throw ex;
+        }
+        service = new Thread(new Runnable() {
+            public void run() {
+                serve();
+            }
+        }, "ShmFrameWriter " + socketPath);
+        service.setDaemon(true);
+        service.start();
+    }
+
+    /**
+     * Gets space for a frame in the shared memory area, waiting for readers
+     * to release earlier frames if it is full.
+     *
+     * @param size the size of the frame.
+     * @param timeout how long to wait for space.
+     * @param unit the unit of <tt>timeout</tt>.
+     * @return the frame, or null if there was no space after <tt>timeout</tt>.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    public Frame obtain(int size, long timeout, TimeUnit unit) throws InterruptedException {
+        if (size <= 0 || size > area.capacity()) {
+            throw new IllegalArgumentException("Invalid frame size: " + size);
+        }
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        Block block;
+        synchronized (blocks) {
+            while ((block = allocate(size)) == null) {
+                long remaining = deadline - System.nanoTime();
+                if (closed || remaining <= 0) {
+                    return null;
+                }
+                TimeUnit.NANOSECONDS.timedWait(blocks, remaining);
+            }
+        }
+        ByteBuffer buffer = area.duplicate();
+        buffer.limit((int) block.offset + size).position((int) block.offset);
+        return new Frame(block, buffer.slice());
+    }
+
+    /**
+     * Publishes a frame to all connected readers.  The frame must not be
+     * modified afterwards.
+     * <p>
+     * If there are no readers, the frame is dropped.
+     *
+     * @param frame the frame to publish.
+     */
+    public void send(Frame frame) {
+        Block block = frame.block;
+        List<Client> targets;
+        synchronized (blocks) {
+            if (frame.done) {
+                throw new IllegalStateException("Frame already sent");
+            }
+            frame.done = true;
+            targets = new ArrayList<Client>(clients);
+            block.pending = targets.size();
+            for (Client client : targets) {
+                client.outstanding.add(block.offset);
+            }
+            if (block.pending == 0) {
+                free(block);
+            }
+        }
+        Memory cmd = ShmProtocol.command(ShmProtocol.COMMAND_NEW_BUFFER, areaId,
+                block.offset, block.size);
+        for (Client client : targets) {
+            try {
+                client.send(cmd, ShmProtocol.COMMAND_SIZE);
+            } catch (IOException ex) {
+                dropClient(client);
+            }
+        }
+    }
+
+    /**
+     * Gives back a frame that will not be sent.
+     *
+     * @param frame the frame to discard.
+     */
+    public void discard(Frame frame) {
+        synchronized (blocks) {
+            if (!frame.done) {
+                frame.done = true;
+                free(frame.block);
+            }
+        }
+    }
+
+    /**
+     * Copies data into shared memory and publishes it to all readers.
+     *
+     * @param data the frame data, from its position to its limit.
+     * @param timeout how long to wait for space.
+     * @param unit the unit of <tt>timeout</tt>.
+     * @return false if there was no space for the frame.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    public boolean write(ByteBuffer data, long timeout, TimeUnit unit) throws InterruptedException {
+        Frame frame = obtain(data.remaining(), timeout, unit);
+        if (frame == null) {
+            return false;
+        }
+        frame.getBuffer().put(data.duplicate());
+        send(frame);
+        return true;
+    }
+
+    /**
+     * Gets the number of connected readers.
+     *
+     * @return the number of readers.
+     */
+    public int getClientCount() {
+        synchronized (blocks) {
+            return clients.size();
+        }
+    }
+
+    /**
+     * Gets the path of the control socket.
+     *
+     * @return the socket path.
+     */
+    public String getSocketPath() {
+        return socketPath;
+    }
+
+    /**
+     * Disconnects all readers and removes the shared memory area and the socket.
+     */
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            service.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        List<Client> remaining;
+        synchronized (blocks) {
+            remaining = new ArrayList<Client>(clients);
+        }
+        for (Client client : remaining) {
+            dropClient(client);
+        }
+        ShmProtocol.close(listenFd);
+        new File(socketPath).delete();
+        areaFile.delete();
+        synchronized (blocks) {
+            blocks.notifyAll();
+        }
+    }
+
+    /**
+     * First-fit allocation in the shared memory area.  Called with the
+     * blocks lock held.
+     */
+    private Block allocate(int size) {
+        long pos = 0;
+        for (Block b : blocks.values()) {
+            if (b.offset - pos >= size) {
+                break;
+            }
+            pos = (b.offset + b.size + ALIGN - 1) & ~(ALIGN - 1);
+        }
+        if (pos + size > area.capacity()) {
+            return null;
+        }
+        Block block = new Block(pos, size);
+        blocks.put(pos, block);
+        return block;
+    }
+
+    private void free(Block block) {
+        blocks.remove(block.offset);
+        blocks.notifyAll();
+    }
+
+    private void release(Client client, long offset) {
+        synchronized (blocks) {
+            if (client.outstanding.remove(offset)) {
+                Block block = blocks.get(offset);
+                if (block != null && --block.pending == 0) {
+                    free(block);
+                }
+            }
+        }
+    }
+
+    private void dropClient(Client client) {
+        synchronized (blocks) {
+            if (!clients.remove(client)) {
+                return;
+            }
+            for (Long offset : new ArrayList<Long>(client.outstanding)) {
+                release(client, offset);
+            }
+        }
+        ShmProtocol.close(client.fd);
+    }
+
+    /**
+     * The service thread: accepts new readers, and takes the acknowledgements
+     * of released frames.
+     */
+    private void serve() {
+        Memory cmd = new Memory(ShmProtocol.COMMAND_SIZE);
+        while (!closed) {
+            List<Client> polled;
+            synchronized (blocks) {
+                polled = new ArrayList<Client>(clients);
+            }
+            Memory fds = new Memory(ShmProtocol.POLLFD_SIZE * (polled.size() + 1));
+            fds.clear();
+            fds.setInt(0, listenFd);
+            fds.setShort(4, (short) ShmProtocol.POLLIN);
+            for (int i = 0; i < polled.size(); ++i) {
+                fds.setInt(ShmProtocol.POLLFD_SIZE * (i + 1), polled.get(i).fd);
+                fds.setShort(ShmProtocol.POLLFD_SIZE * (i + 1) + 4, (short) ShmProtocol.POLLIN);
+            }
+            try {
+                if (ShmProtocol.libc.poll(fds, polled.size() + 1, POLL_TIMEOUT) <= 0) {
+                    continue;
+                }
+            } catch (com.sun.jna.LastErrorException ex) {
+                continue;
+            }
+            if ((fds.getShort(6) & ShmProtocol.POLLIN) != 0) {
+                accept();
+            }
+            for (int i = 0; i < polled.size(); ++i) {
+                int revents = fds.getShort(ShmProtocol.POLLFD_SIZE * (i + 1) + 6);
+                if (revents == 0) {
+                    continue;
+                }
+                Client client = polled.get(i);
+                try {
+                    if (!ShmProtocol.recv(client.fd, cmd, ShmProtocol.COMMAND_SIZE)) {
+                        dropClient(client);
+                    } else if (ShmProtocol.type(cmd) == ShmProtocol.COMMAND_ACK_BUFFER) {
+                        release(client, ShmProtocol.word0(cmd));
+                    }
+                } catch (IOException ex) {
+                    dropClient(client);
+                }
+            }
+        }
+    }
+
+    private void accept() {
+        Client client;
+        try {
+            client = new Client(ShmProtocol.accept(listenFd));
+        } catch (IOException ex) {
+            logger.log(Level.WARNING, "Could not accept reader", ex);
+            return;
+        }
+        byte[] path = areaName.getBytes();
+        Memory name = new Memory(path.length + 1);
+        name.write(0, path, 0, path.length);
+        name.setByte(path.length, (byte) 0);
+        try {
+            client.send(ShmProtocol.newShmArea(areaId, area.capacity(), path.length + 1),
+                    ShmProtocol.COMMAND_SIZE);
+            client.send(name, path.length + 1);
+        } catch (IOException ex) {
+            ShmProtocol.close(client.fd);
+            return;
+        }
+        synchronized (blocks) {
+            clients.add(client);
+        }
+    }
+}
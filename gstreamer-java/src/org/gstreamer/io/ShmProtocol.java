@@ -0,0 +1,250 @@
+/*
+ * Copyright (c) 2026 agent
+ *
+ * This file is part of gstreamer-java.
+ *
+ * This code is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * version 3 along with this work.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.gstreamer.io;
+
+import java.io.IOException;
+
+import com.sun.jna.LastErrorException;
+import com.sun.jna.Memory;
+import com.sun.jna.Native;
+import com.sun.jna.NativeLong;
+import com.sun.jna.Pointer;
+
+/**
+ * The control protocol spoken by the <tt>shmsink</tt> and <tt>shmsrc</tt>
+ * elements over their unix domain socket.
+ * <p>
+ * Each message is a native <code>struct CommandBuffer</code>:
+ * <pre>
+ *   unsigned int type;
+ *   int area_id;
+ *   union {
+ *     struct { size_t size; unsigned int path_size; } new_shm_area;  // followed by the path
+ *     struct { unsigned long offset; unsigned long size; } buffer;
+ *     struct { unsigned long offset; } ack_buffer;
+ *   } payload;
+ * </pre>
+ * The shared memory areas themselves are POSIX shared memory objects, which
+ * live under <code>/dev/shm</code> on Linux.
+ */
+final class ShmProtocol {
+    static final int COMMAND_NEW_SHM_AREA = 1;
+    static final int COMMAND_CLOSE_SHM_AREA = 2;
+    static final int COMMAND_NEW_BUFFER = 3;
+    static final int COMMAND_ACK_BUFFER = 4;
+
+    static final int TYPE_OFFSET = 0;
+    static final int AREA_ID_OFFSET = 4;
+    static final int PAYLOAD_OFFSET = 8;
+    /** size_t and unsigned long are both the native word size */
+    static final int WORD_SIZE = NativeLong.SIZE;
+    static final int COMMAND_SIZE = PAYLOAD_OFFSET + 2 * WORD_SIZE;
+
+    static final String SHM_DIR = "/dev/shm";
+
+    private static final int EINTR = 4;
+    private static final int AF_UNIX = 1;
+    private static final int SOCK_STREAM = 1;
+    private static final int SHUT_RDWR = 2;
+    private static final int MSG_NOSIGNAL = 0x4000;
+    private static final int SOCKADDR_UN_SIZE = 110;
+    private static final int LISTEN_BACKLOG = 10;
+
+    static final int POLLIN = 0x1;
+    static final int POLLERR = 0x8;
+    static final int POLLHUP = 0x10;
+    static final int POLLFD_SIZE = 8;
+
+    static interface LibC extends com.sun.jna.Library {
+        LibC INSTANCE = (LibC) Native.loadLibrary("c", LibC.class);
+
+        int socket(int domain, int type, int protocol) throws LastErrorException;
+        int bind(int fd, Pointer addr, int addrlen) throws LastErrorException;
+        int listen(int fd, int backlog) throws LastErrorException;
+        int accept(int fd, Pointer addr, Pointer addrlen) throws LastErrorException;
+        int connect(int fd, Pointer addr, int addrlen) throws LastErrorException;
+        NativeLong send(int fd, Pointer buf, NativeLong len, int flags) throws LastErrorException;
+        NativeLong recv(int fd, Pointer buf, NativeLong len, int flags) throws LastErrorException;
+        int poll(Pointer fds, int nfds, int timeout) throws LastErrorException;
+        int shutdown(int fd, int how);
+        int close(int fd);
+        int getpid();
+    }
+    static final LibC libc = LibC.INSTANCE;
+
+    private ShmProtocol() {
+    }
+
+    private static Memory socketAddress(String path) throws IOException {
+        byte[] bytes = path.getBytes();
+        if (bytes.length >= SOCKADDR_UN_SIZE - 2) {
+            throw new IOException("Socket path too long: " + path);
+        }
+        Memory addr = new Memory(SOCKADDR_UN_SIZE);
+        addr.clear();
+        addr.setShort(0, (short) AF_UNIX);
+        addr.write(2, bytes, 0, bytes.length);
+        return addr;
+    }
+
+    /**
+     * Creates a unix domain socket listening on <tt>path</tt>.
+     */
+    static int listen(String path) throws IOException {
+        Memory addr = socketAddress(path);
+        int fd = socket();
+        try {
+            libc.bind(fd, addr, SOCKADDR_UN_SIZE);
+            libc.listen(fd, LISTEN_BACKLOG);
+        } catch (LastErrorException ex) {
+            libc.close(fd);
+            throw new IOException("Could not listen on " + path + ": " + ex.getMessage());
+        }
+        return fd;
+    }
+
+    /**
+     * Connects a unix domain socket to <tt>path</tt>.
+     */
+    static int connect(String path) throws IOException {
+        Memory addr = socketAddress(path);
+        int fd = socket();
+        try {
+            libc.connect(fd, addr, SOCKADDR_UN_SIZE);
+        } catch (LastErrorException ex) {
+            libc.close(fd);
+            throw new IOException("Could not connect to " + path + ": " + ex.getMessage());
+        }
+        return fd;
+    }
+
+    private static int socket() throws IOException {
+        try {
+            return libc.socket(AF_UNIX, SOCK_STREAM, 0);
+        } catch (LastErrorException ex) {
+            throw new IOException("Could not create socket: " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Accepts a connection on a listening socket.
+     */
+    static int accept(int fd) throws IOException {
+        try {
+            return libc.accept(fd, null, null);
+        } catch (LastErrorException ex) {
+            throw new IOException("Could not accept connection: " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Shuts down and closes a socket, waking up any thread blocked on it.
+     */
+    static void close(int fd) {
+        libc.shutdown(fd, SHUT_RDWR);
+        libc.close(fd);
+    }
+
+    /**
+     * Sends all of <tt>len</tt> bytes.
+     */
+    static void send(int fd, Pointer data, int len) throws IOException {
+        int sent = 0;
+        while (sent < len) {
+            try {
+                sent += libc.send(fd, data.share(sent), new NativeLong(len - sent), MSG_NOSIGNAL).intValue();
+            } catch (LastErrorException ex) {
+                if (ex.getErrorCode() == EINTR) {
+                    continue;
+                }
+                throw new IOException("Could not send: " + ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Receives exactly <tt>len</tt> bytes.
+     *
+     * @return false if the peer closed the connection.
+     */
+    static boolean recv(int fd, Pointer data, int len) throws IOException {
+        int received = 0;
+        while (received < len) {
+            int n;
+            try {
+                n = libc.recv(fd, data.share(received), new NativeLong(len - received), 0).intValue();
+            } catch (LastErrorException ex) {
+                if (ex.getErrorCode() == EINTR) {
+                    continue;
+                }
+                throw new IOException("Could not receive: " + ex.getMessage());
+            }
+            if (n == 0) {
+                return false;
+            }
+            received += n;
+        }
+        return true;
+    }
+
+    /**
+     * Builds a command with up to two payload words.
+     */
+    static Memory command(int type, int areaId, long word0, long word1) {
+        Memory cmd = new Memory(COMMAND_SIZE);
+        cmd.clear();
+        cmd.setInt(TYPE_OFFSET, type);
+        cmd.setInt(AREA_ID_OFFSET, areaId);
+        cmd.setNativeLong(PAYLOAD_OFFSET, new NativeLong(word0));
+        cmd.setNativeLong(PAYLOAD_OFFSET + WORD_SIZE, new NativeLong(word1));
+        return cmd;
+    }
+
+    /**
+     * Builds a NEW_SHM_AREA command; the path is sent separately after it.
+     */
+    static Memory newShmArea(int areaId, long size, int pathSize) {
+        Memory cmd = command(COMMAND_NEW_SHM_AREA, areaId, size, 0);
+        cmd.setInt(PAYLOAD_OFFSET + WORD_SIZE, pathSize);
+        return cmd;
+    }
+
+    static int type(Pointer cmd) {
+        return cmd.getInt(TYPE_OFFSET);
+    }
+
+    static int areaId(Pointer cmd) {
+        return cmd.getInt(AREA_ID_OFFSET);
+    }
+
+    /** The size of a new area, the offset of a new or acked buffer */
+    static long word0(Pointer cmd) {
+        return cmd.getNativeLong(PAYLOAD_OFFSET).longValue();
+    }
+
+    /** The size of a new buffer */
+    static long word1(Pointer cmd) {
+        return cmd.getNativeLong(PAYLOAD_OFFSET + WORD_SIZE).longValue();
+    }
+
+    /** The path size of a new area */
+    static int pathSize(Pointer cmd) {
+        return cmd.getInt(PAYLOAD_OFFSET + WORD_SIZE);
+    }
+}
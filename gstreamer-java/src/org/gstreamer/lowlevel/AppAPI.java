@@ -28,6 +28,11 @@ import org.gstreamer.elements.AppSrc;
 import org.gstreamer.lowlevel.annotations.CallerOwnsReturn;
 import org.gstreamer.lowlevel.annotations.Invalidate;
 
+import java.util.Arrays;
+import java.util.List;
+
+import com.sun.jna.Callback;
+import com.sun.jna.Pointer;
 import com.sun.jna.ptr.LongByReference;
 
 /**
@@ -58,6 +63,7 @@ public interface AppAPI extends com.sun.jna.Library {
     void gst_app_src_flush_queued(AppSrc appsrc);
     
     FlowReturn gst_app_src_push_buffer(AppSrc appsrc, @Invalidate Buffer buffer);
+    FlowReturn ptr_gst_app_src_push_buffer(AppSrc appsrc, Pointer buffer);
     FlowReturn gst_app_src_end_of_stream(AppSrc appsrc);
 
     // AppSink functions
@@ -70,4 +76,29 @@ public interface AppAPI extends com.sun.jna.Library {
 
     @CallerOwnsReturn Buffer gst_app_sink_pull_preroll(AppSink appsink);
     @CallerOwnsReturn Buffer gst_app_sink_pull_buffer(AppSink appsink);
+    Pointer ptr_gst_app_sink_pull_buffer(AppSink appsink);
+
+    interface AppSinkEOSCallback extends Callback {
+        void callback(Pointer appsink, Pointer user_data);
+    }
+    interface AppSinkNewBufferCallback extends Callback {
+        FlowReturn callback(Pointer appsink, Pointer user_data);
+    }
+    public static final class AppSinkCallbacks extends com.sun.jna.Structure {
+        public AppSinkEOSCallback eos;
+        public AppSinkNewBufferCallback new_preroll;
+        public AppSinkNewBufferCallback new_buffer;
+        public AppSinkNewBufferCallback new_buffer_list;
+        public Pointer[] _gst_reserved = new Pointer[GstAPI.GST_PADDING - 1];
+
+        @Override
+        protected List<String> getFieldOrder() {
+            return Arrays.asList(new String[]{
+                "eos", "new_preroll", "new_buffer", "new_buffer_list",
+                "_gst_reserved"
+            });
+        }
+    }
+    void gst_app_sink_set_callbacks(AppSink appsink, AppSinkCallbacks callbacks,
+            Pointer user_data, GlibAPI.GDestroyNotify notify);
 }
@@ -33,7 +33,6 @@ import org.gstreamer.MiniObject;
 import org.gstreamer.Pad;
 import org.gstreamer.StateChangeReturn;
 import org.gstreamer.elements.BaseSink;
-import org.gstreamer.lowlevel.GlibAPI.GList;
 import org.gstreamer.lowlevel.GstAPI.GstSegmentStruct;
 import org.gstreamer.lowlevel.GstElementAPI.GstElementClass;
 import org.gstreamer.lowlevel.GstElementAPI.GstElementStruct;
@@ -154,7 +153,7 @@ public interface BaseSinkAPI extends Library {
         public void callback(BaseSink sink, Caps caps);
     }
     public static interface RenderList extends Callback {
-        public FlowReturn callback(BaseSink sink, GList bufferList);
+        public FlowReturn callback(BaseSink sink, /* GstBufferList */ Pointer bufferList);
     }
     
     public static final class GstBaseSinkClass extends com.sun.jna.Structure {
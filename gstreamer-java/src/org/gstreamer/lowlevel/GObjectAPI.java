@@ -96,6 +96,8 @@ public interface GObjectAPI extends Library {
     int g_type_depth(GType type);
     Pointer g_type_create_instance(GType type);
     void g_type_free_instance(Pointer instance);
+    Pointer g_type_class_ref(GType type);
+    void g_type_class_unref(Pointer g_class);
     
     GType g_type_register_static(GType parent_type, String type_name,
         GTypeInfo info, /* GTypeFlags */ int flags);
@@ -31,6 +31,47 @@ public class GSource extends RefCountedObject {
     public GSource(Initializer init) {
         super(init);
     }
+    /**
+     * Creates a source that is only dispatched after being woken up with
+     * {@link #setReadyTime}, instead of being polled on each main loop iteration.
+     * <p>
+     * The source stays attached as long as {@code call} returns true.  This needs
+     * glib 2.36 or later, since earlier versions require a prepare function.
+     * 
+     * @param call the callback to run when the source is dispatched.
+     * @return a new source, or null if glib is too old to support it.
+     */
+    public static GSource newWakeupSource(final Callable<Boolean> call) {
+        if (GLIB_API.glib_check_version(2, 36, 0) != null) {
+            return null;
+        }
+        final GlibAPI.GSourceFuncs funcs = new GlibAPI.GSourceFuncs();
+        funcs.dispatch = new GlibAPI.GSourceDispatchFunc() {
+            public boolean callback(Pointer source, Pointer callback, Pointer data) {
+                try {
+                    return call.call().booleanValue();
+                } catch (Exception ex) {
+                    return false;
+                }
+            }
+        };
+        funcs.write();
+        // g_source_new() only needs a size at least as large as a GSource
+        GSource source = new GSource(initializer(GLIB_API.g_source_new(funcs, 16 * Pointer.SIZE)));
+        source.funcs = funcs;
+        return source;
+    }
+    private GlibAPI.GSourceFuncs funcs;
+    
+    /**
+     * Sets the monotonic time at which this source will be dispatched.
+     * 
+     * @param readyTime the time in microseconds, 0 to dispatch as soon as
+     * possible, or -1 to never dispatch.
+     */
+    public void setReadyTime(long readyTime) {
+        GLIB_API.g_source_set_ready_time(this, readyTime);
+    }
     public int attach(GMainContext context) {
         return GLIB_API.g_source_attach(this, context);
     }
@@ -52,6 +52,7 @@ public interface GValueAPI extends Library {
     GValueAPI GVALUE_API = GNative.loadLibrary("gobject-2.0", GValueAPI.class,
     		new HashMap<String, Object>() {{
     			put(Library.OPTION_TYPE_MAPPER, new GTypeMapper());
+    			put(Library.OPTION_FUNCTION_MAPPER, new GFunctionMapper());
     		}});
 
     public static final class GValue extends com.sun.jna.Structure {
@@ -93,6 +94,17 @@ public interface GValueAPI extends Library {
             useMemory(ptr);
             read();
         }
+
+        /** Offset of the value data, for clearing it straight in native memory */
+        static final int DATA_OFFSET = new GValue().fieldOffset("data");
+
+        /**
+         * Points this GValue at another native value, reading only its type.
+         */
+        void point(Pointer ptr) {
+            useMemory(ptr);
+            readField("g_type");
+        }
         
         private <T> T validateVal(Object val, Class<T> clazz) {
             return validateVal(val, clazz, false);
@@ -307,6 +319,8 @@ public interface GValueAPI extends Library {
     
     GValue g_value_init(GValue value, GType g_type);
     GValue g_value_reset(GValue value);
+    Pointer ptr_g_value_init(GValue value, GType g_type);
+    Pointer ptr_g_value_reset(GValue value);
     void g_value_unset(GValue value);
     void g_value_set_char(GValue value, byte v_char);
     byte g_value_get_char(GValue value);
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2026 agent
+ *
+ * This file is part of gstreamer-java.
+ *
+ * This code is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * version 3 along with this work.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.gstreamer.lowlevel;
+
+import static org.gstreamer.lowlevel.GValueAPI.GVALUE_API;
+
+import org.gstreamer.lowlevel.GValueAPI.GValue;
+
+import com.sun.jna.Memory;
+import com.sun.jna.Pointer;
+
+/**
+ * A per-thread set of reusable native GValues, for marshalling property
+ * values without allocating.
+ * <p>
+ * Values are taken with {@link #acquire} and must be given back with
+ * {@link #release}, in a <tt>finally</tt> block.  A released value is reset
+ * with <code>g_value_reset</code>, which frees its contents but keeps its type,
+ * so the next acquire of the same type needs no native call at all.
+ * <p>
+ * The GValues handed out do not synchronize their Java fields with native
+ * memory; they must only be passed to native functions.  In particular
+ * {@link GValue#getType} is not valid on them.
+ */
+public final class GValueArena {
+    /** The number of values per thread; acquiring more falls back to allocation */
+    private static final int SLOTS = 8;
+    private static final int VALUE_SIZE = new GValue().size();
+
+    private static final ThreadLocal<GValueArena> arenas = new ThreadLocal<GValueArena>() {
+        @Override
+        protected GValueArena initialValue() {
+            return new GValueArena();
+        }
+    };
+
+    private final Memory memory = new Memory(SLOTS * VALUE_SIZE);
+    private final GValue[] slots = new GValue[SLOTS];
+    private final GType[] types = new GType[SLOTS];
+    private final boolean[] used = new boolean[SLOTS];
+    private final GValue view;
+
+    private GValueArena() {
+        memory.clear();
+        for (int i = 0; i < SLOTS; ++i) {
+            slots[i] = new GValue(memory.share(i * VALUE_SIZE, VALUE_SIZE));
+            slots[i].setAutoSynch(false);
+        }
+        view = new GValue();
+        view.setAutoSynch(false);
+    }
+
+    /**
+     * Gets an initialized GValue of the given type for the current thread.
+     *
+     * @param type the type of the value.
+     * @return a GValue holding the default value of <tt>type</tt>.
+     */
+    public static GValue acquire(GType type) {
+        return arenas.get().take(type);
+    }
+
+    /**
+     * Gives back a GValue obtained from {@link #acquire}, on the same thread.
+     *
+     * @param value the value to release.
+     */
+    public static void release(GValue value) {
+        arenas.get().give(value);
+    }
+
+    /**
+     * Clears the contents of a value without freeing them, when ownership
+     * of them has been handed to someone else.
+     *
+     * @param value the value to clear.
+     */
+    public static void forget(GValue value) {
+        value.getPointer().setMemory(GValue.DATA_OFFSET, VALUE_SIZE - GValue.DATA_OFFSET, (byte) 0);
+    }
+
+    /**
+     * Gets a GValue for the current thread pointing at an existing native
+     * value, such as an element of a list.  The view is only valid until the
+     * next call to this method on the same thread.
+     * <p>
+     * Only the type of the value is read into Java, so {@link GValue#getType}
+     * works on the view.
+     *
+     * @param ptr the native value.
+     * @return a view of the value.
+     */
+    public static GValue view(Pointer ptr) {
+        GValue view = arenas.get().view;
+        view.point(ptr);
+        return view;
+    }
+
+    private GValue take(GType type) {
+        int free = -1;
+        for (int i = 0; i < SLOTS; ++i) {
+            if (!used[i]) {
+                if (type.equals(types[i])) {
+                    used[i] = true;
+                    return slots[i];
+                }
+                if (free < 0 || types[free] != null) {
+                    free = i;
+                }
+            }
+        }
+        if (free < 0) {
+            // Nested too deep; use a standalone value
+            GValue value = new GValue();
+            GVALUE_API.g_value_init(value, type);
+            return value;
+        }
+        GValue value = slots[free];
+        if (types[free] != null) {
+            GVALUE_API.g_value_unset(value);
+        }
+        GVALUE_API.ptr_g_value_init(value, type);
+        types[free] = type;
+        used[free] = true;
+        return value;
+    }
+
+    private void give(GValue value) {
+        for (int i = 0; i < SLOTS; ++i) {
+            if (slots[i] == value) {
+                GVALUE_API.ptr_g_value_reset(value);
+                used[i] = false;
+                return;
+            }
+        }
+        GVALUE_API.g_value_unset(value);
+    }
+}
@@ -73,6 +73,11 @@ public interface GlibAPI extends Library {
     void g_source_set_callback(GSource source, GSourceFunc callback, Object data, GDestroyNotify destroy);
     boolean g_source_is_destroyed(Pointer source);
     boolean g_source_is_destroyed(GSource source);
+    Pointer g_source_new(GSourceFuncs funcs, int struct_size);
+    void g_source_set_ready_time(GSource source, long ready_time);
+    String glib_check_version(int required_major, int required_minor, int required_micro);
+    /* stores the native address of a callback into a function pointer field */
+    void g_atomic_pointer_set(Pointer atomic, Callback newval);
     /*
      * GThread functions
      */
@@ -92,6 +97,9 @@ public interface GlibAPI extends Library {
         boolean callback(Pointer data);
     }
     NativeLong g_idle_add(GSourceFunc function, Pointer data);
+    interface GSourceDispatchFunc extends Callback {
+        boolean callback(Pointer source, Pointer callback, Pointer data);
+    }
     interface GDestroyNotify extends Callback {
         void callback(Pointer data);
     }
@@ -145,6 +153,22 @@ public interface GlibAPI extends Library {
             });
         }
     }
+    public static final class GSourceFuncs extends com.sun.jna.Structure {
+        public Pointer prepare;
+        public Pointer check;
+        public GSourceDispatchFunc dispatch;
+        public Pointer finalize;
+        public Pointer closure_callback;
+        public Pointer closure_marshal;
+
+        @Override
+        protected List<String> getFieldOrder() {
+            return Arrays.asList(new String[]{
+                "prepare", "check", "dispatch", "finalize",
+                "closure_callback", "closure_marshal"
+            });
+        }
+    }
     public static final class GSList extends com.sun.jna.Structure {
         public volatile Pointer data;
         public volatile Pointer _next;
@@ -30,6 +30,7 @@ import org.gstreamer.lowlevel.GstMiniObjectAPI.MiniObjectStruct;
 import org.gstreamer.lowlevel.annotations.CallerOwnsReturn;
 import org.gstreamer.lowlevel.annotations.Invalidate;
 
+import com.sun.jna.Callback;
 import com.sun.jna.Pointer;
 
 /**
@@ -41,6 +42,7 @@ public interface GstBufferAPI extends com.sun.jna.Library {
     GType gst_buffer_get_type();
     @CallerOwnsReturn Buffer gst_buffer_new();
     @CallerOwnsReturn Buffer gst_buffer_new_and_alloc(int size);
+    @CallerOwnsReturn Pointer ptr_gst_buffer_new_and_alloc(int size);
     @CallerOwnsReturn Buffer gst_buffer_try_new_and_alloc(int size);
     @CallerOwnsReturn Buffer gst_buffer_copy(Buffer buf);
     void gst_buffer_copy_metadata (Buffer dest, Buffer src, BufferCopyFlags flags);
@@ -51,6 +53,7 @@ public interface GstBufferAPI extends com.sun.jna.Library {
     
     @CallerOwnsReturn Caps gst_buffer_get_caps(Buffer buffer);
     void gst_buffer_set_caps(Buffer buffer, Caps caps);
+    void ptr_gst_buffer_set_caps(Pointer buffer, Caps caps);
     /* span two buffers intelligently */
     boolean gst_buffer_is_span_fast(Buffer buf1, Buffer buf2);
     @CallerOwnsReturn Buffer gst_buffer_span(Buffer buf1, int offset, Buffer buf2, int len);
@@ -58,6 +61,13 @@ public interface GstBufferAPI extends com.sun.jna.Library {
     @CallerOwnsReturn Buffer gst_buffer_merge(Buffer buf1, Buffer buf2);
     @CallerOwnsReturn Buffer gst_buffer_join(@Invalidate Buffer buf1, @Invalidate Buffer buf2);
     
+    /**
+     * The GFreeFunc the buffer calls with its malloc_data when finalized.
+     */
+    public static interface FreeFunc extends Callback {
+        void callback(Pointer data);
+    }
+
     public static final class BufferStruct extends com.sun.jna.Structure {
         volatile public MiniObjectStruct mini_object;
         public Pointer data;
@@ -68,6 +78,29 @@ public interface GstBufferAPI extends com.sun.jna.Library {
         public long offset;
         public long offset_end;
         public Pointer malloc_data;
+        public Pointer free_func;
+        
+        /*
+         * Offsets of the fields, so they can be read straight from native
+         * memory without creating a BufferStruct per buffer.
+         */
+        public static final int DATA_OFFSET, SIZE_OFFSET, TIMESTAMP_OFFSET,
+                DURATION_OFFSET, CAPS_OFFSET, OFFSET_OFFSET, OFFSET_END_OFFSET, FLAGS_OFFSET,
+                MALLOC_DATA_OFFSET, FREE_FUNC_OFFSET;
+        static {
+            BufferStruct layout = new BufferStruct();
+            DATA_OFFSET = layout.fieldOffset("data");
+            SIZE_OFFSET = layout.fieldOffset("size");
+            TIMESTAMP_OFFSET = layout.fieldOffset("timestamp");
+            DURATION_OFFSET = layout.fieldOffset("duration");
+            CAPS_OFFSET = layout.fieldOffset("caps");
+            OFFSET_OFFSET = layout.fieldOffset("offset");
+            OFFSET_END_OFFSET = layout.fieldOffset("offset_end");
+            MALLOC_DATA_OFFSET = layout.fieldOffset("malloc_data");
+            FREE_FUNC_OFFSET = layout.fieldOffset("free_func");
+            FLAGS_OFFSET = layout.fieldOffset("mini_object") + MiniObjectStruct.FLAGS_OFFSET;
+        }
+        private BufferStruct() {}
         public BufferStruct(Pointer ptr) {
             useMemory(ptr);
             read();
@@ -78,7 +111,7 @@ public interface GstBufferAPI extends com.sun.jna.Library {
             return Arrays.asList(new String[]{
                 "mini_object", "data", "size",
                 "timestamp", "duration", "caps",
-                "offset", "offset_end", "malloc_data"
+                "offset", "offset_end", "malloc_data", "free_func"
             });
         }
     }
@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2026 agent
+ *
+ * This file is part of gstreamer-java.
+ *
+ * This code is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * version 3 along with this work.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.gstreamer.lowlevel;
+
+import com.sun.jna.Pointer;
+
+/**
+ * GstBufferList functions
+ * <p>
+ * Buffer lists are only handled through pointers: the buffers of a list are
+ * read or added in a loop, without creating wrappers for the list or the
+ * iterators.
+ */
+public interface GstBufferListAPI extends com.sun.jna.Library {
+    GstBufferListAPI GSTBUFFERLIST_API = GstNative.load(GstBufferListAPI.class);
+
+    Pointer gst_buffer_list_new();
+    int gst_buffer_list_n_groups(Pointer list);
+
+    Pointer gst_buffer_list_iterate(Pointer list);
+    void gst_buffer_list_iterator_free(Pointer it);
+    int gst_buffer_list_iterator_n_buffers(Pointer it);
+    boolean gst_buffer_list_iterator_next_group(Pointer it);
+    /* returns a buffer owned by the list */
+    Pointer gst_buffer_list_iterator_next(Pointer it);
+    void gst_buffer_list_iterator_add_group(Pointer it);
+    /* takes the reference of the buffer */
+    void gst_buffer_list_iterator_add(Pointer it, Pointer buffer);
+}
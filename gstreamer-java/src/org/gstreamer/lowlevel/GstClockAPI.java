@@ -38,6 +38,8 @@ public interface GstClockAPI extends com.sun.jna.Library {
     ClockTime gst_clock_set_resolution(Clock clock, ClockTime resolution);
     ClockTime gst_clock_get_resolution(Clock clock);
     ClockTime gst_clock_get_time(Clock clock);
+    /** Same as gst_clock_get_time, without creating a ClockTime */
+    long ptr_gst_clock_get_time(Clock clock);
     void gst_clock_set_calibration(Clock clock, ClockTime internal, ClockTime external, ClockTime rate_num, ClockTime rate_denom);
     void gst_clock_get_calibration(Clock clock, long[] internal, long[] external,
             long[] rate_num, long[] rate_denom);
@@ -90,6 +90,10 @@ public interface GstMessageAPI extends com.sun.jna.Library {
     void gst_message_parse_segment_done(Message message, Format[] format, long[] position);
     void gst_message_parse_duration(Message message, Format[] format, long[] position);
     void gst_message_parse_async_start(Message message, boolean[] new_base_time);
+    void gst_message_parse_qos(Message message, boolean[] live, long[] running_time,
+            long[] stream_time, long[] timestamp, long[] duration);
+    void gst_message_parse_qos_values(Message message, long[] jitter, double[] proportion, int[] quality);
+    void gst_message_parse_qos_stats(Message message, Format[] format, long[] processed, long[] dropped);
     
     @CallerOwnsReturn Message gst_message_new_eos(GstObject src);
     @CallerOwnsReturn Message gst_message_new_error(GstObject src, GErrorStruct error, String debug);
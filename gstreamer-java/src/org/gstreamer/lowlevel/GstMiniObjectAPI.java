@@ -36,6 +36,7 @@ public interface GstMiniObjectAPI extends com.sun.jna.Library {
     GstMiniObjectAPI GSTMINIOBJECT_API = GstNative.load(GstMiniObjectAPI.class);
 
     void gst_mini_object_ref(MiniObject ptr);
+    void gst_mini_object_ref(Pointer ptr);
     void gst_mini_object_unref(MiniObject ptr);
     void gst_mini_object_unref(Pointer ptr);
     @CallerOwnsReturn Pointer ptr_gst_mini_object_copy(MiniObject mini_object);
@@ -51,6 +52,11 @@ public interface GstMiniObjectAPI extends com.sun.jna.Library {
         public volatile int flags;
         public volatile Pointer _gst_reserved;
         
+        /** Offset of the refcount field, for reading it straight from native memory */
+        public static final int REFCOUNT_OFFSET = new MiniObjectStruct().fieldOffset("refcount");
+        /** Offset of the flags field, for reading it straight from native memory */
+        public static final int FLAGS_OFFSET = new MiniObjectStruct().fieldOffset("flags");
+        
         /** Creates a new instance of GstMiniObjectStructure */
         public MiniObjectStruct() {}
         public MiniObjectStruct(Pointer ptr) {
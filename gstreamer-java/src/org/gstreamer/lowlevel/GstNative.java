@@ -21,6 +21,8 @@ package org.gstreamer.lowlevel;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import com.sun.jna.Library;
 
@@ -39,14 +41,35 @@ public final class GstNative {
         put(Library.OPTION_FUNCTION_MAPPER, new GFunctionMapper());
     }};
 
+    private static final ConcurrentMap<String, Object> proxies = new ConcurrentHashMap<String, Object>();
+    // The name format each library was found with, so later loads do not retry
+    private static final ConcurrentMap<String, String> libraryFormats = new ConcurrentHashMap<String, String>();
+
     public static <T extends Library> T load(Class<T> interfaceClass) {
         return load("gstreamer", interfaceClass);
     }
 
     public static <T extends Library> T load(String libraryName, Class<T> interfaceClass) {
+        // Many classes load the same API interface; share one proxy for each
+        String key = libraryName + ":" + interfaceClass.getName();
+        Object proxy = proxies.get(key);
+        if (proxy != null) {
+            return interfaceClass.cast(proxy);
+        }
+        T library = loadLibrary(libraryName, interfaceClass);
+        proxy = proxies.putIfAbsent(key, library);
+        return proxy != null ? interfaceClass.cast(proxy) : library;
+    }
+
+    private static <T extends Library> T loadLibrary(String libraryName, Class<T> interfaceClass) {
+        String known = libraryFormats.get(libraryName);
+        if (known != null)
+            return GNative.loadLibrary(String.format(known, libraryName), interfaceClass, options);
         for (String format : nameFormats)
             try {
-                return GNative.loadLibrary(String.format(format, libraryName), interfaceClass, options);
+                T library = GNative.loadLibrary(String.format(format, libraryName), interfaceClass, options);
+                libraryFormats.put(libraryName, format);
+                return library;
             } catch (UnsatisfiedLinkError ex) {
                 continue;
             }
@@ -87,6 +87,8 @@ public interface GstPadAPI extends com.sun.jna.Library {
 
     /* data passing functions to peer */
     FlowReturn gst_pad_push(Pad pad, @IncRef Buffer buffer);
+    /* takes the reference of the GstBufferList */
+    FlowReturn gst_pad_push_list(Pad pad, Pointer list);
     boolean gst_pad_check_pull_range(Pad pad);
     FlowReturn gst_pad_pull_range(Pad pad, /* guint64 */ long offset, /* guint */ int size,
             Buffer[] buffer);
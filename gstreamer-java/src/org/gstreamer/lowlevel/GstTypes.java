@@ -22,7 +22,6 @@ package org.gstreamer.lowlevel;
 
 import static org.gstreamer.lowlevel.GObjectAPI.GOBJECT_API;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Logger;
@@ -36,7 +35,10 @@ public class GstTypes {
     private static final Logger logger = Logger.getLogger(GstTypes.class.getName());
     
     private static final Map<String, Class<? extends NativeObject>> gTypeNameMap
-        = new HashMap<String, Class<? extends NativeObject>>();
+        = new ConcurrentHashMap<String, Class<? extends NativeObject>>();
+    /** Types registered by class name, whose class is only loaded when first needed */
+    private static final Map<String, String> lazyTypeNameMap
+        = new ConcurrentHashMap<String, String>();
     private static final Map<Pointer, Class<? extends NativeObject>> gTypeInstanceMap
         = new ConcurrentHashMap<Pointer, Class<? extends NativeObject>>();
     
@@ -46,6 +48,34 @@ public class GstTypes {
      */
     public static void registerType(Class<? extends NativeObject> cls, String gTypeName) {
    		gTypeNameMap.put(gTypeName, cls);
+   		lazyTypeNameMap.remove(gTypeName);
+    }
+    /**
+     * Register a class by name into the gTypeNameMap, without loading it.
+     * The class is loaded the first time an object of the type is wrapped.
+     */
+    public static void registerType(String className, String gTypeName) {
+        if (!gTypeNameMap.containsKey(gTypeName)) {
+            lazyTypeNameMap.put(gTypeName, className);
+        }
+    }
+    private static Class<? extends NativeObject> resolve(String gTypeName) {
+        String className = lazyTypeNameMap.get(gTypeName);
+        if (className == null) {
+            return null;
+        }
+        try {
+            // Not all registered types are NativeObjects, e.g. GValue
+            @SuppressWarnings("unchecked")
+            Class<? extends NativeObject> cls = (Class<? extends NativeObject>)
+                    Class.forName(className, true, GstTypes.class.getClassLoader());
+            registerType(cls, gTypeName);
+            return cls;
+        } catch (ClassNotFoundException ex) {
+            logger.warning("Could not load " + className + " for " + gTypeName);
+            lazyTypeNameMap.remove(gTypeName);
+            return null;
+        }
     }
     /**
      * Retrieve the class of a GType
@@ -55,7 +85,7 @@ public class GstTypes {
      */
     public static Class<? extends NativeObject> find(GType gType) {
         logger.entering("GstTypes", "find", gType);
-        return gTypeNameMap.get(GOBJECT_API.g_type_name(gType));
+        return find(GOBJECT_API.g_type_name(gType));
     }
     /**
      * Retrieve the class of a GType Name
@@ -65,7 +95,8 @@ public class GstTypes {
      */
     public static Class<? extends NativeObject> find(String gTypeName) {
         logger.entering("GstTypes", "find", gTypeName);
-        return gTypeNameMap.get(gTypeName);
+        Class<? extends NativeObject> cls = gTypeNameMap.get(gTypeName);
+        return cls != null ? cls : resolve(gTypeName);
     }
 
     public static final boolean isGType(Pointer p, long type) {
@@ -106,6 +137,11 @@ public class GstTypes {
                 return GOBJECT_API.g_type_from_name(e.getKey());
             }
         }
+        for (Map.Entry<String, String> e : lazyTypeNameMap.entrySet()) {
+            if (e.getValue().equals(cls.getName())) {
+                return GOBJECT_API.g_type_from_name(e.getKey());
+            }
+        }
         return GType.INVALID;
     }
 }
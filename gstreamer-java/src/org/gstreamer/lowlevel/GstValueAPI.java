@@ -21,6 +21,8 @@ package org.gstreamer.lowlevel;
 
 import org.gstreamer.lowlevel.GValueAPI.GValue;
 
+import com.sun.jna.Pointer;
+
 /**
  * GstStructure functions
  */
@@ -45,4 +47,5 @@ public interface GstValueAPI extends com.sun.jna.Library {
     int gst_value_get_int_range_max(GValue value);
     int gst_value_list_get_size(GValue value);
     GValue gst_value_list_get_value(GValue value, int index);
+    Pointer ptr_gst_value_list_get_value(GValue value, int index);
 }
@@ -187,7 +187,7 @@ public abstract class NativeObject extends org.gstreamer.lowlevel.Handle {
             cls = classFor(ptr, cls);
         }
         try {
-            Constructor<T> constructor = cls.getDeclaredConstructor(Initializer.class);
+            Constructor<T> constructor = constructorFor(cls);
             T retVal = constructor.newInstance(initializer(ptr, refAdjust > 0, ownsHandle));
             //retVal.initNativeHandle(ptr, refAdjust > 0, ownsHandle);
             return retVal;
@@ -205,6 +205,17 @@ public abstract class NativeObject extends org.gstreamer.lowlevel.Handle {
 
     }
     
+    @SuppressWarnings("unchecked")
+    private static <T extends NativeObject> Constructor<T> constructorFor(Class<T> cls)
+            throws NoSuchMethodException {
+        Constructor<?> constructor = StaticData.constructors.get(cls);
+        if (constructor == null) {
+            constructor = cls.getDeclaredConstructor(Initializer.class);
+            StaticData.constructors.put(cls, constructor);
+        }
+        return (Constructor<T>) constructor;
+    }
+
     @SuppressWarnings("unchecked")
     protected static <T extends NativeObject> Class<T> classFor(Pointer ptr, Class<T> defaultClass) {
         Class<? extends NativeObject> cls = GstTypes.classFor(ptr);
@@ -288,6 +299,7 @@ public abstract class NativeObject extends org.gstreamer.lowlevel.Handle {
     private final NativeRef nativeRef;
     private static final class StaticData {
         private static final ConcurrentMap<Pointer, NativeRef> instanceMap = new ConcurrentHashMap<Pointer, NativeRef>();
+        private static final ConcurrentMap<Class<?>, Constructor<?>> constructors = new ConcurrentHashMap<Class<?>, Constructor<?>>();
         static {
         	shutdown();
         }
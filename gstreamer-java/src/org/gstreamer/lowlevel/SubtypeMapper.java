@@ -43,6 +43,7 @@ import org.gstreamer.message.EOSMessage;
 import org.gstreamer.message.ErrorMessage;
 import org.gstreamer.message.InfoMessage;
 import org.gstreamer.message.LatencyMessage;
+import org.gstreamer.message.QOSMessage;
 import org.gstreamer.message.SegmentDoneMessage;
 import org.gstreamer.message.StateChangedMessage;
 import org.gstreamer.message.TagMessage;
@@ -116,6 +117,7 @@ class SubtypeMapper {
                 put(MessageType.DURATION, DurationMessage.class);
                 put(MessageType.INFO, InfoMessage.class);
                 put(MessageType.LATENCY, LatencyMessage.class);
+                put(MessageType.QOS, QOSMessage.class);
                 put(MessageType.SEGMENT_DONE, SegmentDoneMessage.class);
                 put(MessageType.STATE_CHANGED, StateChangedMessage.class);
                 put(MessageType.TAG, TagMessage.class);
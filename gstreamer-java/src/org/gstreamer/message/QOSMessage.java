@@ -0,0 +1,198 @@
+/* 
+ * Copyright (c) 2026 agent
+ *
+ * This file is part of gstreamer-java.
+ *
+ * This code is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * version 3 along with this work.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.gstreamer.message;
+
+import org.gstreamer.Format;
+import org.gstreamer.GstObject;
+import org.gstreamer.Message;
+import org.gstreamer.lowlevel.GstMessageAPI;
+import org.gstreamer.lowlevel.GstNative;
+
+import com.sun.jna.Pointer;
+
+/**
+ * Message posted by an element when it dropped a buffer or changed its
+ * processing because of Quality of Service, typically a sink that received
+ * a buffer too late.
+ * <p>
+ * Besides describing the buffer concerned, the message carries the current
+ * QoS values of the element ({@link #getJitter}, {@link #getProportion},
+ * {@link #getQuality}) and its running totals of processed and dropped
+ * buffers.
+ */
+public class QOSMessage extends Message {
+    private static interface API extends GstMessageAPI {
+        Pointer ptr_gst_message_new_qos(GstObject src, boolean live, long running_time,
+                long stream_time, long timestamp, long duration);
+        void gst_message_set_qos_values(QOSMessage message, long jitter, double proportion, int quality);
+        void gst_message_set_qos_stats(QOSMessage message, Format format, long processed, long dropped);
+    }
+    private static final API gst = GstNative.load(API.class);
+
+    /**
+     * Creates a new QOS message.
+     *
+     * @param init internal initialization data.
+     */
+    public QOSMessage(Initializer init) {
+        super(init);
+    }
+
+    /**
+     * Creates a new QOS message.
+     *
+     * @param src the object originating the message.
+     * @param live whether the message was generated by a live element.
+     * @param runningTime the running time of the buffer concerned.
+     * @param streamTime the stream time of the buffer concerned.
+     * @param timestamp the timestamp of the buffer concerned.
+     * @param duration the duration of the buffer concerned.
+     */
+    public QOSMessage(GstObject src, boolean live, long runningTime, long streamTime,
+            long timestamp, long duration) {
+        this(initializer(gst.ptr_gst_message_new_qos(src, live, runningTime, streamTime,
+                timestamp, duration)));
+    }
+
+    /**
+     * Sets the QoS values of this message.
+     *
+     * @param jitter the difference between the running time and the time the
+     * buffer was processed, in nanoseconds.
+     * @param proportion the long term processing rate, relative to real time.
+     * @param quality the quality level of the element, 0 to 1000000.
+     */
+    public void setValues(long jitter, double proportion, int quality) {
+        gst.gst_message_set_qos_values(this, jitter, proportion, quality);
+    }
+
+    /**
+     * Sets the statistics of this message.
+     *
+     * @param format the units of <tt>processed</tt> and <tt>dropped</tt>.
+     * @param processed the total processed, excluding dropped.
+     * @param dropped the total dropped.
+     */
+    public void setStats(Format format, long processed, long dropped) {
+        gst.gst_message_set_qos_stats(this, format, processed, dropped);
+    }
+
+    /**
+     * Checks whether the message was generated by a live element.
+     */
+    public boolean isLive() {
+        boolean[] live = { false };
+        gst.gst_message_parse_qos(this, live, null, null, null, null);
+        return live[0];
+    }
+
+    /**
+     * Gets the running time of the buffer concerned, in nanoseconds.
+     */
+    public long getRunningTime() {
+        long[] value = { 0 };
+        gst.gst_message_parse_qos(this, null, value, null, null, null);
+        return value[0];
+    }
+
+    /**
+     * Gets the stream time of the buffer concerned, in nanoseconds.
+     */
+    public long getStreamTime() {
+        long[] value = { 0 };
+        gst.gst_message_parse_qos(this, null, null, value, null, null);
+        return value[0];
+    }
+
+    /**
+     * Gets the timestamp of the buffer concerned, in nanoseconds.
+     */
+    public long getTimestamp() {
+        long[] value = { 0 };
+        gst.gst_message_parse_qos(this, null, null, null, value, null);
+        return value[0];
+    }
+
+    /**
+     * Gets the duration of the buffer concerned, in nanoseconds.
+     */
+    public long getDuration() {
+        long[] value = { 0 };
+        gst.gst_message_parse_qos(this, null, null, null, null, value);
+        return value[0];
+    }
+
+    /**
+     * Gets the difference between the running time of the buffer and the
+     * time it was processed, in nanoseconds.  Positive values mean the
+     * buffer was late.
+     */
+    public long getJitter() {
+        long[] jitter = { 0 };
+        gst.gst_message_parse_qos_values(this, jitter, null, null);
+        return jitter[0];
+    }
+
+    /**
+     * Gets the long term processing rate of the element, relative to real
+     * time.  Values above 1.0 mean the element cannot keep up.
+     */
+    public double getProportion() {
+        double[] proportion = { 0 };
+        gst.gst_message_parse_qos_values(this, null, proportion, null);
+        return proportion[0];
+    }
+
+    /**
+     * Gets the quality level of the element, from 0 to 1000000.
+     */
+    public int getQuality() {
+        int[] quality = { 0 };
+        gst.gst_message_parse_qos_values(this, null, null, quality);
+        return quality[0];
+    }
+
+    /**
+     * Gets the units of {@link #getProcessed} and {@link #getDropped}.
+     */
+    public Format getFormat() {
+        Format[] format = { Format.UNDEFINED };
+        gst.gst_message_parse_qos_stats(this, format, null, null);
+        return format[0];
+    }
+
+    /**
+     * Gets the total number of units processed by the element, not counting
+     * those dropped, or -1 if unknown.
+     */
+    public long getProcessed() {
+        long[] processed = { 0 };
+        gst.gst_message_parse_qos_stats(this, null, processed, null);
+        return processed[0];
+    }
+
+    /**
+     * Gets the total number of units dropped by the element, or -1 if unknown.
+     */
+    public long getDropped() {
+        long[] dropped = { 0 };
+        gst.gst_message_parse_qos_stats(this, null, null, dropped);
+        return dropped[0];
+    }
+}
@@ -82,6 +82,32 @@ public class BinTest {
         assertTrue("Element list does not contain e2", elements.contains(e2));
     }
     @Test
+    public void testForEachElement() {
+        Bin bin = new Bin("test");
+        final Element e1 = ElementFactory.make("fakesrc", "source");
+        final Element e2 = ElementFactory.make("fakesink", "sink");
+        bin.addMany(e1, e2);
+        final List<Element> visited = new java.util.ArrayList<Element>();
+        assertTrue("Walk stopped early", bin.forEachElement(new Visitor<Element>() {
+            public boolean visit(Element element) {
+                visited.add(element);
+                return true;
+            }
+        }));
+        assertEquals("Wrong number of elements visited", 2, visited.size());
+        assertTrue("e1 not visited", visited.contains(e1));
+        assertTrue("e2 not visited", visited.contains(e2));
+
+        final AtomicInteger count = new AtomicInteger(0);
+        assertFalse("Walk not stopped", bin.forEachElement(new Visitor<Element>() {
+            public boolean visit(Element element) {
+                count.incrementAndGet();
+                return false;
+            }
+        }));
+        assertEquals("Visitor called after stopping", 1, count.get());
+    }
+    @Test
     public void testGetSinks() throws Exception {
         Bin bin = new Bin("test");
         Element e1 = ElementFactory.make("fakesrc", "source");
@@ -113,6 +139,65 @@ public class BinTest {
         assertEquals("sink not returned", e2, bin.getElementByName("sink"));
     }
     
+    @Test
+    public void testIndexedGetElementByName() throws Exception {
+        Bin bin = new Bin("test");
+        Element e1 = ElementFactory.make("fakesrc", "source");
+        bin.add(e1);
+        bin.enableElementIndex();
+        assertTrue("Index not enabled", bin.isElementIndexEnabled());
+
+        Bin child = new Bin("child");
+        Element e2 = ElementFactory.make("fakesink", "sink");
+        child.add(e2);
+        bin.add(child);
+        assertTrue("Index not enabled on child bin", child.isElementIndexEnabled());
+
+        assertEquals("source not returned", e1, bin.getElementByName("source"));
+        assertEquals("sink not returned", e2, bin.getElementByName("sink"));
+        child.remove(e2);
+        assertEquals("removed sink returned", null, bin.getElementByName("sink"));
+    }
+
+    @Test
+    public void testSnapshotTopology() throws Exception {
+        Bin bin = new Bin("test");
+        Bin child = new Bin("child");
+        Element src = ElementFactory.make("fakesrc", "source");
+        Element sink = ElementFactory.make("fakesink", "sink");
+        Element identity = ElementFactory.make("identity", "identity");
+        child.add(identity);
+        bin.addMany(src, sink, child);
+        // Both links cross the boundary of child, so they go through ghost pads
+        src.link(identity);
+        identity.link(sink);
+
+        BinTopology topology = bin.snapshotTopology();
+        assertEquals("Wrong number of elements", 4, topology.getElements().size());
+        assertNotNull("Nested element missing", topology.getElement("child/identity"));
+        assertTrue("child not a bin", topology.getElement("child").isBin());
+        assertEquals("Wrong factory", "fakesrc", topology.getElement("source").getFactoryName());
+        assertEquals("Wrong number of links", 2, topology.getLinks().size());
+        BinTopology.LinkInfo in = null, out = null;
+        for (BinTopology.LinkInfo link : topology.getLinks()) {
+            if (link.getSrcElementPath().equals("source")) {
+                in = link;
+            } else {
+                out = link;
+            }
+        }
+        assertNotNull("No link from source", in);
+        assertEquals("Link into the bin not resolved", "child/identity", in.getSinkElementPath());
+        assertEquals("Wrong sink pad", "sink", in.getSinkPadName());
+        assertEquals("Wrong link source", "child/identity", out.getSrcElementPath());
+        assertEquals("Link out of the bin not resolved", "sink", out.getSinkElementPath());
+        assertEquals("Wrong sink pad", "sink", out.getSinkPadName());
+        for (BinTopology.PadInfo pad : topology.getElement("child").getPads()) {
+            assertTrue("Ghost pad not linked", pad.isLinked());
+            assertNotNull("Ghost pad peer not resolved", pad.getPeerElementPath());
+        }
+    }
+
     @Test
     public void testElementAddedCallback() throws Exception {
         Bin bin = new Bin("test");
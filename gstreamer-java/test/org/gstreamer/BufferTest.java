@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2026 agent
+ *
+ * This file is part of gstreamer-java.
+ *
+ * gstreamer-java is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * gstreamer-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with gstreamer-java.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.gstreamer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class BufferTest {
+
+    public BufferTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() throws Exception {
+        Gst.init("BufferTest", new String[] {});
+    }
+
+    @AfterClass
+    public static void tearDownClass() throws Exception {
+        Gst.deinit();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void wrapHeapByteBuffer() {
+        Buffer.wrap(ByteBuffer.allocate(16), null);
+    }
+
+    @Test
+    public void wrapSharesMemory() {
+        ByteBuffer data = ByteBuffer.allocateDirect(16);
+        data.position(4);
+        Buffer buffer = Buffer.wrap(data, null);
+        assertEquals("Wrong size", 12, buffer.getSize());
+        data.put(4, (byte) 42);
+        assertEquals("Buffer does not share memory", 42, buffer.getByteBuffer().get(0));
+        buffer.dispose();
+    }
+
+    @Test
+    public void releaseWhenFreed() {
+        final AtomicBoolean released = new AtomicBoolean();
+        Buffer buffer = Buffer.wrap(ByteBuffer.allocateDirect(16), new Runnable() {
+            public void run() {
+                released.set(true);
+            }
+        });
+        Buffer sub = buffer.createSubBuffer(0, 8);
+        buffer.dispose();
+        assertFalse("Released while a sub-buffer uses the memory", released.get());
+        sub.dispose();
+        assertTrue("Not released", released.get());
+    }
+
+    @Test
+    public void splitIntoSlices() {
+        Buffer buffer = new Buffer(10);
+        BufferSpan span = BufferSpan.split(buffer, 4);
+        assertEquals("Wrong number of slices", 3, span.size());
+        assertEquals(8, span.getOffset(2));
+        assertEquals("Last slice not shortened", 2, span.getSize(2));
+        buffer.getByteBuffer().put(5, (byte) 42);
+        assertEquals("Slice does not share memory", 42, span.getByteBuffer(1).get(1));
+        span.dispose();
+    }
+
+    @Test
+    public void takeSlice() {
+        BufferSpan span = BufferSpan.split(new Buffer(16), 8);
+        Buffer slice = span.take(1);
+        assertEquals(8, slice.getSize());
+        assertFalse("Slice still available", span.isAvailable(1));
+        try {
+            span.take(1);
+            fail("Slice taken twice");
+        } catch (IllegalStateException e) {}
+        span.dispose();
+    }
+
+    @Test
+    public void joinAdjacentSlices() {
+        Buffer buffer = new Buffer(16);
+        BufferSpan span = new BufferSpan(buffer).slice(0, 4).slice(4, 4).slice(12, 4);
+        assertEquals(8, span.join(0, 1).getSize());
+        try {
+            span.join(1, 2);
+            fail("Joined slices that are not adjacent");
+        } catch (IllegalArgumentException e) {}
+        try {
+            span.join(1, 0);
+            fail("Joined slices in reverse order");
+        } catch (IndexOutOfBoundsException e) {}
+        span.dispose();
+    }
+
+    @Test
+    public void mergeSubBuffers() {
+        Buffer buffer = new Buffer(16);
+        Buffer a = buffer.createSubBuffer(0, 8);
+        Buffer b = buffer.createSubBuffer(8, 8);
+        assertTrue("Adjacent sub-buffers cannot span fast", a.isSpanFast(b));
+        assertEquals(16, a.merge(b).getSize());
+        assertEquals(6, a.span(4, b, 6).getSize());
+    }
+}
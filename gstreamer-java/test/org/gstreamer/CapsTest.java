@@ -354,4 +354,47 @@ public class CapsTest {
         c2.dispose(); c1.dispose(); ci1.dispose(); ci2.dispose();
     }
     
-}
\ No newline at end of file
+    @Test
+    public void capsKeyEquality() {
+        CapsKey a = CapsKey.of("video/x-raw-yuv, width=320");
+        CapsKey b = CapsKey.of(Caps.fromString("video/x-raw-yuv,width=(int)320"));
+        assertEquals("Keys of same caps differ", a, b);
+        assertEquals("Hash codes differ", a.hashCode(), b.hashCode());
+        assertFalse("Keys of different caps equal", a.equals(CapsKey.of("video/x-raw-yuv, width=640")));
+        assertTrue("Caps from key differ", a.toCaps().isEqual(Caps.fromString("video/x-raw-yuv, width=320")));
+    }
+    @Test
+    public void capsCacheMemoizes() {
+        CapsCache cache = new CapsCache(16);
+        Caps a = Caps.fromString("video/x-raw-yuv, width=[ 1, 1000 ]");
+        Caps b = Caps.fromString("video/x-raw-yuv, width=320");
+        Caps result = cache.intersect(a, b);
+        assertTrue("Wrong intersection", result.isEqual(b));
+        assertTrue("Intersection not a copy", result != cache.intersect(a, b));
+        assertEquals("Result not cached", 1, cache.getHits());
+        assertTrue("Not a subset", cache.isSubset(CapsKey.of(b), CapsKey.of(a)));
+        assertFalse("A subset", cache.isSubset(CapsKey.of(a), CapsKey.of(b)));
+        assertTrue("Cannot intersect", cache.canIntersect(a, b));
+        assertEquals("Wrong cache size", 4, cache.size());
+        cache.clear();
+        assertEquals("Cache not cleared", 0, cache.size());
+    }
+    @Test
+    public void capsBuilder() {
+        Caps built = new CapsBuilder("video/x-raw-yuv").setFourcc("format", "I420")
+                .setInteger("width", 320).setInteger("height", 240).setFraction("framerate", 25, 1)
+                .next("video/x-raw-rgb").setIntegerRange("bpp", 24, 32).build();
+        Caps parsed = Caps.fromString("video/x-raw-yuv, format=(fourcc)I420, width=320, height=240, framerate=25/1;"
+                + " video/x-raw-rgb, bpp=[ 24, 32 ]");
+        assertTrue("Built caps differ from parsed: " + built, built.isEqual(parsed));
+        assertEquals("Wrong fourcc", "I420", built.getStructure(0).getFourccString("format"));
+    }
+    @Test
+    public void capsBuilderIntern() {
+        Caps a = new CapsBuilder("audio/x-raw-int").setInteger("rate", 44100).setInteger("channels", 2).intern();
+        Caps b = new CapsBuilder("audio/x-raw-int").setInteger("rate", 44100).setInteger("channels", 2).intern();
+        Caps c = new CapsBuilder("audio/x-raw-int").setInteger("rate", 48000).setInteger("channels", 2).intern();
+        assertTrue("Caps not shared", a == b);
+        assertFalse("Different caps shared", a == c);
+    }
+}
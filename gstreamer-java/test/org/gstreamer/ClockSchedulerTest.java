@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2026 agent
+ *
+ * This file is part of gstreamer-java.
+ *
+ * gstreamer-java is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * gstreamer-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with gstreamer-java.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.gstreamer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class ClockSchedulerTest {
+    private Pipeline pipeline;
+    private ClockScheduler scheduler;
+
+    public ClockSchedulerTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() throws Exception {
+        Gst.init("ClockSchedulerTest", new String[] {});
+    }
+
+    @AfterClass
+    public static void tearDownClass() throws Exception {
+        Gst.deinit();
+    }
+
+    @Before
+    public void setUp() {
+        pipeline = new Pipeline("clock");
+        scheduler = new ClockScheduler(pipeline.getClock());
+    }
+
+    @After
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void runsInClockOrder() throws Exception {
+        final List<Integer> order = Collections.synchronizedList(new ArrayList<Integer>());
+        final CountDownLatch done = new CountDownLatch(3);
+        int[] delays = { 30, 10, 20 };
+        for (final int delay : delays) {
+            scheduler.schedule(new Runnable() {
+                public void run() {
+                    order.add(delay);
+                    done.countDown();
+                }
+            }, delay, TimeUnit.MILLISECONDS);
+        }
+        assertTrue("Tasks not run", done.await(2, TimeUnit.SECONDS));
+        assertEquals("Tasks run out of order", java.util.Arrays.asList(10, 20, 30), order);
+    }
+
+    @Test
+    public void firesOnTime() throws Exception {
+        final long[] fired = { 0 };
+        final CountDownLatch done = new CountDownLatch(1);
+        final long target = scheduler.now() + TimeUnit.MILLISECONDS.toNanos(50);
+        scheduler.scheduleAt(new Runnable() {
+            public void run() {
+                fired[0] = scheduler.now();
+                done.countDown();
+            }
+        }, target);
+        assertTrue("Task not run", done.await(2, TimeUnit.SECONDS));
+        assertTrue("Task run early", fired[0] >= target);
+        assertTrue("Task run late", fired[0] - target < TimeUnit.MILLISECONDS.toNanos(20));
+    }
+
+    @Test
+    public void cancelledTaskDoesNotRun() throws Exception {
+        final boolean[] ran = { false };
+        ScheduledFuture<?> f = scheduler.schedule(new Runnable() {
+            public void run() {
+                ran[0] = true;
+            }
+        }, 20, TimeUnit.MILLISECONDS);
+        assertTrue("Not cancelled", f.cancel(false));
+        assertEquals("Task still queued", 0, scheduler.getQueueSize());
+        Thread.sleep(50);
+        assertFalse("Cancelled task ran", ran[0]);
+    }
+
+    @Test
+    public void periodicTask() throws Exception {
+        final CountDownLatch done = new CountDownLatch(5);
+        ScheduledFuture<?> f = scheduler.scheduleAtFixedRate(new Runnable() {
+            public void run() {
+                done.countDown();
+            }
+        }, 0, 5, TimeUnit.MILLISECONDS);
+        assertTrue("Periodic task not repeated", done.await(2, TimeUnit.SECONDS));
+        f.cancel(false);
+        assertTrue("Periodic task not cancelled", f.isCancelled());
+    }
+
+    @Test
+    public void unreachableSchedulerStillFires() throws Exception {
+        final CountDownLatch done = new CountDownLatch(1);
+        new ClockScheduler(pipeline.getClock()).schedule(new Runnable() {
+            public void run() {
+                done.countDown();
+            }
+        }, 50, TimeUnit.MILLISECONDS);
+        System.gc();
+        assertTrue("Task of dropped scheduler not run", done.await(2, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void pastTimeRunsAtOnce() throws Exception {
+        final CountDownLatch done = new CountDownLatch(1);
+        scheduler.scheduleAt(new Runnable() {
+            public void run() {
+                done.countDown();
+            }
+        }, scheduler.now() - TimeUnit.SECONDS.toNanos(1));
+        assertTrue("Task in the past not run", done.await(2, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void badTimeFailsTask() throws Exception {
+        // GST_CLOCK_TIME_NONE cannot be waited for
+        ScheduledFuture<?> f = scheduler.scheduleAt(new Runnable() {
+            public void run() {
+            }
+        }, -1);
+        try {
+            f.get(2, TimeUnit.SECONDS);
+            fail("Task with a bad time did not fail");
+        } catch (ExecutionException ex) {
+        }
+        assertEquals("Failed task still queued", 0, scheduler.getQueueSize());
+    }
+}
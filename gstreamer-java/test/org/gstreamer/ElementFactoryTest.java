@@ -30,6 +30,8 @@ import org.gstreamer.ElementFactory.ElementFactoryListType;
 import org.gstreamer.PluginFeature.Rank;
 import org.gstreamer.elements.DecodeBin;
 import org.gstreamer.elements.DecodeBin2;
+import org.gstreamer.elements.FakeSink;
+import org.gstreamer.elements.FakeSrc;
 import org.gstreamer.elements.PlayBin;
 import org.gstreamer.elements.PlayBin2;
 import org.gstreamer.elements.TypeFind;
@@ -89,6 +91,13 @@ public class ElementFactoryTest {
         assertNotNull("Failed to create fakesrc", e);
     }
     @Test
+    public void testMakeLazilyRegisteredClass() {
+        // Gst.init only records the class names; the class is loaded on first use
+        Element e = ElementFactory.make("fakesink", null);
+        assertTrue("fakesink is not a FakeSink", e instanceof FakeSink);
+        assertTrue("fakesrc is not a FakeSrc", ElementFactory.make("fakesrc", null) instanceof FakeSrc);
+    }
+    @Test
     public void testMakeFilesink() {
         Element e = ElementFactory.make("filesink", "sink");
         assertNotNull("Failed to create filesink", e);
@@ -255,4 +264,18 @@ public class ElementFactoryTest {
 //        }
 //        System.out.println("<<<");
     }
+    @Test
+    public void testFindIsCached() {
+        assertTrue("Factory not cached",
+                ElementFactory.find("fakesink") == ElementFactory.find("fakesink"));
+    }
+    @Test
+    public void testCreateMany() {
+        List<Element> elements = ElementFactory.find("queue").createMany("q", 10);
+        assertEquals("Wrong number of elements", 10, elements.size());
+        for (int i = 0; i < elements.size(); ++i) {
+            assertEquals("Wrong element name", "q" + i, elements.get(i).getName());
+            assertTrue("Wrong element class", elements.get(i) instanceof org.gstreamer.elements.Queue);
+        }
+    }
 }
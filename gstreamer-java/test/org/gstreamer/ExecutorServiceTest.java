@@ -20,13 +20,16 @@
 package org.gstreamer;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import java.util.concurrent.Callable;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.gstreamer.glib.MainContextExecutorService;
 import org.gstreamer.lowlevel.MainLoop;
@@ -160,4 +163,94 @@ public class ExecutorServiceTest {
         exec.run();
         assertTrue("Runnable not called", exec.hasFired());
     }
-}
\ No newline at end of file
+    @Test public void executeManyInOrder() throws Exception {
+        final TestExec exec = new TestExec();
+        final int COUNT = 1000;
+        final AtomicInteger next = new AtomicInteger(0);
+        final AtomicBoolean ordered = new AtomicBoolean(true);
+        final CountDownLatch done = new CountDownLatch(COUNT);
+        for (int i = 0; i < COUNT; ++i) {
+            final int n = i;
+            exec.execute(new Runnable() {
+
+                public void run() {
+                    if (next.getAndIncrement() != n) {
+                        ordered.set(false);
+                    }
+                    done.countDown();
+                }
+            });
+        }
+        assertTrue("Not all tasks run", done.await(1, TimeUnit.SECONDS));
+        assertTrue("Tasks run out of order", ordered.get());
+    }
+    @Test public void awaitTermination() throws Exception {
+        final TestExec exec = new TestExec();
+        final AtomicBoolean called = new AtomicBoolean(false);
+        exec.execute(new Runnable() {
+
+            public void run() {
+                called.set(true);
+            }
+        });
+        exec.exec.shutdown();
+        assertTrue("Executor not shut down", exec.exec.isShutdown());
+        assertTrue("Executor did not terminate", exec.exec.awaitTermination(1, TimeUnit.SECONDS));
+        assertTrue("Queued task not run before termination", called.get());
+        assertTrue("Executor not terminated", exec.exec.isTerminated());
+    }
+    @Test public void shutdownNowWaitsForRunningTask() throws Exception {
+        final TestExec exec = new TestExec();
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        exec.execute(new Runnable() {
+
+            public void run() {
+                started.countDown();
+                try {
+                    release.await(1, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                }
+            }
+        });
+        assertTrue("Task not started", started.await(1, TimeUnit.SECONDS));
+        exec.exec.shutdownNow();
+        assertFalse("Terminated while a task was running", exec.exec.isTerminated());
+        release.countDown();
+        assertTrue("Executor did not terminate", exec.exec.awaitTermination(1, TimeUnit.SECONDS));
+    }
+    @Test public void executeRacingShutdown() throws Exception {
+        final TestExec exec = new TestExec();
+        final AtomicInteger accepted = new AtomicInteger(0);
+        final AtomicInteger run = new AtomicInteger(0);
+        final Runnable task = new Runnable() {
+
+            public void run() {
+                run.incrementAndGet();
+            }
+        };
+        Thread[] submitters = new Thread[4];
+        for (int i = 0; i < submitters.length; ++i) {
+            submitters[i] = new Thread(new Runnable() {
+
+                public void run() {
+                    try {
+                        while (true) {
+                            exec.execute(task);
+                            accepted.incrementAndGet();
+                        }
+                    } catch (RejectedExecutionException ex) {
+                    }
+                }
+            });
+            submitters[i].start();
+        }
+        Thread.sleep(50);
+        exec.exec.shutdown();
+        for (Thread t : submitters) {
+            t.join();
+        }
+        assertTrue("Executor did not terminate", exec.exec.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals("Accepted tasks neither run nor rejected", accepted.get(), run.get());
+    }
+}
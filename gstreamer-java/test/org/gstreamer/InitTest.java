@@ -19,8 +19,11 @@
 
 package org.gstreamer;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
+import java.lang.reflect.Field;
+
 import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.Before;
@@ -41,6 +44,24 @@ public class InitTest {
         assertTrue(args.length == 0);
         Gst.deinit();
     }
+    @Test
+    public void testNativeTypesMatchClasses() throws Exception {
+        for (String[] type : Gst.nativeTypes) {
+            Class<?> cls = Class.forName(type[0]);
+            assertEquals("Wrong GTYPE_NAME for " + type[0], type[1], constant(cls, "GTYPE_NAME"));
+            assertEquals("Wrong GST_NAME for " + type[0], type[2],
+                    Element.class.isAssignableFrom(cls) ? constant(cls, "GST_NAME") : null);
+        }
+    }
+    private static String constant(Class<?> cls, String name) throws Exception {
+        try {
+            Field f = cls.getDeclaredField(name);
+            f.setAccessible(true);
+            return (String) f.get(null);
+        } catch (NoSuchFieldException ex) {
+            return null;
+        }
+    }
     @BeforeClass
     public static void setUpClass() throws Exception {
     }
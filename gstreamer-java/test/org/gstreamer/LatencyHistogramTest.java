@@ -0,0 +1,68 @@
+/* 
+ * Copyright (c) 2026 agent
+ * 
+ * This file is part of gstreamer-java.
+ *
+ * gstreamer-java is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * gstreamer-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with gstreamer-java.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.gstreamer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void bucketsCoverValues() {
+        for (long v = 0; v < 1L << 20; v += 7) {
+            int bucket = LatencyHistogram.bucketOf(v);
+            assertTrue("value below bucket", LatencyHistogram.lowestValueOf(bucket) <= v);
+            assertTrue("value above bucket", LatencyHistogram.lowestValueOf(bucket + 1) > v);
+        }
+        int last = LatencyHistogram.bucketOf(LatencyHistogram.MAX_VALUE);
+        assertTrue("max value not in range", LatencyHistogram.lowestValueOf(last) <= LatencyHistogram.MAX_VALUE);
+    }
+
+    @Test
+    public void percentiles() {
+        LatencyHistogram h = new LatencyHistogram();
+        for (int i = 1; i <= 1000; ++i) {
+            h.record(i * 1000L);
+        }
+        assertEquals("Wrong count", 1000, h.getCount());
+        assertEquals("Wrong min", 1000, h.getMin());
+        assertEquals("Wrong max", 1000000, h.getMax());
+        assertEquals("Wrong mean", 500500.0, h.getMean(), 0.001);
+        long p50 = h.getValueAtPercentile(50);
+        assertTrue("p50 out of precision: " + p50, Math.abs(p50 - 500000) <= 500000 * 0.04);
+        long p99 = h.getValueAtPercentile(99);
+        assertTrue("p99 out of precision: " + p99, Math.abs(p99 - 990000) <= 990000 * 0.04);
+        assertEquals("p100 not max", 1000000, h.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void clampsAndResets() {
+        LatencyHistogram h = new LatencyHistogram();
+        h.record(-5);
+        h.record(Long.MAX_VALUE);
+        assertEquals("Negative not clamped", 0, h.getMin());
+        assertEquals("Wrong count", 2, h.getCount());
+        h.reset();
+        assertEquals("Not reset", 0, h.getCount());
+        assertEquals("Empty percentile", 0, h.getValueAtPercentile(50));
+    }
+}
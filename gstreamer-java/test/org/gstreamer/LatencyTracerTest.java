@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2026 agent
+ *
+ * This file is part of gstreamer-java.
+ *
+ * gstreamer-java is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * gstreamer-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with gstreamer-java.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.gstreamer;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class LatencyTracerTest {
+    private Pipeline pipe;
+    private Element src, identity, sink;
+    private LatencyTracer tracer;
+
+    public LatencyTracerTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() throws Exception {
+        Gst.init("LatencyTracerTest", new String[] {});
+    }
+
+    @AfterClass
+    public static void tearDownClass() throws Exception {
+        Gst.deinit();
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        pipe = new Pipeline("LatencyTracerTest");
+        src = ElementFactory.make("fakesrc", "src");
+        // The tracer matches buffers by timestamp, which fakesrc only sets
+        // with a data rate.
+        src.set("num-buffers", 50);
+        src.set("sizetype", 2);
+        src.set("sizemax", 16);
+        src.set("datarate", 1600);
+        identity = ElementFactory.make("identity", "identity");
+        sink = ElementFactory.make("fakesink", "sink");
+        sink.set("sync", false);
+        pipe.addMany(src, identity, sink);
+        Element.linkMany(src, identity, sink);
+        tracer = new LatencyTracer(pipe);
+        tracer.addSource(src.getStaticPad("src"));
+        tracer.addSink(sink.getStaticPad("sink"));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        if (tracer != null) {
+            tracer.close();
+        }
+        if (pipe != null) {
+            pipe.stop();
+        }
+    }
+
+    private void runToEnd() throws InterruptedException {
+        final CountDownLatch eos = new CountDownLatch(1);
+        Bus.EOS listener = new Bus.EOS() {
+            public void endOfStream(GstObject source) {
+                eos.countDown();
+            }
+        };
+        pipe.getBus().connect(listener);
+        pipe.play();
+        eos.await(5, TimeUnit.SECONDS);
+        pipe.getBus().disconnect(listener);
+    }
+
+    @Test
+    public void measuresWhenEnabled() throws Exception {
+        tracer.setEnabled(true);
+        runToEnd();
+        LatencyHistogram histogram = tracer.getHistogram(src.getStaticPad("src"), sink.getStaticPad("sink"));
+        assertNotNull("No buffer measured", histogram);
+        assertTrue("No buffer measured", histogram.getCount() > 0);
+    }
+
+    @Test
+    public void idleWhenDisabled() throws Exception {
+        runToEnd();
+        LatencyHistogram histogram = tracer.getHistogram(src.getStaticPad("src"), sink.getStaticPad("sink"));
+        assertTrue("Buffers measured while disabled", histogram == null || histogram.getCount() == 0);
+    }
+}
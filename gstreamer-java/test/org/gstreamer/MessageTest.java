@@ -34,6 +34,7 @@ import org.gstreamer.message.BufferingMessage;
 import org.gstreamer.message.DurationMessage;
 import org.gstreamer.message.EOSMessage;
 import org.gstreamer.message.LatencyMessage;
+import org.gstreamer.message.QOSMessage;
 import org.gstreamer.message.SegmentDoneMessage;
 import org.gstreamer.message.StateChangedMessage;
 import org.gstreamer.message.TagMessage;
@@ -103,6 +104,41 @@ public class MessageTest {
         assertEquals("Wrong source in message", pipe.pipe, msg.getSource());
         pipe.dispose();
     }
+    @Test public void QOSMessage_values() {
+        Element fakesink = ElementFactory.make("fakesink", "sink");
+        QOSMessage msg = new QOSMessage(fakesink, true, 1000L, 2000L, 3000L, 40L);
+        msg.setValues(-500L, 1.5, 1000000);
+        msg.setStats(Format.BUFFERS, 90L, 10L);
+        assertTrue("Not live", msg.isLive());
+        assertEquals("Wrong running time", 1000L, msg.getRunningTime());
+        assertEquals("Wrong timestamp", 3000L, msg.getTimestamp());
+        assertEquals("Wrong jitter", -500L, msg.getJitter());
+        assertEquals("Wrong proportion", 1.5, msg.getProportion(), 0.0001);
+        assertEquals("Wrong format", Format.BUFFERS, msg.getFormat());
+        assertEquals("Wrong processed", 90L, msg.getProcessed());
+        assertEquals("Wrong dropped", 10L, msg.getDropped());
+    }
+    @Test public void QosMonitor_collectsStats() {
+        final TestPipe pipe = new TestPipe();
+        QosMonitor monitor = new QosMonitor(pipe.getBus());
+        monitor.addListener(new QosMonitor.Listener() {
+            public void statsUpdated(QosMonitor monitor, QosMonitor.SinkStats stats) {
+                pipe.quit();
+            }
+        });
+        QOSMessage msg = new QOSMessage(pipe.sink, false, 0L, 0L, 0L, 0L);
+        msg.setValues(1000L, 1.2, 1000000);
+        msg.setStats(Format.BUFFERS, 80L, 20L);
+        pipe.play();
+        GstElementAPI.GSTELEMENT_API.gst_element_post_message(pipe.sink, msg);
+        pipe.run();
+        QosMonitor.SinkStats stats = monitor.getStats(pipe.sink.getName());
+        assertNotNull("No statistics collected", stats);
+        assertEquals("Wrong dropped", 20L, stats.getDropped());
+        assertEquals("Wrong drop rate", 0.2, stats.getDropRate(), 0.0001);
+        monitor.dispose();
+        pipe.dispose();
+    }
     @Test public void gst_message_new_percent() {
         Element fakesink = ElementFactory.make("fakesink", "sink");
         Message msg = GstMessageAPI.GSTMESSAGE_API.gst_message_new_buffering(fakesink, 55);
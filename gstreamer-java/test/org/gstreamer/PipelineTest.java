@@ -133,6 +133,86 @@ public class PipelineTest {
         Pipeline pipeline = Pipeline.launch("fakesrc ! fakesink");
         assertEquals("First element not a fakesink", "fakesink", pipeline.getSinks().get(0).getFactory().getName());
     }
+    @Test
+    public void testDescribe() throws Exception {
+        Pipeline pipeline = Pipeline.launch("fakesrc name=src num-buffers=10 sizetype=2 sizemax=100 ! fakesink name=sink");
+        pipeline.enablePadStatistics();
+        pipeline.play();
+        pipeline.getState(5000);
+        Thread.sleep(100);
+        PipelineDescription description = pipeline.describe();
+        pipeline.stop();
+
+        String dot = description.toDot();
+        assertTrue("src node missing", dot.contains("\"src\" [label="));
+        assertTrue("link missing", dot.contains("\"src\" -> \"sink\""));
+        String json = description.toJson();
+        assertTrue("src element missing", json.contains("\"path\":\"src\""));
+        assertTrue("link missing", json.contains("{\"src\":\"src.src\",\"sink\":\"sink.sink\""));
+        assertTrue("buffer count missing", json.contains("\"buffers\":10"));
+        pipeline.disablePadStatistics();
+    }
+
+    @Test
+    public void testDescribeNestedBin() throws Exception {
+        Pipeline pipeline = Pipeline.launch("fakesrc name=src ! ( name=inner identity name=id ) ! fakesink name=sink");
+        PipelineDescription description = pipeline.describe();
+
+        String dot = description.toDot();
+        assertTrue("link into bin missing", dot.contains("\"src\" -> \"inner/id\""));
+        assertTrue("link out of bin missing", dot.contains("\"inner/id\" -> \"sink\""));
+        assertFalse("unresolved peer", dot.contains("null"));
+        String json = description.toJson();
+        assertTrue("link missing", json.contains("{\"src\":\"inner/id.src\",\"sink\":\"sink.sink\""));
+        assertFalse("proxy pad endpoint", json.contains("proxypad"));
+        pipeline.dispose();
+    }
+
+    @Test
+    public void testPadStatisticsMBeans() throws Exception {
+        Pipeline pipeline = Pipeline.launch("fakesrc name=src num-buffers=10 ! fakesink name=sink");
+        pipeline.setName("statspipe");
+        pipeline.enablePadStatistics(true);
+        pipeline.play();
+        pipeline.getState(5000);
+        Thread.sleep(100);
+        pipeline.stop();
+
+        javax.management.MBeanServer server = java.lang.management.ManagementFactory.getPlatformMBeanServer();
+        javax.management.ObjectName name = pipeline.getPadStatistics().get("sink.sink").getMBeanName();
+        assertNotNull("MBean not registered", name);
+        assertTrue("Wrong MBean name", name.getKeyProperty("pipeline").startsWith("\"statspipe@"));
+        assertTrue("MBean not registered", server.isRegistered(name));
+        assertEquals("Wrong buffer count", 10L, server.getAttribute(name, "BufferCount"));
+        pipeline.disablePadStatistics();
+        assertFalse("MBean not unregistered", server.isRegistered(name));
+    }
+
+    @Test
+    public void testPadStatisticsMBeansSameName() throws Exception {
+        Pipeline first = Pipeline.launch("fakesrc name=src ! fakesink name=sink");
+        first.setName("samename");
+        Pipeline second = Pipeline.launch("fakesrc name=src ! fakesink name=sink");
+        second.setName("samename");
+        // Publishing probes that are already attached
+        first.enablePadStatistics();
+        first.enablePadStatistics(true);
+        second.enablePadStatistics(true);
+
+        javax.management.MBeanServer server = java.lang.management.ManagementFactory.getPlatformMBeanServer();
+        javax.management.ObjectName firstName = first.getPadStatistics().get("src.src").getMBeanName();
+        javax.management.ObjectName secondName = second.getPadStatistics().get("src.src").getMBeanName();
+        assertNotNull("Existing probe not published", firstName);
+        assertNotNull("Probe of second pipeline not published", secondName);
+        assertFalse("Same MBean name", firstName.equals(secondName));
+        assertNotNull("Pad after the clash not probed", second.getPadStatistics().get("sink.sink"));
+
+        first.dispose();
+        second.dispose();
+        assertFalse("MBean not unregistered on dispose", server.isRegistered(firstName));
+        assertFalse("MBean not unregistered on dispose", server.isRegistered(secondName));
+    }
+
     @Test
     public void testVarargLaunch() {
         Pipeline pipeline = Pipeline.launch("fakesrc", "fakesink");
@@ -153,4 +233,44 @@ public class PipelineTest {
         Pipeline pipeline = Pipeline.launch("fakesrc", "fakesink");
         assertEquals("First element not a fakesink", "fakesink", pipeline.getSinks().get(0).getFactory().getName());
     }
+    @Test
+    public void testTemplate() {
+        PipelineTemplate template = PipelineTemplate.compile(
+                "fakesrc name=src num-buffers=${count} ! identity name=\"${name:ident}\" ! fakesink name=sink");
+        assertEquals("Wrong parameters", 2, template.getParameterNames().size());
+        assertTrue("count parameter missing", template.getParameterNames().contains("count"));
+        for (int i = 1; i <= 3; ++i) {
+            Pipeline pipeline = template.create(java.util.Collections.singletonMap("count", i));
+            assertEquals("Wrong element count", 3, pipeline.getElements().size());
+            assertEquals("Property not set", i, pipeline.getElementByName("src").get("num-buffers"));
+            assertNotNull("Default not used", pipeline.getElementByName("ident"));
+            pipeline.dispose();
+        }
+    }
+    @Test
+    public void testTemplateCapsAndReferences() {
+        PipelineTemplate template = PipelineTemplate.compile(
+                "fakesrc ! tee name=t ! queue ! fakesink  t. ! queue ! ${caps:ANY} ! fakesink");
+        Pipeline pipeline = template.create();
+        assertEquals("Wrong element count", 6, pipeline.getElements().size());
+        assertEquals("Wrong sink count", 2, pipeline.getSinks().size());
+        pipeline.dispose();
+    }
+    @Test(expected = IllegalArgumentException.class)
+    public void testTemplateMissingParameter() {
+        PipelineTemplate.compile("fakesrc num-buffers=${count} ! fakesink").create();
+    }
+    @Test(expected = IllegalArgumentException.class)
+    public void testTemplateUnknownProperty() {
+        PipelineTemplate.compile("fakesrc no-such-property=1 ! fakesink");
+    }
+    @Test(expected = IllegalArgumentException.class)
+    public void testTemplateInvalidValue() {
+        PipelineTemplate.compile("fakesrc num-buffers=many ! fakesink");
+    }
+    @Test(expected = IllegalArgumentException.class)
+    public void testTemplateInvalidParameterValue() {
+        PipelineTemplate.compile("fakesrc num-buffers=${count} ! fakesink").create(
+                java.util.Collections.singletonMap("count", "1x"));
+    }
 }
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2026 agent
+ *
+ * This file is part of gstreamer-java.
+ *
+ * gstreamer-java is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * gstreamer-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with gstreamer-java.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.gstreamer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.gstreamer.ElementFactory.ElementFactoryListType;
+import org.gstreamer.PluginFeature.Rank;
+import org.junit.Test;
+
+public class RegistryIndexTest {
+
+    private static boolean isType(String klass, ElementFactoryListType type) {
+        return RegistryIndex.isType(RegistryIndex.typesOf(klass), type.getValue());
+    }
+
+    @Test
+    public void typesFromKlass() {
+        assertTrue("Decoder", isType("Codec/Decoder/Video", ElementFactoryListType.DECODER));
+        assertFalse("Not an encoder", isType("Codec/Decoder/Video", ElementFactoryListType.ENCODER));
+        assertTrue("Video encoder", isType("Codec/Encoder/Video", ElementFactoryListType.VIDEO_ENCODER));
+        assertFalse("Not an audio encoder", isType("Codec/Encoder/Video", ElementFactoryListType.AUDIO_ENCODER));
+        assertTrue("Demuxer", isType("Codec/Demuxer", ElementFactoryListType.DEMUXER));
+        assertTrue("Parser", isType("Codec/Parser/Audio", ElementFactoryListType.PARSER));
+        assertFalse("Parser needs Codec", isType("Parser/Audio", ElementFactoryListType.PARSER));
+        assertTrue("Depayloader", isType("Codec/Depayloader/Network/RTP", ElementFactoryListType.DEPAYLOADER));
+        assertFalse("Depayloader is no payloader", isType("Codec/Depayloader/Network/RTP",
+                ElementFactoryListType.PAYLOADER));
+        assertTrue("Any sink", isType("Sink/Audio", ElementFactoryListType.ANY));
+        assertFalse("Generic is no type", isType("Generic", ElementFactoryListType.ANY));
+    }
+
+    @Test
+    public void sameAsRegistry() {
+        Gst.init("RegistryIndexTest", new String[] {});
+        try {
+            Caps caps = Caps.fromString("audio/x-raw-int");
+            List<ElementFactory> expected = ElementFactory.listGetElementFilter(ElementFactoryListType.ANY,
+                    Rank.GST_RANK_NONE, caps, PadDirection.SINK, false);
+            List<ElementFactory> actual = RegistryIndex.getDefault().getElements(ElementFactoryListType.ANY,
+                    Rank.GST_RANK_NONE, caps, PadDirection.SINK, false);
+            assertEquals("Wrong number of factories", expected.size(), actual.size());
+            for (int i = 0; i < expected.size(); ++i) {
+                assertEquals("Wrong factory", expected.get(i).getName(), actual.get(i).getName());
+            }
+            assertTrue("Result not cached", actual == RegistryIndex.getDefault().getElements(
+                    ElementFactoryListType.ANY, Rank.GST_RANK_NONE, caps, PadDirection.SINK, false));
+        } finally {
+            Gst.deinit();
+        }
+    }
+}
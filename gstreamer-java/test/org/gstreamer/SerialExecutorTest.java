@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2026 agent
+ *
+ * This file is part of gstreamer-java.
+ *
+ * gstreamer-java is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * gstreamer-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with gstreamer-java.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.gstreamer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SerialExecutorTest {
+    private ExecutorService pool;
+
+    public SerialExecutorTest() {
+    }
+
+    @Before
+    public void setUp() {
+        pool = Executors.newFixedThreadPool(4);
+    }
+
+    @After
+    public void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    public void preservesOrder() throws Exception {
+        final SerialExecutor exec = new SerialExecutor(pool);
+        final int COUNT = 1000;
+        final List<Integer> order = new ArrayList<Integer>();
+        final CountDownLatch done = new CountDownLatch(COUNT);
+        for (int i = 0; i < COUNT; ++i) {
+            final int n = i;
+            exec.execute(new Runnable() {
+                public void run() {
+                    order.add(n);
+                    done.countDown();
+                }
+            });
+        }
+        assertTrue("Tasks not run", done.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < COUNT; ++i) {
+            assertEquals("Task run out of order", Integer.valueOf(i), order.get(i));
+        }
+        assertEquals("Wrong dispatched count", COUNT, exec.getDispatchedCount());
+        assertEquals("Queue not drained", 0, exec.getQueueDepth());
+    }
+
+    @Test
+    public void neverConcurrent() throws Exception {
+        final SerialExecutor exec = new SerialExecutor(pool);
+        final AtomicInteger active = new AtomicInteger(0);
+        final AtomicBoolean overlapped = new AtomicBoolean(false);
+        final CountDownLatch done = new CountDownLatch(200);
+        for (int i = 0; i < 200; ++i) {
+            exec.execute(new Runnable() {
+                public void run() {
+                    if (active.incrementAndGet() > 1) {
+                        overlapped.set(true);
+                    }
+                    Thread.yield();
+                    active.decrementAndGet();
+                    done.countDown();
+                }
+            });
+        }
+        assertTrue("Tasks not run", done.await(5, TimeUnit.SECONDS));
+        assertFalse("Tasks ran concurrently", overlapped.get());
+    }
+
+    @Test
+    public void slowExecutorDoesNotBlockOthers() throws Exception {
+        final SerialExecutor slow = new SerialExecutor(pool);
+        final SerialExecutor fast = new SerialExecutor(pool);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch fastDone = new CountDownLatch(1);
+        slow.execute(new Runnable() {
+            public void run() {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {}
+            }
+        });
+        fast.execute(new Runnable() {
+            public void run() {
+                fastDone.countDown();
+            }
+        });
+        try {
+            assertTrue("Fast executor was blocked", fastDone.await(1, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    public void survivesException() throws Exception {
+        final SerialExecutor exec = new SerialExecutor(pool);
+        final CountDownLatch done = new CountDownLatch(1);
+        exec.execute(new Runnable() {
+            public void run() {
+                throw new RuntimeException("expected");
+            }
+        });
+        exec.execute(new Runnable() {
+            public void run() {
+                done.countDown();
+            }
+        });
+        assertTrue("Task after exception not run", done.await(1, TimeUnit.SECONDS));
+    }
+
+    /** A pool that can be swapped, like the Gst dispatch pool across deinit()/init() */
+    private static final class SwappablePool implements SerialExecutor.ExecutorSource {
+        volatile ExecutorService pool;
+        SwappablePool(ExecutorService pool) {
+            this.pool = pool;
+        }
+        public Executor getExecutor() {
+            return pool;
+        }
+    }
+
+    @Test
+    public void recoversFromDroppedDrain() throws Exception {
+        ExecutorService single = Executors.newSingleThreadExecutor();
+        SwappablePool source = new SwappablePool(single);
+        final SerialExecutor exec = new SerialExecutor(source);
+        final CountDownLatch release = new CountDownLatch(1);
+        // Keep the only worker busy, so the drain task stays queued
+        single.execute(new Runnable() {
+            public void run() {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {}
+            }
+        });
+        final List<Integer> order = new ArrayList<Integer>();
+        final CountDownLatch done = new CountDownLatch(2);
+        exec.execute(new Runnable() {
+            public void run() {
+                order.add(1);
+                done.countDown();
+            }
+        });
+        assertEquals("Drain task not dropped", 1, single.shutdownNow().size());
+        release.countDown();
+        source.pool = pool;
+        exec.execute(new Runnable() {
+            public void run() {
+                order.add(2);
+                done.countDown();
+            }
+        });
+        assertTrue("Tasks not run after the pool was replaced", done.await(5, TimeUnit.SECONDS));
+        assertEquals("Task run out of order", Integer.valueOf(1), order.get(0));
+        assertEquals("Task run out of order", Integer.valueOf(2), order.get(1));
+    }
+
+    @Test
+    public void recoversFromRejectedDrain() throws Exception {
+        ExecutorService single = Executors.newSingleThreadExecutor();
+        single.shutdown();
+        SwappablePool source = new SwappablePool(single);
+        final SerialExecutor exec = new SerialExecutor(source);
+        final CountDownLatch done = new CountDownLatch(2);
+        Runnable task = new Runnable() {
+            public void run() {
+                done.countDown();
+            }
+        };
+        try {
+            exec.execute(task);
+            fail("Drain task not rejected");
+        } catch (RejectedExecutionException ex) {
+        }
+        source.pool = pool;
+        exec.execute(task);
+        assertTrue("Tasks not run after the pool was replaced", done.await(5, TimeUnit.SECONDS));
+    }
+}
@@ -1,5 +1,9 @@
 package org.gstreamer;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.fail;
 
@@ -83,4 +87,50 @@ public class StructureTest {
 		assertEquals(17, structure.getFraction("fraction").getNumerator());
 		assertEquals(10, structure.getFraction("fraction").getDenominator());
 	}
+
+	@Test
+	public void testSetAll() {
+		Map<String, Object> fields = new LinkedHashMap<String, Object>();
+		fields.put("int", 9);
+		fields.put("double", 2.5);
+		fields.put("bool", true);
+		fields.put("string", "ring");
+		fields.put("fraction", new Fraction(30000, 1001));
+		structure.setAll(fields);
+
+		assertEquals(9, structure.getInteger("int"));
+		assertEquals(2.5, structure.getDouble("double"), 0);
+		assertEquals(true, structure.getValue("bool"));
+		assertEquals("ring", structure.getString("string"));
+		assertEquals(30000, structure.getFraction("fraction").getNumerator());
+		assertEquals(1001, structure.getFraction("fraction").getDenominator());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testSetAllUnsupportedType() {
+		structure.setAll(Collections.singletonMap("object", new Object()));
+	}
+
+	@Test
+	public void testBuilder() {
+		Structure s = new Structure.Builder("mordor")
+				.setInteger("int", -9)
+				.setDouble("double", 9.0)
+				.setString("string", "ring")
+				.setFraction("fraction", 25, 1)
+				.build();
+		assertEquals("mordor", s.getName());
+		assertEquals(-9, s.getInteger("int"));
+		assertEquals(9.0, s.getDouble("double"), 0);
+		assertEquals("ring", s.getString("string"));
+		assertEquals(25, s.getFraction("fraction").getNumerator());
+		assertEquals(1, s.getFraction("fraction").getDenominator());
+	}
+
+	@Test
+	public void testEmptyBuilder() {
+		Structure s = new Structure.Builder("mordor").build();
+		assertEquals("mordor", s.getName());
+		assertEquals(0, s.getFields());
+	}
 }
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2026 agent
+ *
+ * This file is part of gstreamer-java.
+ *
+ * gstreamer-java is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * gstreamer-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with gstreamer-java.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.gstreamer.elements;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.gstreamer.Buffer;
+import org.gstreamer.ElementFactory;
+import org.gstreamer.Gst;
+import org.gstreamer.Pipeline;
+import org.gstreamer.State;
+import org.gstreamer.elements.AppSrcProducer.OverflowPolicy;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class AppSinkTest {
+    private static final int BUFFER_COUNT = 20;
+
+    public AppSinkTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() throws Exception {
+        Gst.init("AppSinkTest", new String[] {});
+    }
+
+    @AfterClass
+    public static void tearDownClass() throws Exception {
+        Gst.deinit();
+    }
+
+    private static Pipeline makePipeline(AppSink sink) {
+        Pipeline pipe = new Pipeline("AppSinkTest");
+        BaseSrc src = (BaseSrc) ElementFactory.make("fakesrc", "src");
+        src.set("num-buffers", BUFFER_COUNT);
+        sink.set("sync", false);
+        pipe.addMany(src, sink);
+        src.link(sink);
+        return pipe;
+    }
+
+    private static void waitFor(AppSink sink, int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (sink.getQueuedBufferCount() + sink.getDroppedBufferCount() < count
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    public void pollingBlocksWhenFull() throws Exception {
+        AppSink sink = (AppSink) ElementFactory.make("appsink", "sink");
+        Pipeline pipe = makePipeline(sink);
+        sink.startPolling(2);
+        assertTrue("Not polling", sink.isPolling());
+        pipe.setState(State.PLAYING);
+        Buffer[] buffers = new Buffer[4];
+        int total = 0, n;
+        while ((n = sink.pullBuffers(buffers, buffers.length, 5, TimeUnit.SECONDS)) > 0) {
+            for (int i = 0; i < n; ++i) {
+                buffers[i].dispose();
+            }
+            total += n;
+        }
+        assertEquals("Pull did not end with EOS", -1, n);
+        assertEquals("Wrong number of buffers", BUFFER_COUNT, total);
+        assertEquals("Buffers dropped while blocking", 0, sink.getDroppedBufferCount());
+        pipe.setState(State.NULL);
+        sink.stopPolling();
+    }
+
+    @Test
+    public void pollingDropOldest() throws Exception {
+        AppSink sink = (AppSink) ElementFactory.make("appsink", "sink");
+        Pipeline pipe = makePipeline(sink);
+        sink.startPolling(2, OverflowPolicy.DROP_OLDEST);
+        pipe.setState(State.PLAYING);
+        waitFor(sink, BUFFER_COUNT);
+        assertEquals("Wrong queued count", 2, sink.getQueuedBufferCount());
+        assertEquals("Wrong dropped count", BUFFER_COUNT - 2, sink.getDroppedBufferCount());
+        pipe.setState(State.NULL);
+        sink.stopPolling();
+    }
+
+    @Test
+    public void pollingDropNewest() throws Exception {
+        AppSink sink = (AppSink) ElementFactory.make("appsink", "sink");
+        Pipeline pipe = makePipeline(sink);
+        sink.startPolling(2, OverflowPolicy.DROP_NEWEST);
+        pipe.setState(State.PLAYING);
+        waitFor(sink, BUFFER_COUNT);
+        assertEquals("Wrong queued count", 2, sink.getQueuedBufferCount());
+        assertEquals("Wrong dropped count", BUFFER_COUNT - 2, sink.getDroppedBufferCount());
+        pipe.setState(State.NULL);
+        sink.stopPolling();
+    }
+
+    @Test(timeout = 10000)
+    public void stopWhileBlocked() throws Exception {
+        AppSink sink = (AppSink) ElementFactory.make("appsink", "sink");
+        Pipeline pipe = makePipeline(sink);
+        sink.startPolling(1);
+        pipe.setState(State.PLAYING);
+        waitFor(sink, 1);
+        // The streaming thread is now waiting for space in the queue
+        pipe.setState(State.NULL);
+        sink.stopPolling();
+        assertFalse("Still polling", sink.isPolling());
+        assertEquals("Queue not cleared", 0, sink.getQueuedBufferCount());
+    }
+}
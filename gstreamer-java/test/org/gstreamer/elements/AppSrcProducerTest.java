@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2026 agent
+ *
+ * This file is part of gstreamer-java.
+ *
+ * gstreamer-java is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * gstreamer-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with gstreamer-java.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.gstreamer.elements;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.gstreamer.Buffer;
+import org.gstreamer.ElementFactory;
+import org.gstreamer.FlowReturn;
+import org.gstreamer.Gst;
+import org.gstreamer.Pipeline;
+import org.gstreamer.State;
+import org.gstreamer.elements.AppSrcProducer.OverflowPolicy;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class AppSrcProducerTest {
+
+    public AppSrcProducerTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() throws Exception {
+        Gst.init("AppSrcProducerTest", new String[] {});
+    }
+
+    @AfterClass
+    public static void tearDownClass() throws Exception {
+        Gst.deinit();
+    }
+
+    private static AppSrc makeSource() {
+        return (AppSrc) ElementFactory.make("appsrc", "src");
+    }
+
+    @Test
+    public void dropNewestWhenFull() {
+        AppSrcProducer producer = new AppSrcProducer(makeSource(), 4, OverflowPolicy.DROP_NEWEST);
+        for (int i = 0; i < 10; ++i) {
+            producer.offer(new Buffer(16));
+        }
+        assertEquals("Wrong queued count", 4, producer.getQueuedCount());
+        assertEquals("Wrong dropped count", 6, producer.getDroppedCount());
+        producer.close();
+        assertEquals("Queue not cleared", 0, producer.getQueuedCount());
+    }
+
+    @Test(timeout = 10000)
+    public void dropOldestWhenFull() {
+        AppSrcProducer producer = new AppSrcProducer(makeSource(), 4, OverflowPolicy.DROP_OLDEST);
+        for (int i = 0; i < 10; ++i) {
+            producer.offer(new Buffer(16));
+        }
+        assertEquals("Wrong queued count", 4, producer.getQueuedCount());
+        assertEquals("Wrong dropped count", 6, producer.getDroppedCount());
+        producer.close();
+    }
+
+    @Test(timeout = 10000)
+    public void closeWakesBlockedOffer() throws Exception {
+        final AppSrcProducer producer = new AppSrcProducer(makeSource(), 1, OverflowPolicy.BLOCK);
+        producer.offer(new Buffer(16));
+        final AtomicReference<FlowReturn> result = new AtomicReference<FlowReturn>();
+        Thread t = new Thread(new Runnable() {
+            public void run() {
+                result.set(producer.offer(new Buffer(16)));
+            }
+        });
+        t.start();
+        Thread.sleep(100);
+        producer.close();
+        t.join();
+        assertEquals("Wrong result", FlowReturn.WRONG_STATE, result.get());
+    }
+
+    @Test(timeout = 10000)
+    public void offerRacingClose() throws Exception {
+        final AppSrcProducer producer = new AppSrcProducer(makeSource(), 4, OverflowPolicy.DROP_NEWEST);
+        Thread t = new Thread(new Runnable() {
+            public void run() {
+                for (int i = 0; i < 1000; ++i) {
+                    producer.offer(new Buffer(16));
+                }
+            }
+        });
+        t.start();
+        producer.close();
+        t.join();
+        assertEquals("Buffers left staged after close", 0, producer.getQueuedCount());
+        assertEquals("Wrong result after close", FlowReturn.WRONG_STATE, producer.offer(new Buffer(16)));
+    }
+
+    @Test(timeout = 10000)
+    public void pushAllBuffers() throws Exception {
+        Pipeline pipe = new Pipeline("AppSrcProducerTest");
+        AppSrc src = makeSource();
+        BaseSink sink = (BaseSink) ElementFactory.make("fakesink", "sink");
+        sink.set("sync", false);
+        pipe.addMany(src, sink);
+        src.link(sink);
+        AppSrcProducer producer = new AppSrcProducer(src, 2, OverflowPolicy.BLOCK);
+        pipe.setState(State.PLAYING);
+        for (int i = 0; i < 20; ++i) {
+            producer.offer(new Buffer(16));
+        }
+        producer.endOfStream();
+        while (producer.getPushedCount() < 20) {
+            Thread.sleep(10);
+        }
+        assertEquals("Buffers dropped", 0, producer.getDroppedCount());
+        pipe.setState(State.NULL);
+        producer.close();
+    }
+}
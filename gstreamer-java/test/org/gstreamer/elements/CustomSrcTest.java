@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2026 agent
+ *
+ * This file is part of gstreamer-java.
+ *
+ * gstreamer-java is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * gstreamer-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with gstreamer-java.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.gstreamer.elements;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.gstreamer.Buffer;
+import org.gstreamer.FlowReturn;
+import org.gstreamer.Gst;
+import org.gstreamer.Pipeline;
+import org.gstreamer.State;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class CustomSrcTest {
+    private static final int GROUP_SIZE = 3;
+
+    public CustomSrcTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() throws Exception {
+        Gst.init("CustomSrcTest", new String[] {});
+    }
+
+    @AfterClass
+    public static void tearDownClass() throws Exception {
+        Gst.deinit();
+    }
+
+    /** Creates buffers in groups, and counts the ones freed */
+    public static class ListSrc extends CustomSrc {
+        final AtomicInteger created = new AtomicInteger();
+        final AtomicInteger freed = new AtomicInteger();
+        final int total;
+        final FlowReturn result;
+
+        public ListSrc(String name, int total, FlowReturn result) {
+            super(ListSrc.class, name);
+            this.total = total;
+            this.result = result;
+        }
+
+        @Override
+        protected FlowReturn srcCreateBufferList(long offset, int size, List<Buffer> buffers) {
+            if (created.get() >= total) {
+                return FlowReturn.UNEXPECTED;
+            }
+            for (int i = 0; i < GROUP_SIZE && created.get() < total; ++i) {
+                created.incrementAndGet();
+                buffers.add(Buffer.wrap(ByteBuffer.allocateDirect(4), new Runnable() {
+                    public void run() {
+                        freed.incrementAndGet();
+                    }
+                }));
+            }
+            return result;
+        }
+    }
+
+    /** Counts the buffers rendered one at a time and as lists */
+    public static class ListSink extends CustomSink {
+        final AtomicInteger single = new AtomicInteger();
+        final AtomicInteger listed = new AtomicInteger();
+        final AtomicInteger lists = new AtomicInteger();
+
+        public ListSink(String name) {
+            super(ListSink.class, name);
+        }
+
+        @Override
+        protected FlowReturn sinkRender(Buffer buffer) {
+            single.incrementAndGet();
+            return FlowReturn.OK;
+        }
+
+        @Override
+        protected FlowReturn sinkRenderList(Buffer[] buffers) {
+            lists.incrementAndGet();
+            listed.addAndGet(buffers.length);
+            return FlowReturn.OK;
+        }
+    }
+
+    private static void run(ListSrc src, ListSink sink, int expected) throws InterruptedException {
+        Pipeline pipe = new Pipeline("CustomSrcTest");
+        sink.set("sync", false);
+        pipe.addMany(src, sink);
+        src.link(sink);
+        pipe.setState(State.PLAYING);
+        long deadline = System.currentTimeMillis() + 5000;
+        while (src.freed.get() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        pipe.setState(State.NULL);
+        pipe.dispose();
+    }
+
+    @Test
+    public void pushBufferLists() throws Exception {
+        final int total = 10;
+        ListSrc src = new ListSrc("src", total, FlowReturn.OK);
+        ListSink sink = new ListSink("sink");
+        run(src, sink, total);
+        assertEquals("Wrong number of buffers rendered", total,
+                sink.single.get() + sink.listed.get());
+        assertTrue("No buffer list rendered", sink.lists.get() > 0);
+        assertEquals("Buffers not freed", total, src.freed.get());
+    }
+
+    @Test
+    public void disposeBuffersOnError() throws Exception {
+        ListSrc src = new ListSrc("src", GROUP_SIZE, FlowReturn.ERROR);
+        ListSink sink = new ListSink("sink");
+        run(src, sink, GROUP_SIZE);
+        assertEquals("Buffers rendered after an error", 0,
+                sink.single.get() + sink.listed.get());
+        assertEquals("Buffers not freed", GROUP_SIZE, src.freed.get());
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2026 agent
+ *
+ * This file is part of gstreamer-java.
+ *
+ * gstreamer-java is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * gstreamer-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with gstreamer-java.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.gstreamer.elements;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+
+import org.gstreamer.Gst;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class RGBDataFileSinkTest {
+    private static final int WIDTH = 16, HEIGHT = 16;
+
+    private File file;
+    private RGBDataFileSink sink;
+
+    public RGBDataFileSinkTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() throws Exception {
+        Gst.init("RGBDataFileSinkTest", new String[] {});
+    }
+
+    @AfterClass
+    public static void tearDownClass() throws Exception {
+        Gst.deinit();
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        file = File.createTempFile("RGBDataFileSinkTest", ".avi");
+        sink = new RGBDataFileSink("rgbsink", WIDTH, HEIGHT, 25, "jpegenc", null, null,
+                "avimux", file);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        if (sink != null) {
+            sink.dispose();
+        }
+        file.delete();
+    }
+
+    @Test
+    public void dropWhenPreQueueFull() {
+        sink.setPreQueueSize(2);
+        int[] pixels = new int[WIDTH * HEIGHT];
+        for (int i = 0; i < 5; ++i) {
+            sink.pushRGBFrame(pixels);
+        }
+        assertEquals("Wrong queued count", 2, sink.getNumQueuedFrames());
+        assertEquals("Wrong dropped count", 3, sink.getNumDroppedFrames());
+        assertEquals("Frames pushed before start", 0, sink.getNumPushedFrames());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectShortFrame() {
+        sink.pushRGBFrame(new int[WIDTH * HEIGHT - 1]);
+    }
+
+    @Test(timeout = 30000)
+    public void feedAllFrames() {
+        // More frames than the feeder pushes in one batch, and than the
+        // pool keeps, so pooled buffers get reused.
+        final int count = 200;
+        sink.start();
+        ByteBuffer pixels = ByteBuffer.allocateDirect(WIDTH * HEIGHT * 4);
+        for (int i = 0; i < count; ++i) {
+            pixels.put(0, (byte) i);
+            sink.pushRGBFrame(pixels);
+        }
+        sink.stop();
+        assertEquals("Frames dropped", 0, sink.getNumDroppedFrames());
+        assertEquals("Frames left in the queue", 0, sink.getNumQueuedFrames());
+        assertEquals("Wrong pushed count", count, sink.getNumPushedFrames());
+        assertTrue("More frames encoded than pushed",
+                sink.getNumEncodedFrames() <= sink.getNumPushedFrames());
+        assertTrue("Nothing written", file.length() > 0);
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2026 agent
+ *
+ * This file is part of gstreamer-java.
+ *
+ * gstreamer-java is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * gstreamer-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with gstreamer-java.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.gstreamer.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ShmFrameTest {
+    private static final int FRAME_SIZE = 1024;
+    private String socketPath;
+    private ShmFrameWriter writer;
+    private ShmFrameReader reader;
+
+    public ShmFrameTest() {
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        assumeTrue(new File("/dev/shm").isDirectory());
+        File socket = File.createTempFile("shmtest", ".sock");
+        socket.delete();
+        socketPath = socket.getPath();
+        writer = new ShmFrameWriter(socketPath, 4 * FRAME_SIZE);
+        reader = new ShmFrameReader(socketPath);
+        long deadline = System.currentTimeMillis() + 5000;
+        while (writer.getClientCount() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals("Reader not connected", 1, writer.getClientCount());
+    }
+
+    @After
+    public void tearDown() {
+        if (reader != null) {
+            reader.close();
+        }
+        if (writer != null) {
+            writer.close();
+        }
+    }
+
+    private ShmFrameWriter.Frame sendFrame(int value) throws Exception {
+        ShmFrameWriter.Frame frame = writer.obtain(FRAME_SIZE, 1, TimeUnit.SECONDS);
+        assertNotNull("No space for frame", frame);
+        ByteBuffer buf = frame.getBuffer();
+        while (buf.hasRemaining()) {
+            buf.put((byte) value);
+        }
+        writer.send(frame);
+        return frame;
+    }
+
+    @Test
+    public void framesArriveInOrder() throws Exception {
+        for (int i = 0; i < 3; ++i) {
+            sendFrame(i + 1);
+        }
+        for (int i = 0; i < 3; ++i) {
+            ShmFrameReader.Frame frame = reader.read();
+            assertNotNull("No frame read", frame);
+            ByteBuffer buf = frame.getBuffer();
+            assertEquals("Wrong frame size", FRAME_SIZE, buf.remaining());
+            assertEquals("Wrong frame data", i + 1, buf.get(0));
+            assertEquals("Wrong frame data", i + 1, buf.get(FRAME_SIZE - 1));
+            frame.release();
+        }
+    }
+
+    @Test
+    public void spaceReusedAfterRelease() throws Exception {
+        for (int i = 0; i < 4; ++i) {
+            sendFrame(i);
+        }
+        assertNull("Area should be full", writer.obtain(FRAME_SIZE, 10, TimeUnit.MILLISECONDS));
+        reader.read().release();
+        assertNotNull("Released space not reused", writer.obtain(FRAME_SIZE, 5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void readerDisconnectReleasesFrames() throws Exception {
+        for (int i = 0; i < 4; ++i) {
+            sendFrame(i);
+        }
+        reader.close();
+        reader = null;
+        assertNotNull("Frames of closed reader not released",
+                writer.obtain(4 * FRAME_SIZE, 5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void readReturnsNullWhenWriterCloses() throws Exception {
+        writer.close();
+        writer = null;
+        assertNull("Frame read after writer closed", reader.read());
+        assertTrue("Socket not removed", !new File(socketPath).exists());
+    }
+}
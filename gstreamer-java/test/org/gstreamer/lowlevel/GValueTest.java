@@ -206,4 +206,30 @@ public class GValueTest {
 
     	assertTrue("type mismatch", obj instanceof Element);
     }
-}
\ No newline at end of file
+
+    @Test public void testArenaReusesValue() throws Exception {
+        GValue v = GValueArena.acquire(GType.STRING);
+        api.g_value_set_string(v, "hello");
+        assertEquals("wrong value", "hello", api.g_value_get_string(v));
+        GValueArena.release(v);
+
+        GValue w = GValueArena.acquire(GType.STRING);
+        assertTrue("value not reused", v == w);
+        assertEquals("value not reset", null, api.g_value_get_string(w));
+        GValueArena.release(w);
+    }
+
+    @Test public void testArenaNested() throws Exception {
+        GValue src = GValueArena.acquire(GType.INT);
+        GValue dst = GValueArena.acquire(GType.INT64);
+        try {
+            assertTrue("same value acquired twice", src != dst);
+            api.g_value_set_int(src, 42);
+            assertTrue("transform failed", api.g_value_transform(src, dst));
+            assertEquals("wrong value", 42L, api.g_value_get_int64(dst));
+        } finally {
+            GValueArena.release(dst);
+            GValueArena.release(src);
+        }
+    }
+}